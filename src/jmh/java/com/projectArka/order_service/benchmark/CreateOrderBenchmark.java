@@ -0,0 +1,82 @@
+package com.projectArka.order_service.benchmark;
+
+import com.projectArka.order_service.application.dto.OrderRequestDTO;
+import com.projectArka.order_service.application.dto.OrderResponseDTO;
+import com.projectArka.order_service.application.usecase.OrderManagementUseCase;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.ProductDetailsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateOrderBenchmark {
+
+    private static final int REQUEST_POOL_SIZE = 64;
+
+    @Param({"1", "5", "20"})
+    int itemsPerOrder;
+
+    @Param({"0", "2"})
+    long clientLatencyMillis;
+
+    private InMemoryOrderStore store;
+    private OrderManagementUseCase useCase;
+    private OrderRequestDTO[] requests;
+    private String[] idempotencyKeys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<UUID, ProductDetailsResponse> catalog = OrderPipelineFixture.catalog();
+        Duration latency = Duration.ofMillis(clientLatencyMillis);
+        store = new InMemoryOrderStore();
+        useCase = OrderPipelineFixture.useCase(store, new StubProductServiceClient(catalog, latency), new StubUserServiceClient(latency));
+
+        List<UUID> productIds = new ArrayList<>(catalog.keySet());
+        requests = new OrderRequestDTO[REQUEST_POOL_SIZE];
+        idempotencyKeys = new String[REQUEST_POOL_SIZE];
+        for (int i = 0; i < REQUEST_POOL_SIZE; i++) {
+            requests[i] = OrderPipelineFixture.orderRequest(UUID.randomUUID(), productIds, itemsPerOrder, i * itemsPerOrder);
+            idempotencyKeys[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearStore() {
+        store.clear();
+    }
+
+    @Benchmark
+    public OrderResponseDTO createOrder() {
+        OrderRequestDTO request = requests[next++ % REQUEST_POOL_SIZE];
+        return useCase.createOrder(request).block();
+    }
+
+    // Client retries of completed requests: after the first pass every call is a local replay with no client calls
+    @Benchmark
+    public OrderResponseDTO replayIdempotentOrder() {
+        int slot = next++ % REQUEST_POOL_SIZE;
+        return useCase.createOrder(requests[slot], idempotencyKeys[slot]).block();
+    }
+}
@@ -0,0 +1,495 @@
+package com.projectArka.order_service.benchmark;
+
+import com.projectArka.order_service.domain.model.IdempotencyKey;
+import com.projectArka.order_service.domain.model.Order;
+import com.projectArka.order_service.domain.model.OrderAddress;
+import com.projectArka.order_service.domain.model.OrderAggregate;
+import com.projectArka.order_service.domain.model.OrderChangeEvent;
+import com.projectArka.order_service.domain.model.OrderItem;
+import com.projectArka.order_service.domain.model.OrderOutboxEvent;
+import com.projectArka.order_service.domain.model.OrderPageCursor;
+import com.projectArka.order_service.domain.model.OrderVersion;
+import com.projectArka.order_service.domain.model.Shipment;
+import com.projectArka.order_service.domain.model.StockReservation;
+import com.projectArka.order_service.domain.port.out.IIdempotencyKeyRepository;
+import com.projectArka.order_service.domain.port.out.IOrderAddressRepository;
+import com.projectArka.order_service.domain.port.out.IOrderChangeFeed;
+import com.projectArka.order_service.domain.port.out.IOrderItemRepository;
+import com.projectArka.order_service.domain.port.out.IOrderOutboxRepository;
+import com.projectArka.order_service.domain.port.out.IOrderQueryRepository;
+import com.projectArka.order_service.domain.port.out.IOrderRepository;
+import com.projectArka.order_service.domain.port.out.IShipmentRepository;
+import com.projectArka.order_service.domain.port.out.IStockReservationRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+public class InMemoryOrderStore {
+
+    private static final Comparator<Order> NEWEST_FIRST = Comparator.comparing(Order::getCreatedAt)
+            .thenComparing(Order::getId)
+            .reversed();
+
+    private final Map<UUID, Order> ordersById = new ConcurrentHashMap<>();
+    private final Map<UUID, OrderItem> itemsById = new ConcurrentHashMap<>();
+    private final Map<UUID, List<OrderItem>> itemsByOrderId = new ConcurrentHashMap<>();
+    private final Map<UUID, OrderAddress> addressesById = new ConcurrentHashMap<>();
+    private final Map<UUID, Shipment> shipmentsById = new ConcurrentHashMap<>();
+    private final Map<UUID, Shipment> shipmentsByOrderId = new ConcurrentHashMap<>();
+    private final Map<String, IdempotencyKey> idempotencyKeysByKey = new ConcurrentHashMap<>();
+
+    public final IOrderRepository orders = new OrderRepository();
+    public final IOrderItemRepository orderItems = new OrderItemRepository();
+    public final IOrderAddressRepository addresses = new OrderAddressRepository();
+    public final IShipmentRepository shipments = new ShipmentRepository();
+    public final IOrderQueryRepository queries = new OrderQueryRepository();
+    public final IOrderOutboxRepository outbox = new OrderOutboxRepository();
+    public final IStockReservationRepository reservations = new StockReservationRepository();
+    public final IOrderChangeFeed changeFeed = new OrderChangeFeed();
+    public final IIdempotencyKeyRepository idempotencyKeys = new IdempotencyKeyRepository();
+
+    public void clear() {
+        ordersById.clear();
+        itemsById.clear();
+        itemsByOrderId.clear();
+        addressesById.clear();
+        shipmentsById.clear();
+        shipmentsByOrderId.clear();
+        idempotencyKeysByKey.clear();
+    }
+
+    private OrderAggregate aggregateOf(Order order) {
+        return OrderAggregate.builder()
+                .order(order)
+                .shippingAddress(addressesById.get(order.getShippingAddressId()))
+                .billingAddress(addressesById.get(order.getBillingAddressId()))
+                .items(new ArrayList<>(itemsByOrderId.getOrDefault(order.getId(), List.of())))
+                .shipment(shipmentsByOrderId.get(order.getId()))
+                .build();
+    }
+
+    private OrderVersion versionOf(Order order) {
+        Shipment shipment = shipmentsByOrderId.get(order.getId());
+        Instant itemsUpdatedAt = itemsByOrderId.getOrDefault(order.getId(), List.of()).stream()
+                .map(OrderItem::getUpdatedAt)
+                .filter(updatedAt -> updatedAt != null)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new OrderVersion(order.getId(), order.getUpdatedAt(), shipment != null ? shipment.getUpdatedAt() : null, itemsUpdatedAt);
+    }
+
+    private final class OrderRepository implements IOrderRepository {
+
+        @Override
+        public Mono<Order> save(Order order) {
+            if (order.getId() == null) {
+                order.setId(UUID.randomUUID());
+            }
+            ordersById.put(order.getId(), order);
+            return Mono.just(order);
+        }
+
+        @Override
+        public Mono<OrderAggregate> insertAggregate(OrderAggregate aggregate) {
+            Instant now = Instant.now();
+            Order order = aggregate.getOrder();
+            order.setId(UUID.randomUUID());
+            order.setCreatedAt(now);
+            order.setUpdatedAt(now);
+            aggregate.getShippingAddress().setId(UUID.randomUUID());
+            aggregate.getBillingAddress().setId(UUID.randomUUID());
+            order.setShippingAddressId(aggregate.getShippingAddress().getId());
+            order.setBillingAddressId(aggregate.getBillingAddress().getId());
+            addressesById.put(aggregate.getShippingAddress().getId(), aggregate.getShippingAddress());
+            addressesById.put(aggregate.getBillingAddress().getId(), aggregate.getBillingAddress());
+            for (OrderItem item : aggregate.getItems()) {
+                item.setId(UUID.randomUUID());
+                item.setOrderId(order.getId());
+                item.setCreatedAt(now);
+                itemsById.put(item.getId(), item);
+            }
+            itemsByOrderId.put(order.getId(), new CopyOnWriteArrayList<>(aggregate.getItems()));
+            aggregate.getShipment().setId(UUID.randomUUID());
+            aggregate.getShipment().setOrderId(order.getId());
+            shipmentsById.put(aggregate.getShipment().getId(), aggregate.getShipment());
+            shipmentsByOrderId.put(order.getId(), aggregate.getShipment());
+            ordersById.put(order.getId(), order);
+            return Mono.just(aggregate);
+        }
+
+        @Override
+        public Mono<Order> findById(UUID id) {
+            return Mono.justOrEmpty(ordersById.get(id));
+        }
+
+        @Override
+        public Mono<Order> transitionStatus(UUID id, Set<String> fromStatuses, String toStatus, Instant updatedAt) {
+            Order[] transitioned = new Order[1];
+            ordersById.computeIfPresent(id, (orderId, order) -> {
+                if (!fromStatuses.contains(order.getStatus())) {
+                    return order;
+                }
+                transitioned[0] = order.toBuilder()
+                        .status(toStatus)
+                        .updatedAt(updatedAt)
+                        .version(order.getVersion() == null ? 1L : order.getVersion() + 1)
+                        .build();
+                return transitioned[0];
+            });
+            return Mono.justOrEmpty(transitioned[0]);
+        }
+
+        @Override
+        public Flux<Order> findAll() {
+            return Flux.fromIterable(ordersById.values());
+        }
+
+        @Override
+        public Flux<Order> findByUserId(UUID userId) {
+            return findAll().filter(order -> userId.equals(order.getUserId()));
+        }
+
+        @Override
+        public Mono<Void> deleteById(UUID id) {
+            ordersById.remove(id);
+            return Mono.empty();
+        }
+    }
+
+    private final class OrderItemRepository implements IOrderItemRepository {
+
+        @Override
+        public Mono<OrderItem> save(OrderItem orderItem) {
+            if (orderItem.getId() == null) {
+                orderItem.setId(UUID.randomUUID());
+            }
+            itemsById.put(orderItem.getId(), orderItem);
+            itemsByOrderId.computeIfAbsent(orderItem.getOrderId(), orderId -> new CopyOnWriteArrayList<>()).add(orderItem);
+            return Mono.just(orderItem);
+        }
+
+        @Override
+        public Flux<OrderItem> saveAll(Iterable<OrderItem> orderItems) {
+            return Flux.fromIterable(orderItems).flatMap(this::save);
+        }
+
+        @Override
+        public Mono<OrderItem> findById(UUID id) {
+            return Mono.justOrEmpty(itemsById.get(id));
+        }
+
+        @Override
+        public Flux<OrderItem> findByOrderId(UUID orderId) {
+            return Flux.fromIterable(itemsByOrderId.getOrDefault(orderId, List.of()));
+        }
+
+        @Override
+        public Mono<Void> deleteById(UUID id) {
+            OrderItem removed = itemsById.remove(id);
+            if (removed != null) {
+                itemsByOrderId.getOrDefault(removed.getOrderId(), new ArrayList<>()).remove(removed);
+            }
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> deleteByOrderId(UUID orderId) {
+            itemsById.values().removeIf(item -> orderId.equals(item.getOrderId()));
+            itemsByOrderId.remove(orderId);
+            return Mono.empty();
+        }
+
+        @Override
+        public Flux<OrderItem> findMissingProductSnapshot(UUID afterId, int limit) {
+            return Flux.fromIterable(itemsById.values())
+                    .filter(item -> item.getProductName() == null)
+                    .filter(item -> afterId == null || item.getId().compareTo(afterId) > 0)
+                    .sort(Comparator.comparing(OrderItem::getId))
+                    .take(limit);
+        }
+
+        @Override
+        public Mono<Long> updateProductSnapshots(List<OrderItem> items) {
+            items.forEach(item -> itemsById.put(item.getId(), item));
+            return Mono.just((long) items.size());
+        }
+    }
+
+    private final class OrderAddressRepository implements IOrderAddressRepository {
+
+        @Override
+        public Mono<OrderAddress> save(OrderAddress address) {
+            if (address.getId() == null) {
+                address.setId(UUID.randomUUID());
+            }
+            addressesById.put(address.getId(), address);
+            return Mono.just(address);
+        }
+
+        @Override
+        public Mono<OrderAddress> findById(UUID id) {
+            return Mono.justOrEmpty(addressesById.get(id));
+        }
+
+        @Override
+        public Mono<Void> deleteById(UUID id) {
+            addressesById.remove(id);
+            return Mono.empty();
+        }
+    }
+
+    private final class ShipmentRepository implements IShipmentRepository {
+
+        @Override
+        public Mono<Shipment> save(Shipment shipment) {
+            if (shipment.getId() == null) {
+                shipment.setId(UUID.randomUUID());
+            }
+            shipmentsById.put(shipment.getId(), shipment);
+            if (shipment.getOrderId() != null) {
+                shipmentsByOrderId.put(shipment.getOrderId(), shipment);
+            }
+            return Mono.just(shipment);
+        }
+
+        @Override
+        public Mono<Shipment> findById(UUID id) {
+            return Mono.justOrEmpty(shipmentsById.get(id));
+        }
+
+        @Override
+        public Mono<Shipment> findByOrderId(UUID orderId) {
+            return Mono.justOrEmpty(shipmentsByOrderId.get(orderId));
+        }
+
+        @Override
+        public Mono<Void> deleteById(UUID id) {
+            Shipment removed = shipmentsById.remove(id);
+            if (removed != null && removed.getOrderId() != null) {
+                shipmentsByOrderId.remove(removed.getOrderId());
+            }
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> deleteByOrderId(UUID orderId) {
+            shipmentsById.values().removeIf(shipment -> orderId.equals(shipment.getOrderId()));
+            shipmentsByOrderId.remove(orderId);
+            return Mono.empty();
+        }
+    }
+
+    private final class OrderQueryRepository implements IOrderQueryRepository {
+
+        @Override
+        public Mono<OrderAggregate> findAggregateById(UUID orderId) {
+            return Mono.justOrEmpty(ordersById.get(orderId)).map(InMemoryOrderStore.this::aggregateOf);
+        }
+
+        @Override
+        public Mono<OrderAggregate> loadAggregate(Order order) {
+            return Mono.just(aggregateOf(order));
+        }
+
+        @Override
+        public Flux<OrderAggregate> findAllAggregates() {
+            return Flux.fromIterable(ordersById.values()).map(InMemoryOrderStore.this::aggregateOf);
+        }
+
+        @Override
+        public Flux<OrderAggregate> findAggregatesByUserId(UUID userId) {
+            return findAllAggregates().filter(aggregate -> userId.equals(aggregate.getOrder().getUserId()));
+        }
+
+        @Override
+        public Flux<OrderAggregate> findAggregatePage(UUID userId, OrderPageCursor after, int limit) {
+            return findOrderPage(userId, after, limit).map(InMemoryOrderStore.this::aggregateOf);
+        }
+
+        @Override
+        public Flux<Order> findOrderPage(UUID userId, OrderPageCursor after, int limit) {
+            List<Order> page = ordersById.values().stream()
+                    .filter(order -> userId == null || userId.equals(order.getUserId()))
+                    .filter(order -> after == null || NEWEST_FIRST.compare(order, Order.builder().id(after.getId()).createdAt(after.getCreatedAt()).build()) > 0)
+                    .sorted(NEWEST_FIRST)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+            return Flux.fromIterable(page);
+        }
+
+        @Override
+        public Mono<OrderVersion> findVersionById(UUID orderId) {
+            return Mono.justOrEmpty(ordersById.get(orderId)).map(InMemoryOrderStore.this::versionOf);
+        }
+
+        @Override
+        public Flux<OrderVersion> findVersionsByUserId(UUID userId) {
+            return Flux.fromIterable(ordersById.values())
+                    .filter(order -> userId.equals(order.getUserId()))
+                    .sort(Comparator.comparing(Order::getId))
+                    .map(InMemoryOrderStore.this::versionOf);
+        }
+    }
+
+    private static final class OrderOutboxRepository implements IOrderOutboxRepository {
+
+        @Override
+        public Flux<OrderOutboxEvent> saveAll(Iterable<OrderOutboxEvent> events) {
+            List<OrderOutboxEvent> saved = new ArrayList<>();
+            events.forEach(event -> {
+                event.setId(UUID.randomUUID());
+                saved.add(event);
+            });
+            return Flux.fromIterable(saved);
+        }
+
+        @Override
+        public Flux<OrderOutboxEvent> claimBatch(int limit, Duration lease) {
+            return Flux.empty();
+        }
+
+        @Override
+        public Flux<UUID> markDispatched(Collection<UUID> ids) {
+            return Flux.fromIterable(ids);
+        }
+
+        @Override
+        public Mono<Void> reschedule(UUID id, Instant nextAttemptAt, String error) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> markFailed(UUID id, String error) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> compensateOrder(UUID orderId) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> compensateEvents(Collection<UUID> ids) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Flux<OrderOutboxEvent> findByOrderId(UUID orderId) {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<Boolean> requeueFailedCompensation(UUID id) {
+            return Mono.just(false);
+        }
+    }
+
+    private static final class StockReservationRepository implements IStockReservationRepository {
+
+        @Override
+        public Mono<Void> saveAll(Iterable<StockReservation> reservations) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Map<UUID, Long>> sumReservedByProductIds(Collection<UUID> productIds) {
+            return Mono.just(Map.of());
+        }
+
+        @Override
+        public Mono<Void> markSettled(Collection<UUID> ids) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> markReleased(UUID id) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> releaseOrder(UUID orderId) {
+            return Mono.empty();
+        }
+    }
+
+    // Events go nowhere: the benchmarks measure the write path, not delivery to subscribers
+    private static final class OrderChangeFeed implements IOrderChangeFeed {
+
+        @Override
+        public Mono<Void> publish(List<OrderChangeEvent> events) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Flux<OrderChangeEvent> changes() {
+            return Flux.never();
+        }
+    }
+
+    private final class IdempotencyKeyRepository implements IIdempotencyKeyRepository {
+
+        @Override
+        public Mono<Boolean> claim(String key, String requestHash, UUID claimId, Instant now, Instant expiresAt) {
+            return Mono.fromSupplier(() -> {
+                IdempotencyKey claimed = IdempotencyKey.builder()
+                        .key(key)
+                        .requestHash(requestHash)
+                        .status(IdempotencyKey.STATUS_IN_PROGRESS)
+                        .claimId(claimId)
+                        .createdAt(now)
+                        .expiresAt(expiresAt)
+                        .build();
+                IdempotencyKey result = idempotencyKeysByKey.merge(key, claimed,
+                        (existing, candidate) -> existing.getExpiresAt().isAfter(now) || !existing.isCompleted() && existing.getOrderId() != null
+                                ? existing
+                                : candidate);
+                return result == claimed;
+            });
+        }
+
+        @Override
+        public Mono<IdempotencyKey> findByKey(String key, Instant now) {
+            return Mono.justOrEmpty(idempotencyKeysByKey.get(key))
+                    .filter(stored -> stored.getExpiresAt().isAfter(now));
+        }
+
+        @Override
+        public Mono<Boolean> complete(String key, UUID claimId, UUID orderId, String responseBody, Instant expiresAt) {
+            return Mono.fromSupplier(() -> {
+                IdempotencyKey stored = idempotencyKeysByKey.computeIfPresent(key, (ignored, current) ->
+                        claimId.equals(current.getClaimId()) && !current.isCompleted()
+                                ? current.toBuilder().status(IdempotencyKey.STATUS_COMPLETED).orderId(orderId)
+                                        .responseBody(responseBody).expiresAt(expiresAt).build()
+                                : current);
+                return stored != null && stored.isCompleted() && claimId.equals(stored.getClaimId()) && orderId.equals(stored.getOrderId());
+            });
+        }
+
+        @Override
+        public Mono<Void> release(String key, UUID claimId) {
+            return Mono.fromRunnable(() -> idempotencyKeysByKey.computeIfPresent(key, (ignored, stored) ->
+                    claimId.equals(stored.getClaimId()) && !stored.isCompleted() ? null : stored));
+        }
+
+        @Override
+        public Mono<Long> deleteExpired(Instant now, int limit) {
+            return Mono.fromSupplier(() -> {
+                int before = idempotencyKeysByKey.size();
+                idempotencyKeysByKey.values().removeIf(stored -> !stored.getExpiresAt().isAfter(now));
+                return (long) (before - idempotencyKeysByKey.size());
+            });
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.projectArka.order_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectArka.order_service.application.dto.OrderItemResponseDTO;
+import com.projectArka.order_service.application.dto.OrderRequestDTO;
+import com.projectArka.order_service.application.dto.OrderResponseDTO;
+import com.projectArka.order_service.application.mapper.IOrderMapper;
+import com.projectArka.order_service.domain.model.Order;
+import com.projectArka.order_service.domain.model.OrderAddress;
+import com.projectArka.order_service.domain.model.OrderItem;
+import com.projectArka.order_service.domain.model.Shipment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "5", "20"})
+    int itemsPerOrder;
+
+    private final IOrderMapper orderMapper = IOrderMapper.INSTANCE;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Order order;
+    private OrderAddress address;
+    private Shipment shipment;
+    private List<OrderItem> items;
+    private OrderRequestDTO request;
+    private OrderResponseDTO response;
+    private byte[] requestJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        Instant now = Instant.now();
+        address = OrderAddress.builder()
+                .id(UUID.randomUUID())
+                .street("Calle 10")
+                .number("42")
+                .city("Medellin")
+                .state("Antioquia")
+                .country("Colombia")
+                .postalCode("05001")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        order = Order.builder()
+                .id(orderId)
+                .userId(UUID.randomUUID())
+                .orderDate(now)
+                .status("PENDING")
+                .totalAmount(new BigDecimal("199.90"))
+                .shippingAddressId(address.getId())
+                .billingAddressId(address.getId())
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        shipment = Shipment.builder()
+                .id(UUID.randomUUID())
+                .orderId(orderId)
+                .trackingNumber("TRK-BENCH001")
+                .status("PREPARING")
+                .shippingDate(now)
+                .createdAt(now)
+                .build();
+        items = new ArrayList<>(itemsPerOrder);
+        List<UUID> productIds = new ArrayList<>(itemsPerOrder);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            UUID productId = UUID.randomUUID();
+            productIds.add(productId);
+            items.add(OrderItem.builder()
+                    .id(UUID.randomUUID())
+                    .orderId(orderId)
+                    .productId(productId)
+                    .quantity(1 + i % 3)
+                    .unitPrice(new BigDecimal("19.99"))
+                    .createdAt(now)
+                    .build());
+        }
+        request = OrderPipelineFixture.orderRequest(order.getUserId(), productIds, itemsPerOrder, 0);
+        response = toResponse();
+        requestJson = objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public OrderResponseDTO mapToResponse() {
+        return toResponse();
+    }
+
+    @Benchmark
+    public List<OrderItem> mapRequestItems() {
+        return request.getItems().stream()
+                .map(orderMapper::toOrderItem)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public OrderRequestDTO deserializeRequest() throws Exception {
+        return objectMapper.readValue(requestJson, OrderRequestDTO.class);
+    }
+
+    private OrderResponseDTO toResponse() {
+        OrderResponseDTO responseDTO = orderMapper.toOrderResponseDTO(order);
+        responseDTO.setShippingAddress(orderMapper.toOrderAddressDTO(address));
+        responseDTO.setBillingAddress(orderMapper.toOrderAddressDTO(address));
+        responseDTO.setShipment(orderMapper.toShipmentDTO(shipment));
+        responseDTO.setItems(items.stream()
+                .map(item -> {
+                    OrderItemResponseDTO itemDTO = orderMapper.toOrderItemResponseDTO(item);
+                    itemDTO.setProductName("Product " + item.getQuantity());
+                    return itemDTO;
+                })
+                .collect(Collectors.toList()));
+        return responseDTO;
+    }
+}
@@ -0,0 +1,115 @@
+package com.projectArka.order_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectArka.order_service.application.dto.OrderAddressDTO;
+import com.projectArka.order_service.application.dto.OrderItemRequestDTO;
+import com.projectArka.order_service.application.dto.OrderRequestDTO;
+import com.projectArka.order_service.application.mapper.IOrderMapper;
+import com.projectArka.order_service.application.service.OrderIdempotencyStore;
+import com.projectArka.order_service.application.service.OrderMetrics;
+import com.projectArka.order_service.application.service.OrderResponseCache;
+import com.projectArka.order_service.application.service.StockReservationLedger;
+import com.projectArka.order_service.application.usecase.OrderManagementUseCase;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IProductServiceClient;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IUserServiceClient;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.ProductDetailsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.reactive.TransactionCallback;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+final class OrderPipelineFixture {
+
+    static final int CATALOG_SIZE = 500;
+
+    private OrderPipelineFixture() {
+    }
+
+    static Map<UUID, ProductDetailsResponse> catalog() {
+        Map<UUID, ProductDetailsResponse> catalog = new LinkedHashMap<>();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            UUID productId = UUID.randomUUID();
+            catalog.put(productId, ProductDetailsResponse.builder()
+                    .productId(productId)
+                    .name("Product " + i)
+                    .sku("SKU-" + i)
+                    .description("Benchmark product " + i)
+                    .price(new BigDecimal("19.99").add(BigDecimal.valueOf(i)))
+                    .stock(Integer.MAX_VALUE)
+                    .build());
+        }
+        return catalog;
+    }
+
+    static OrderManagementUseCase useCase(InMemoryOrderStore store, IProductServiceClient productServiceClient,
+                                          IUserServiceClient userServiceClient) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+        OrderManagementUseCase useCase = new OrderManagementUseCase(
+                store.orders,
+                store.orderItems,
+                store.queries,
+                store.outbox,
+                store.reservations,
+                new StockReservationLedger(productServiceClient, store.reservations),
+                userServiceClient,
+                productServiceClient,
+                IOrderMapper.INSTANCE,
+                passThroughTransactions(),
+                orderMetrics,
+                new OrderResponseCache(meterRegistry, 64L * 1024 * 1024, Duration.ofHours(24), Duration.ofSeconds(30)),
+                store.changeFeed,
+                new OrderIdempotencyStore(store.idempotencyKeys, new ObjectMapper().findAndRegisterModules(), orderMetrics, meterRegistry,
+                        Duration.ofHours(24), Duration.ofSeconds(30), Duration.ofSeconds(35), Duration.ofMillis(100), 10_000));
+        ReflectionTestUtils.setField(useCase, "bulkChunkSize", 100);
+        ReflectionTestUtils.setField(useCase, "bulkConcurrency", 2);
+        return useCase;
+    }
+
+    static OrderRequestDTO orderRequest(UUID userId, List<UUID> productIds, int itemsPerOrder, int offset) {
+        List<OrderItemRequestDTO> items = new ArrayList<>(itemsPerOrder);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            UUID productId = productIds.get((offset + i) % productIds.size());
+            items.add(OrderItemRequestDTO.builder()
+                    .productId(productId.toString())
+                    .quantity(1 + i % 3)
+                    .build());
+        }
+        return OrderRequestDTO.builder()
+                .userId(userId.toString())
+                .shippingAddress(address())
+                .billingAddress(address())
+                .items(items)
+                .build();
+    }
+
+    private static OrderAddressDTO address() {
+        return OrderAddressDTO.builder()
+                .street("Calle 10")
+                .number("42")
+                .apartment("301")
+                .city("Medellin")
+                .state("Antioquia")
+                .country("Colombia")
+                .postalCode("05001")
+                .build();
+    }
+
+    private static TransactionalOperator passThroughTransactions() {
+        return new TransactionalOperator() {
+            @Override
+            public <T> Flux<T> execute(TransactionCallback<T> action) {
+                return Flux.from(action.doInTransaction(null));
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.projectArka.order_service.benchmark;
+
+import com.projectArka.order_service.application.dto.OrderPageResponseDTO;
+import com.projectArka.order_service.application.dto.OrderResponseDTO;
+import com.projectArka.order_service.application.usecase.OrderManagementUseCase;
+import com.projectArka.order_service.domain.model.OrderView;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.ProductDetailsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderReadBenchmark {
+
+    private static final int PAGES_STORED = 4;
+
+    @Param({"1", "5", "20"})
+    int itemsPerOrder;
+
+    @Param({"10", "50", "200"})
+    int ordersPerPage;
+
+    @Param({"0"})
+    long clientLatencyMillis;
+
+    @Param({"FULL", "SUMMARY"})
+    OrderView view;
+
+    private OrderManagementUseCase useCase;
+    private String[] orderIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<UUID, ProductDetailsResponse> catalog = OrderPipelineFixture.catalog();
+        Duration latency = Duration.ofMillis(clientLatencyMillis);
+        InMemoryOrderStore store = new InMemoryOrderStore();
+        useCase = OrderPipelineFixture.useCase(store, new StubProductServiceClient(catalog, latency), new StubUserServiceClient(latency));
+
+        List<UUID> productIds = new ArrayList<>(catalog.keySet());
+        orderIds = new String[ordersPerPage * PAGES_STORED];
+        for (int i = 0; i < orderIds.length; i++) {
+            OrderResponseDTO created = useCase.createOrder(
+                    OrderPipelineFixture.orderRequest(UUID.randomUUID(), productIds, itemsPerOrder, i * itemsPerOrder)).block();
+            orderIds[i] = created.getOrderId();
+        }
+    }
+
+    @Benchmark
+    public OrderResponseDTO getOrderById() {
+        return useCase.getOrderById(orderIds[next++ % orderIds.length], view).block();
+    }
+
+    @Benchmark
+    public OrderResponseDTO updateOrderStatus() {
+        return useCase.updateOrderStatus(orderIds[next++ % orderIds.length], "PROCESSING").block();
+    }
+
+    @Benchmark
+    public OrderPageResponseDTO getOrdersPage() {
+        return useCase.getOrdersPage(null, ordersPerPage, view).block();
+    }
+}
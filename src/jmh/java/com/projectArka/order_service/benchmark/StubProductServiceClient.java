@@ -0,0 +1,84 @@
+package com.projectArka.order_service.benchmark;
+
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IProductServiceClient;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.ProductDetailsResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class StubProductServiceClient implements IProductServiceClient {
+
+    private final Map<UUID, ProductDetailsResponse> catalog;
+    private final Duration latency;
+
+    public StubProductServiceClient(Map<UUID, ProductDetailsResponse> catalog, Duration latency) {
+        this.catalog = catalog;
+        this.latency = latency;
+    }
+
+    @Override
+    public Mono<ProductDetailsResponse> getProductDetails(UUID productId) {
+        return delayed(Mono.justOrEmpty(catalog.get(productId)));
+    }
+
+    @Override
+    public Mono<Map<UUID, ProductDetailsResponse>> getProductDetailsBatch(Collection<UUID> productIds) {
+        Map<UUID, ProductDetailsResponse> found = new HashMap<>();
+        productIds.forEach(productId -> {
+            ProductDetailsResponse productDetails = catalog.get(productId);
+            if (productDetails != null) {
+                found.put(productId, productDetails);
+            }
+        });
+        return delayed(Mono.just(found));
+    }
+
+    @Override
+    public void evictProductDetails(UUID productId) {
+    }
+
+    @Override
+    public Mono<Map<UUID, Integer>> getProductStockBatch(Collection<UUID> productIds) {
+        Map<UUID, Integer> stock = new HashMap<>();
+        productIds.forEach(productId -> {
+            ProductDetailsResponse productDetails = catalog.get(productId);
+            if (productDetails != null) {
+                stock.put(productId, productDetails.getStock());
+            }
+        });
+        return delayed(Mono.just(stock));
+    }
+
+    @Override
+    public Mono<Map<String, Boolean>> checkProductStock(UUID productId, int quantity) {
+        return delayed(Mono.just(Map.of("available", true)));
+    }
+
+    @Override
+    public Mono<Void> decreaseProductStock(UUID productId, int quantity) {
+        return delayed(Mono.empty());
+    }
+
+    @Override
+    public Mono<Void> decreaseProductStock(UUID productId, int quantity, String idempotencyKey) {
+        return delayed(Mono.empty());
+    }
+
+    @Override
+    public Mono<Void> increaseProductStock(UUID productId, int quantity) {
+        return delayed(Mono.empty());
+    }
+
+    @Override
+    public Mono<Void> increaseProductStock(UUID productId, int quantity, String idempotencyKey) {
+        return delayed(Mono.empty());
+    }
+
+    private <T> Mono<T> delayed(Mono<T> result) {
+        return latency.isZero() ? result : Mono.delay(latency).then(result);
+    }
+}
@@ -0,0 +1,31 @@
+package com.projectArka.order_service.benchmark;
+
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IUserServiceClient;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.UserDetailsResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public class StubUserServiceClient implements IUserServiceClient {
+
+    private final Duration latency;
+
+    public StubUserServiceClient(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Mono<Boolean> validateUserExists(UUID userId) {
+        return delayed(Mono.just(true));
+    }
+
+    @Override
+    public Mono<UserDetailsResponse> getUserDetails(UUID userId) {
+        return delayed(Mono.empty());
+    }
+
+    private <T> Mono<T> delayed(Mono<T> result) {
+        return latency.isZero() ? result : Mono.delay(latency).then(result);
+    }
+}
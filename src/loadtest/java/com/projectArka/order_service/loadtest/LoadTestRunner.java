@@ -0,0 +1,114 @@
+package com.projectArka.order_service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.projectArka.order_service.OrderServiceApplication;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+@Slf4j
+public final class LoadTestRunner {
+
+    private static final String BASELINE_MIGRATION = "db/migration/V1__initial_order_schema.sql";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Properties properties = loadProperties();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ProductServiceStub productService = new ProductServiceStub(objectMapper,
+                     StubBehaviour.fromProperties(properties, "loadtest.product-service"), properties,
+                     intProperty(properties, "loadtest.catalog.size"), intProperty(properties, "loadtest.catalog.initial-stock"));
+             UserServiceStub userService = new UserServiceStub(objectMapper,
+                     StubBehaviour.fromProperties(properties, "loadtest.user-service"), properties,
+                     intProperty(properties, "loadtest.users"))) {
+
+            String r2dbcUrl = "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres";
+            ConnectionFactory connectionFactory = ConnectionFactories.get(r2dbcUrl.replace("r2dbc:postgresql://", "r2dbc:postgresql://postgres:postgres@"));
+            applySchema(connectionFactory);
+            seedReferencedRows(connectionFactory, "users", userService.userIds());
+            seedReferencedRows(connectionFactory, "product", productService.productIds());
+            productService.start();
+            userService.start();
+            log.info("Product service stub at {} ({}), user service stub at {} ({})",
+                    productService.baseUrl(), StubBehaviour.fromProperties(properties, "loadtest.product-service"),
+                    userService.baseUrl(), StubBehaviour.fromProperties(properties, "loadtest.user-service"));
+
+            Map<String, Object> overrides = new HashMap<>();
+            overrides.put("server.port", 0);
+            overrides.put("spring.r2dbc.url", r2dbcUrl);
+            overrides.put("spring.r2dbc.username", "postgres");
+            overrides.put("spring.r2dbc.password", "postgres");
+            overrides.put("spring.flyway.url", postgres.getJdbcUrl("postgres", "postgres"));
+            overrides.put("spring.flyway.user", "postgres");
+            overrides.put("spring.flyway.password", "postgres");
+            overrides.put("clients.product-service.url", productService.baseUrl());
+            overrides.put("clients.user-service.url", userService.baseUrl());
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OrderServiceApplication.class)
+                    .profiles("loadtest")
+                    .properties(overrides)
+                    .run(args)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                WebClient webClient = WebClient.builder()
+                        .baseUrl(baseUrl)
+                        .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                        .build();
+                new WorkloadDriver(webClient, properties, userService.userIds(), productService.productIds())
+                        .run(Duration.parse(properties.getProperty("loadtest.warmup")),
+                                Duration.parse(properties.getProperty("loadtest.duration")),
+                                intProperty(properties, "loadtest.concurrency"));
+            }
+        }
+    }
+
+    private static Properties loadProperties() throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        properties.putAll(PropertiesLoaderUtils.loadProperties(new ClassPathResource("application-loadtest.properties")));
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("loadtest.") || name.startsWith("clients."))
+                .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+        return properties;
+    }
+
+    // Creates the tables owned by other services and the V1 baseline; Flyway applies the later migrations at startup
+    private static void applySchema(ConnectionFactory connectionFactory) {
+        new ResourceDatabasePopulator(new ClassPathResource("loadtest-schema.sql")).populate(connectionFactory).block();
+        ResourceDatabasePopulator baseline = new ResourceDatabasePopulator(new ClassPathResource(BASELINE_MIGRATION));
+        // V1 is a schema dump that adds the orders -> order_address keys before order_address exists
+        baseline.setContinueOnError(true);
+        baseline.populate(connectionFactory).block();
+    }
+
+    private static void seedReferencedRows(ConnectionFactory connectionFactory, String table, List<UUID> ids) {
+        DatabaseClient.create(connectionFactory)
+                .sql("INSERT INTO public." + table + " (id) SELECT unnest(CAST(:ids AS uuid[]))")
+                .bind("ids", ids.toArray(UUID[]::new))
+                .then()
+                .block();
+    }
+
+    private static int intProperty(Properties properties, String name) {
+        return Integer.parseInt(properties.getProperty(name));
+    }
+}
@@ -0,0 +1,177 @@
+package com.projectArka.order_service.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.ProductDetailsResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.server.HttpServerRoutes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+
+final class ProductServiceStub extends StubServer {
+
+    private static final String PATHS = "clients.product-service.paths.";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final Properties properties;
+    private final Map<UUID, ProductDetailsResponse> catalog = new LinkedHashMap<>();
+    private final Map<UUID, AtomicInteger> stockByProductId = new ConcurrentHashMap<>();
+    private final Set<String> appliedIdempotencyKeys = ConcurrentHashMap.newKeySet();
+
+    ProductServiceStub(ObjectMapper objectMapper, StubBehaviour behaviour, Properties properties, int catalogSize, int initialStock) {
+        super(objectMapper, behaviour);
+        this.properties = properties;
+        for (int i = 0; i < catalogSize; i++) {
+            UUID productId = UUID.randomUUID();
+            catalog.put(productId, ProductDetailsResponse.builder()
+                    .productId(productId)
+                    .name("Load test product " + i)
+                    .sku("LT-" + i)
+                    .description("Stubbed product " + i)
+                    .price(new BigDecimal("9.99").add(BigDecimal.valueOf(i % 100)))
+                    .stock(initialStock)
+                    .build());
+            stockByProductId.put(productId, new AtomicInteger(initialStock));
+        }
+    }
+
+    List<UUID> productIds() {
+        return List.copyOf(catalog.keySet());
+    }
+
+    @Override
+    protected void routes(HttpServerRoutes routes) {
+        routes.get(routePath(properties.getProperty(PATHS + "details")), this::details)
+                .get(routePath(properties.getProperty(PATHS + "stock-check")), this::stockCheck)
+                .put(properties.getProperty(PATHS + "stock-decrease"), (request, response) ->
+                        adjustStock(request, response, (stock, quantity) -> stock - quantity))
+                .put(properties.getProperty(PATHS + "stock-increase"), (request, response) ->
+                        adjustStock(request, response, Integer::sum));
+        String detailsBatchPath = properties.getProperty(PATHS + "details-batch", "");
+        if (!detailsBatchPath.isBlank()) {
+            routes.post(detailsBatchPath, this::detailsBatch);
+        }
+    }
+
+    private Publisher<Void> details(HttpServerRequest request, HttpServerResponse response) {
+        return respond(response, () -> {
+            ProductDetailsResponse product = currentDetails(UUID.fromString(request.param("productId")));
+            return product == null
+                    ? response.status(HttpResponseStatus.NOT_FOUND).send()
+                    : sendJson(response, HttpResponseStatus.OK, product);
+        });
+    }
+
+    private Publisher<Void> stockCheck(HttpServerRequest request, HttpServerResponse response) {
+        return respond(response, () -> {
+            UUID productId = UUID.fromString(request.param("productId"));
+            int quantity = Integer.parseInt(queryParam(request.uri(), "quantity"));
+            AtomicInteger stock = stockByProductId.get(productId);
+            return stock == null
+                    ? response.status(HttpResponseStatus.NOT_FOUND).send()
+                    : sendJson(response, HttpResponseStatus.OK, Map.of("available", stock.get() >= quantity));
+        });
+    }
+
+    private Publisher<Void> detailsBatch(HttpServerRequest request, HttpServerResponse response) {
+        return request.receive().aggregate().asString()
+                .flatMap(body -> Mono.from(respond(response, () -> {
+                    List<ProductDetailsResponse> found = new ArrayList<>();
+                    readTree(body).path("productIds").forEach(node -> {
+                        ProductDetailsResponse product = currentDetails(UUID.fromString(node.asText()));
+                        if (product != null) {
+                            found.add(product);
+                        }
+                    });
+                    return sendJson(response, HttpResponseStatus.OK, found);
+                })));
+    }
+
+    private Publisher<Void> adjustStock(HttpServerRequest request, HttpServerResponse response, IntBinaryOperator adjustment) {
+        UUID productId = UUID.fromString(request.param("productId"));
+        String idempotencyKey = request.requestHeaders().get(IDEMPOTENCY_KEY_HEADER);
+        return request.receive().aggregate().asString()
+                .flatMap(body -> Mono.from(respond(response, () -> {
+                    AtomicInteger stock = stockByProductId.get(productId);
+                    if (stock == null) {
+                        return response.status(HttpResponseStatus.NOT_FOUND).send();
+                    }
+                    if (idempotencyKey != null && !appliedIdempotencyKeys.add(idempotencyKey)) {
+                        return response.status(HttpResponseStatus.OK).send();
+                    }
+                    int quantity = readTree(body).path("quantity").asInt();
+                    if (!tryAdjust(stock, quantity, adjustment)) {
+                        if (idempotencyKey != null) {
+                            appliedIdempotencyKeys.remove(idempotencyKey);
+                        }
+                        return sendJson(response, HttpResponseStatus.BAD_REQUEST, Map.of("message", "Insufficient stock for product " + productId));
+                    }
+                    return response.status(HttpResponseStatus.OK).send();
+                })));
+    }
+
+    private static boolean tryAdjust(AtomicInteger stock, int quantity, IntBinaryOperator adjustment) {
+        int current;
+        int next;
+        do {
+            current = stock.get();
+            next = adjustment.applyAsInt(current, quantity);
+            if (next < 0) {
+                return false;
+            }
+        } while (!stock.compareAndSet(current, next));
+        return true;
+    }
+
+    private ProductDetailsResponse currentDetails(UUID productId) {
+        ProductDetailsResponse product = catalog.get(productId);
+        if (product == null) {
+            return null;
+        }
+        return ProductDetailsResponse.builder()
+                .productId(product.getProductId())
+                .name(product.getName())
+                .sku(product.getSku())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stock(stockByProductId.get(productId).get())
+                .build();
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String queryParam(String uri, String name) {
+        int query = uri.indexOf('?');
+        if (query >= 0) {
+            for (String pair : uri.substring(query + 1).split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                    return pair.substring(separator + 1);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Missing query parameter " + name + " in " + uri);
+    }
+}
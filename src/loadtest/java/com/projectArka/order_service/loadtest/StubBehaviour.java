@@ -0,0 +1,36 @@
+package com.projectArka.order_service.loadtest;
+
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+record StubBehaviour(Duration latency, Duration jitter, double errorRate, double slowRate, Duration slowLatency) {
+
+    static StubBehaviour fromProperties(Properties properties, String prefix) {
+        return new StubBehaviour(
+                Duration.ofMillis(Long.parseLong(properties.getProperty(prefix + ".latency-ms", "5"))),
+                Duration.ofMillis(Long.parseLong(properties.getProperty(prefix + ".jitter-ms", "5"))),
+                Double.parseDouble(properties.getProperty(prefix + ".error-rate", "0.0")),
+                Double.parseDouble(properties.getProperty(prefix + ".slow-rate", "0.0")),
+                Duration.ofMillis(Long.parseLong(properties.getProperty(prefix + ".slow-latency-ms", "2500"))));
+    }
+
+    Duration nextDelay() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (slowRate > 0 && random.nextDouble() < slowRate) {
+            return slowLatency;
+        }
+        long jitterMillis = jitter.toMillis() > 0 ? random.nextLong(jitter.toMillis() + 1) : 0;
+        return latency.plusMillis(jitterMillis);
+    }
+
+    boolean nextFailure() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    @Override
+    public String toString() {
+        return "latency=" + latency.toMillis() + "ms (+" + jitter.toMillis() + "ms jitter), errorRate=" + errorRate
+                + ", slowRate=" + slowRate + " (" + slowLatency.toMillis() + "ms)";
+    }
+}
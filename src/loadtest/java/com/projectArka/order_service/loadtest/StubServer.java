@@ -0,0 +1,70 @@
+package com.projectArka.order_service.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.server.HttpServerRoutes;
+
+import java.util.function.Supplier;
+
+abstract class StubServer implements AutoCloseable {
+
+    protected final ObjectMapper objectMapper;
+    private final StubBehaviour behaviour;
+    private DisposableServer server;
+
+    protected StubServer(ObjectMapper objectMapper, StubBehaviour behaviour) {
+        this.objectMapper = objectMapper;
+        this.behaviour = behaviour;
+    }
+
+    protected abstract void routes(HttpServerRoutes routes);
+
+    StubServer start() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(this::routes)
+                .bindNow();
+        return this;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    protected Publisher<Void> respond(HttpServerResponse response, Supplier<Publisher<Void>> handler) {
+        return Mono.delay(behaviour.nextDelay())
+                .then(Mono.defer(() -> behaviour.nextFailure()
+                        ? Mono.from(response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).sendString(Mono.just("injected failure")))
+                        : Mono.from(handler.get())));
+    }
+
+    protected Publisher<Void> sendJson(HttpServerResponse response, HttpResponseStatus status, Object body) {
+        try {
+            return response.status(status)
+                    .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                    .sendString(Mono.just(objectMapper.writeValueAsString(body)));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    protected static String routePath(String configuredPath) {
+        int query = configuredPath.indexOf('?');
+        return query < 0 ? configuredPath : configuredPath.substring(0, query);
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.projectArka.order_service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.UserDetailsResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.server.HttpServerRoutes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+final class UserServiceStub extends StubServer {
+
+    private static final String PATHS = "clients.user-service.paths.";
+
+    private final Properties properties;
+    private final List<UUID> userIds;
+    private final Set<UUID> knownUserIds;
+
+    UserServiceStub(ObjectMapper objectMapper, StubBehaviour behaviour, Properties properties, int userCount) {
+        super(objectMapper, behaviour);
+        this.properties = properties;
+        List<UUID> generated = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            generated.add(UUID.randomUUID());
+        }
+        this.userIds = List.copyOf(generated);
+        this.knownUserIds = Set.copyOf(generated);
+    }
+
+    List<UUID> userIds() {
+        return userIds;
+    }
+
+    @Override
+    protected void routes(HttpServerRoutes routes) {
+        routes.get(properties.getProperty(PATHS + "validate-user"), this::validateUser)
+                .get(properties.getProperty(PATHS + "details"), this::details);
+    }
+
+    private Publisher<Void> validateUser(HttpServerRequest request, HttpServerResponse response) {
+        return respond(response, () -> sendJson(response, HttpResponseStatus.OK,
+                knownUserIds.contains(UUID.fromString(request.param("userId")))));
+    }
+
+    private Publisher<Void> details(HttpServerRequest request, HttpServerResponse response) {
+        return respond(response, () -> {
+            UUID userId = UUID.fromString(request.param("userId"));
+            if (!knownUserIds.contains(userId)) {
+                return response.status(HttpResponseStatus.NOT_FOUND).send();
+            }
+            String username = "loadtest-" + userId.toString().substring(0, 8);
+            return sendJson(response, HttpResponseStatus.OK, new UserDetailsResponse(userId, username, username + "@example.com"));
+        });
+    }
+}
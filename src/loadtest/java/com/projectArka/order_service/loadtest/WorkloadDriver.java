@@ -0,0 +1,243 @@
+package com.projectArka.order_service.loadtest;
+
+import com.projectArka.order_service.application.dto.OrderAddressDTO;
+import com.projectArka.order_service.application.dto.OrderItemRequestDTO;
+import com.projectArka.order_service.application.dto.OrderRequestDTO;
+import com.projectArka.order_service.application.dto.OrderResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+final class WorkloadDriver {
+
+    enum Operation {
+        CREATE("POST /api/orders"),
+        READ("GET /api/orders/{orderId}"),
+        LIST("GET /api/orders/user/{userId}/page"),
+        STATUS_UPDATE("PUT /api/orders/{orderId}/status"),
+        CANCEL("DELETE /api/orders/{orderId}");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        String propertyName() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    private static final String REQUEST_TIMER = "loadtest.request";
+
+    private final WebClient webClient;
+    private final List<UUID> userIds;
+    private final List<UUID> productIds;
+    private final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    private final int totalWeight;
+    private final int maxItemsPerOrder;
+    private final int listPageSize;
+    private final List<String> statuses;
+    private final List<String> knownOrderIds = new ArrayList<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private volatile long measureFromNanos;
+
+    WorkloadDriver(WebClient webClient, Properties properties, List<UUID> userIds, List<UUID> productIds) {
+        this.webClient = webClient;
+        this.userIds = userIds;
+        this.productIds = productIds;
+        int total = 0;
+        for (Operation operation : Operation.values()) {
+            int weight = Integer.parseInt(properties.getProperty("loadtest.mix." + operation.propertyName(), "0"));
+            weights.put(operation, weight);
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("loadtest.mix.* must define at least one positive weight");
+        }
+        this.totalWeight = total;
+        this.maxItemsPerOrder = Integer.parseInt(properties.getProperty("loadtest.order.max-items", "5"));
+        this.listPageSize = Integer.parseInt(properties.getProperty("loadtest.list.page-size", "20"));
+        this.statuses = List.of(properties.getProperty("loadtest.status-update.statuses", "PROCESSING,SHIPPED").split(","));
+    }
+
+    void run(Duration warmup, Duration duration, int concurrency) {
+        long start = System.nanoTime();
+        measureFromNanos = start + warmup.toNanos();
+        long deadline = measureFromNanos + duration.toNanos();
+        log.info("Running workload {} with {} concurrent clients ({} warmup, {} measured)", weights, concurrency, warmup, duration);
+        Flux.range(0, concurrency)
+                .flatMap(client -> Mono.defer(this::nextRequest)
+                        .repeat(() -> System.nanoTime() < deadline), concurrency)
+                .blockLast();
+        report(duration);
+    }
+
+    private Mono<Void> nextRequest() {
+        Operation operation = pickOperation();
+        String orderId = operation == Operation.CREATE || operation == Operation.LIST ? null : randomOrderId(operation == Operation.CANCEL);
+        if (orderId == null && operation != Operation.LIST) {
+            operation = Operation.CREATE;
+        }
+        long startNanos = System.nanoTime();
+        Operation executed = operation;
+        return execute(executed, orderId)
+                .onErrorResume(e -> {
+                    log.debug("{} failed: {}", executed.endpoint, e.getMessage());
+                    return Mono.just("error");
+                })
+                .doOnNext(status -> record(executed, status, startNanos))
+                .then();
+    }
+
+    private Mono<String> execute(Operation operation, String orderId) {
+        return switch (operation) {
+            case CREATE -> webClient.post()
+                    .uri("/api/orders")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(randomOrderRequest())
+                    .exchangeToMono(response -> {
+                        String status = String.valueOf(response.statusCode().value());
+                        if (!response.statusCode().is2xxSuccessful()) {
+                            return response.releaseBody().thenReturn(status);
+                        }
+                        return response.bodyToMono(OrderResponseDTO.class)
+                                .doOnNext(created -> rememberOrderId(created.getOrderId()))
+                                .thenReturn(status);
+                    });
+            case READ -> webClient.get()
+                    .uri("/api/orders/{orderId}", orderId)
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(String.valueOf(response.statusCode().value())));
+            case LIST -> webClient.get()
+                    .uri("/api/orders/user/{userId}/page?limit={limit}", randomElement(userIds), listPageSize)
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(String.valueOf(response.statusCode().value())));
+            case STATUS_UPDATE -> webClient.put()
+                    .uri("/api/orders/{orderId}/status?newStatus={status}", orderId, randomElement(statuses))
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(String.valueOf(response.statusCode().value())));
+            case CANCEL -> webClient.delete()
+                    .uri("/api/orders/{orderId}", orderId)
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(String.valueOf(response.statusCode().value())));
+        };
+    }
+
+    private Operation pickOperation() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.CREATE;
+    }
+
+    private OrderRequestDTO randomOrderRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int itemCount = 1 + random.nextInt(maxItemsPerOrder);
+        List<OrderItemRequestDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderItemRequestDTO.builder()
+                    .productId(randomElement(productIds).toString())
+                    .quantity(1 + random.nextInt(3))
+                    .build());
+        }
+        OrderAddressDTO address = OrderAddressDTO.builder()
+                .street("Calle 10")
+                .number(String.valueOf(1 + random.nextInt(200)))
+                .city("Medellin")
+                .state("Antioquia")
+                .country("Colombia")
+                .postalCode("05001")
+                .build();
+        return OrderRequestDTO.builder()
+                .userId(randomElement(userIds).toString())
+                .shippingAddress(address)
+                .billingAddress(address)
+                .items(items)
+                .build();
+    }
+
+    private void rememberOrderId(String orderId) {
+        synchronized (knownOrderIds) {
+            knownOrderIds.add(orderId);
+        }
+    }
+
+    private String randomOrderId(boolean remove) {
+        synchronized (knownOrderIds) {
+            if (knownOrderIds.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(knownOrderIds.size());
+            if (!remove) {
+                return knownOrderIds.get(index);
+            }
+            int last = knownOrderIds.size() - 1;
+            String orderId = knownOrderIds.get(index);
+            knownOrderIds.set(index, knownOrderIds.get(last));
+            knownOrderIds.remove(last);
+            return orderId;
+        }
+    }
+
+    private static <T> T randomElement(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private void record(Operation operation, String status, long startNanos) {
+        if (startNanos < measureFromNanos) {
+            return;
+        }
+        timer(operation, status).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(Operation operation, String status) {
+        return Timer.builder(REQUEST_TIMER)
+                .tag("endpoint", operation.endpoint)
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private void report(Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        StringBuilder table = new StringBuilder(String.format("%n%-36s %-6s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "status", "count", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            for (Timer timer : meterRegistry.find(REQUEST_TIMER).tag("endpoint", operation.endpoint).timers()) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                Map<Double, Double> percentiles = new HashMap<>();
+                for (ValueAtPercentile value : snapshot.percentileValues()) {
+                    percentiles.put(value.percentile(), value.value(TimeUnit.MILLISECONDS));
+                }
+                total += snapshot.count();
+                table.append(String.format("%-36s %-6s %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                        operation.endpoint, timer.getId().getTag("status"), snapshot.count(), snapshot.count() / seconds,
+                        percentiles.getOrDefault(0.5, 0.0), percentiles.getOrDefault(0.95, 0.0),
+                        percentiles.getOrDefault(0.99, 0.0), snapshot.max(TimeUnit.MILLISECONDS)));
+            }
+        }
+        table.append(String.format("%-36s %-6s %8d %10.1f%n", "total", "", total, total / seconds));
+        log.info("Load test results over {}:{}", duration, table);
+    }
+}
@@ -0,0 +1,10 @@
+-- Tables owned by the user and product services that the order schema holds foreign keys to
+CREATE TABLE IF NOT EXISTS public.users (
+	id uuid NOT NULL,
+	CONSTRAINT users_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS public.product (
+	id uuid NOT NULL,
+	CONSTRAINT product_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,20 @@
+package com.projectArka.order_service.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderChangeEventDTO {
+    private String type;
+    private String orderId;
+    private String userId;
+    private String status;
+    private LocalDateTime occurredAt;
+}
@@ -16,4 +16,5 @@ public class OrderItemResponseDTO {
     private Integer quantity;
     private BigDecimal unitPrice;
     private String productName;
+    private String productSku;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.projectArka.order_service.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageResponseDTO {
+    private List<OrderResponseDTO> items;
+    private String nextCursor;
+}
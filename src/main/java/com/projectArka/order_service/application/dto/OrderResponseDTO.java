@@ -1,5 +1,7 @@
 package com.projectArka.order_service.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,6 +15,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class OrderResponseDTO {
     private String orderId;
     private LocalDateTime orderDate;
@@ -25,4 +28,7 @@ public class OrderResponseDTO {
     private ShipmentDTO shipment;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Set when a product name fell back to a placeholder, so the response is not worth caching
+    @JsonIgnore
+    private boolean productNamesIncomplete;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.projectArka.order_service.application.mapper;
 
 import com.projectArka.order_service.application.dto.OrderAddressDTO;
+import com.projectArka.order_service.application.dto.OrderChangeEventDTO;
 import com.projectArka.order_service.application.dto.OrderItemRequestDTO;
 import com.projectArka.order_service.application.dto.OrderItemResponseDTO;
 import com.projectArka.order_service.application.dto.OrderRequestDTO;
@@ -8,6 +9,7 @@ import com.projectArka.order_service.application.dto.OrderResponseDTO;
 import com.projectArka.order_service.application.dto.ShipmentDTO;
 import com.projectArka.order_service.domain.model.Order;
 import com.projectArka.order_service.domain.model.OrderAddress;
+import com.projectArka.order_service.domain.model.OrderChangeEvent;
 import com.projectArka.order_service.domain.model.OrderItem;
 import com.projectArka.order_service.domain.model.Shipment;
 import org.mapstruct.Mapper;
@@ -61,6 +63,8 @@ public interface IOrderMapper {
     @Mapping(target = "unitPrice", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "productName", ignore = true)
+    @Mapping(target = "productSku", ignore = true)
     @Mapping(source = "productId", target = "productId", qualifiedByName = "stringToUuid")
     OrderItem toOrderItem(OrderItemRequestDTO orderItemRequestDTO);
 
@@ -108,4 +112,9 @@ public interface IOrderMapper {
     @Mapping(source = "productId", target = "productId", qualifiedByName = "uuidToString")
     @Mapping(target = "productName", ignore = true)
     List<OrderItemResponseDTO> toOrderItemResponseDTOs(List<OrderItem> items);
-}
\ No newline at end of file
+
+    @Mapping(source = "orderId", target = "orderId", qualifiedByName = "uuidToString")
+    @Mapping(source = "userId", target = "userId", qualifiedByName = "uuidToString")
+    @Mapping(source = "occurredAt", target = "occurredAt", qualifiedByName = "instantToLocalDateTime")
+    OrderChangeEventDTO toOrderChangeEventDTO(OrderChangeEvent event);
+}
@@ -0,0 +1,233 @@
+package com.projectArka.order_service.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.projectArka.order_service.application.dto.OrderRequestDTO;
+import com.projectArka.order_service.application.dto.OrderResponseDTO;
+import com.projectArka.order_service.domain.exception.IdempotencyKeyConflictException;
+import com.projectArka.order_service.domain.exception.InvalidOrderDataException;
+import com.projectArka.order_service.domain.model.IdempotencyKey;
+import com.projectArka.order_service.domain.port.out.IIdempotencyKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class OrderIdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IIdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final OrderMetrics orderMetrics;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+    private final Cache<String, CompletedRequest> completed;
+    private final Map<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+
+    public OrderIdempotencyStore(
+            IIdempotencyKeyRepository idempotencyKeyRepository,
+            ObjectMapper objectMapper,
+            OrderMetrics orderMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${orders.idempotency.ttl:24h}") Duration ttl,
+            @Value("${orders.idempotency.in-progress-timeout:30s}") Duration inProgressTimeout,
+            @Value("${orders.idempotency.wait-timeout:35s}") Duration waitTimeout,
+            @Value("${orders.idempotency.poll-interval:100ms}") Duration pollInterval,
+            @Value("${orders.idempotency.local-max-entries:10000}") long localMaxEntries) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.orderMetrics = orderMetrics;
+        this.ttl = ttl;
+        this.inProgressTimeout = inProgressTimeout;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(localMaxEntries)
+                .expireAfter(new CompletedRequestExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "orderIdempotencyKeys");
+    }
+
+    public Mono<OrderResponseDTO> execute(String key, OrderRequestDTO requestDTO, OrderCreation createOrder) {
+        return Mono.defer(() -> lookup(key, requestDTO, createOrder));
+    }
+
+    private Mono<OrderResponseDTO> lookup(String key, OrderRequestDTO requestDTO, OrderCreation createOrder) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new InvalidOrderDataException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters."));
+        }
+        String requestHash;
+        try {
+            requestHash = requestHash(requestDTO);
+        } catch (JsonProcessingException e) {
+            return Mono.error(new InvalidOrderDataException("Order request could not be serialized: " + e.getMessage()));
+        }
+
+        CompletedRequest local = completed.getIfPresent(key);
+        if (local != null) {
+            if (!local.requestHash().equals(requestHash)) {
+                return Mono.error(keyReused(key));
+            }
+            orderMetrics.recordIdempotency("replayed_local");
+            return Mono.just(local.response());
+        }
+
+        // Retries racing on this instance share one execution; only its leader talks to the idempotency table
+        InFlightRequest candidate = inFlightRequest(key, requestHash, createOrder);
+        InFlightRequest current = inFlight.putIfAbsent(key, candidate);
+        if (current == null) {
+            return candidate.result();
+        }
+        if (!current.requestHash().equals(requestHash)) {
+            return Mono.error(keyReused(key));
+        }
+        orderMetrics.recordIdempotency("joined");
+        return current.result();
+    }
+
+    private InFlightRequest inFlightRequest(String key, String requestHash, OrderCreation createOrder) {
+        AtomicReference<InFlightRequest> self = new AtomicReference<>();
+        // cache() keeps the execution running for the waiters even if the first caller disconnects
+        Mono<OrderResponseDTO> result = Mono.defer(() -> resolve(key, requestHash, createOrder, Instant.now().plus(waitTimeout)))
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache();
+        self.set(new InFlightRequest(requestHash, result));
+        return self.get();
+    }
+
+    private Mono<OrderResponseDTO> resolve(String key, String requestHash, OrderCreation createOrder, Instant deadline) {
+        Instant now = Instant.now();
+        UUID claimId = UUID.randomUUID();
+        return idempotencyKeyRepository.claim(key, requestHash, claimId, now, now.plus(inProgressTimeout))
+                .flatMap(claimed -> claimed
+                        ? createAndRecord(key, requestHash, claimId, createOrder)
+                        : awaitStored(key, requestHash, createOrder, deadline));
+    }
+
+    private Mono<OrderResponseDTO> createAndRecord(String key, String requestHash, UUID claimId, OrderCreation createOrder) {
+        orderMetrics.recordIdempotency("executed");
+        Instant expiresAt = Instant.now().plus(ttl);
+        // A failed create frees the key so the client can retry once the cause is fixed
+        return createOrder.create(response -> recordInTransaction(key, claimId, response, expiresAt))
+                .onErrorResume(e -> idempotencyKeyRepository.release(key, claimId)
+                        .onErrorResume(releaseError -> {
+                            log.warn("Could not release idempotency key {}: {}", key, releaseError.getMessage());
+                            return Mono.empty();
+                        })
+                        .then(Mono.error(e)))
+                .doOnNext(response -> completed.put(key, new CompletedRequest(requestHash, response, expiresAt)));
+    }
+
+    // Runs inside the order's transaction, so the key is completed if and only if the order commits. A claim taken
+    // over after in-progress-timeout no longer matches claimId, and failing here rolls the order back instead of
+    // leaving two orders behind one key
+    private Mono<Void> recordInTransaction(String key, UUID claimId, OrderResponseDTO response, Instant expiresAt) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(response))
+                .flatMap(responseBody -> idempotencyKeyRepository.complete(key, claimId, UUID.fromString(response.getOrderId()), responseBody, expiresAt))
+                .flatMap(recorded -> recorded
+                        ? Mono.<Void>empty()
+                        : Mono.error(new IdempotencyKeyConflictException(
+                                "Idempotency-Key " + key + " was taken over by another request; retry to get its result.")));
+    }
+
+    private Mono<OrderResponseDTO> awaitStored(String key, String requestHash, OrderCreation createOrder, Instant deadline) {
+        return idempotencyKeyRepository.findByKey(key, Instant.now())
+                .flatMap(stored -> {
+                    if (!stored.getRequestHash().equals(requestHash)) {
+                        return Mono.error(keyReused(key));
+                    }
+                    if (!stored.isCompleted()) {
+                        return Mono.<OrderResponseDTO>empty();
+                    }
+                    return replay(key, stored);
+                })
+                // Still running elsewhere, or released/expired in the meantime: wait and try to claim it again
+                .switchIfEmpty(Mono.defer(() -> {
+                    if (Instant.now().isAfter(deadline)) {
+                        return Mono.error(new IdempotencyKeyConflictException(
+                                "A request with Idempotency-Key " + key + " is still being processed; retry later."));
+                    }
+                    return Mono.delay(pollInterval).then(Mono.defer(() -> resolve(key, requestHash, createOrder, deadline)));
+                }));
+    }
+
+    private Mono<OrderResponseDTO> replay(String key, IdempotencyKey stored) {
+        OrderResponseDTO response;
+        try {
+            response = objectMapper.readValue(stored.getResponseBody(), OrderResponseDTO.class);
+        } catch (JsonProcessingException e) {
+            return Mono.error(new IllegalStateException("Stored response for idempotency key " + key + " is unreadable", e));
+        }
+        completed.put(key, new CompletedRequest(stored.getRequestHash(), response, stored.getExpiresAt()));
+        orderMetrics.recordIdempotency("replayed_store");
+        return Mono.just(response);
+    }
+
+    private String requestHash(OrderRequestDTO requestDTO) throws JsonProcessingException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] hash = digest.digest(objectMapper.writeValueAsBytes(requestDTO));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    private static IdempotencyKeyConflictException keyReused(String key) {
+        return new IdempotencyKeyConflictException("Idempotency-Key " + key + " was already used with a different request.");
+    }
+
+    // The creation must subscribe to recordResponse inside the order's transaction, after the order rows are written
+    @FunctionalInterface
+    public interface OrderCreation {
+        Mono<OrderResponseDTO> create(Function<OrderResponseDTO, Mono<Void>> recordResponse);
+    }
+
+    private record CompletedRequest(String requestHash, OrderResponseDTO response, Instant expiresAt) {
+    }
+
+    private record InFlightRequest(String requestHash, Mono<OrderResponseDTO> result) {
+    }
+
+    // Local entries expire together with their row, so a replay here never outlives one from the table
+    private static final class CompletedRequestExpiry implements Expiry<String, CompletedRequest> {
+
+        @Override
+        public long expireAfterCreate(String key, CompletedRequest request, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), request.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CompletedRequest request, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, request, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CompletedRequest request, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
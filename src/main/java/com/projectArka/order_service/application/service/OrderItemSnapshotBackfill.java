@@ -0,0 +1,70 @@
+package com.projectArka.order_service.application.service;
+
+import com.projectArka.order_service.domain.model.OrderItem;
+import com.projectArka.order_service.domain.port.out.IOrderItemRepository;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IProductServiceClient;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.ProductDetailsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderItemSnapshotBackfill {
+
+    private final IOrderItemRepository orderItemRepository;
+    private final IProductServiceClient productServiceClient;
+
+    private final AtomicReference<UUID> lastScannedItemId = new AtomicReference<>();
+    private final AtomicBoolean complete = new AtomicBoolean();
+
+    public boolean isComplete() {
+        return complete.get();
+    }
+
+    public Mono<Integer> backfillBatch(int batchSize) {
+        return orderItemRepository.findMissingProductSnapshot(lastScannedItemId.get(), batchSize)
+                .collectList()
+                .flatMap(items -> {
+                    if (items.isEmpty()) {
+                        if (complete.compareAndSet(false, true)) {
+                            log.info("Order item product snapshot backfill complete");
+                        }
+                        return Mono.just(0);
+                    }
+                    Set<UUID> productIds = items.stream()
+                            .map(OrderItem::getProductId)
+                            .collect(Collectors.toSet());
+                    return productServiceClient.getProductDetailsBatch(productIds)
+                            .flatMap(productDetailsById -> orderItemRepository.updateProductSnapshots(snapshots(items, productDetailsById)))
+                            .doOnNext(updated -> log.debug("Backfilled product snapshots for {} of {} order items", updated, items.size()))
+                            .doOnSuccess(ignored -> lastScannedItemId.set(items.get(items.size() - 1).getId()))
+                            .thenReturn(items.size());
+                });
+    }
+
+    private static List<OrderItem> snapshots(List<OrderItem> items, Map<UUID, ProductDetailsResponse> productDetailsById) {
+        return items.stream()
+                .filter(item -> {
+                    ProductDetailsResponse productDetails = productDetailsById.get(item.getProductId());
+                    if (productDetails == null || productDetails.getName() == null) {
+                        log.warn("No product details for product {}, leaving order item {} without a snapshot", item.getProductId(), item.getId());
+                        return false;
+                    }
+                    item.setProductName(productDetails.getName());
+                    item.setProductSku(productDetails.getSku());
+                    return true;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,92 @@
+package com.projectArka.order_service.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+@Component
+@RequiredArgsConstructor
+public class OrderMetrics {
+
+    private static final String OPERATION_TIMER = "orders.operation";
+    private static final String STAGE_TIMER = "orders.stage";
+    private static final String FANOUT_SUMMARY = "orders.fanout";
+    private static final String DROPPED_COUNTER = "orders.dropped";
+    private static final String IDEMPOTENCY_COUNTER = "orders.idempotency";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> Function<Mono<T>, Mono<T>> timed(String operation) {
+        return mono -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return mono
+                    .doOnSuccess(ignored -> stop(sample, OPERATION_TIMER, operation, null, "success", NO_EXCEPTION))
+                    .doOnError(e -> stop(sample, OPERATION_TIMER, operation, null, "error", e.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(sample, OPERATION_TIMER, operation, null, "cancelled", NO_EXCEPTION));
+        };
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> timedMany(String operation) {
+        return flux -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return flux
+                    .doOnComplete(() -> stop(sample, OPERATION_TIMER, operation, null, "success", NO_EXCEPTION))
+                    .doOnError(e -> stop(sample, OPERATION_TIMER, operation, null, "error", e.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(sample, OPERATION_TIMER, operation, null, "cancelled", NO_EXCEPTION));
+        };
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> timedStage(String operation, String stage) {
+        return mono -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return mono
+                    .doOnSuccess(ignored -> stop(sample, STAGE_TIMER, operation, stage, "success", NO_EXCEPTION))
+                    .doOnError(e -> stop(sample, STAGE_TIMER, operation, stage, "error", e.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(sample, STAGE_TIMER, operation, stage, "cancelled", NO_EXCEPTION));
+        };
+    }
+
+    public void recordFanout(String operation, String kind, int amount) {
+        DistributionSummary.builder(FANOUT_SUMMARY)
+                .tag("operation", operation)
+                .tag("kind", kind)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(amount);
+    }
+
+    public void recordDropped(String operation, String kind) {
+        Counter.builder(DROPPED_COUNTER)
+                .tag("operation", operation)
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordIdempotency(String outcome) {
+        Counter.builder(IDEMPOTENCY_COUNTER)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void stop(Timer.Sample sample, String name, String operation, String stage, String outcome, String exception) {
+        Timer.Builder builder = Timer.builder(name)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram();
+        if (stage != null) {
+            builder.tag("stage", stage);
+        }
+        sample.stop(builder.register(meterRegistry));
+    }
+}
@@ -0,0 +1,84 @@
+package com.projectArka.order_service.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.projectArka.order_service.domain.model.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+public class OrderResponseCache {
+
+    private static final Set<String> TERMINAL_STATUSES = Set.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final Cache<UUID, CachedResponse> responses;
+
+    public OrderResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${orders.response-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${orders.response-cache.terminal-ttl:24h}") Duration terminalTtl,
+            @Value("${orders.response-cache.active-ttl:30s}") Duration activeTtl) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((UUID orderId, CachedResponse response) -> response.body().length + ENTRY_OVERHEAD_BYTES)
+                .expireAfter(new ResponseExpiry(terminalTtl.toNanos(), activeTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "orderResponses");
+        Gauge.builder("orders.response.cache.weight", responses, OrderResponseCache::weightedSize)
+                .baseUnit("bytes")
+                .description("Approximate memory held by cached order responses")
+                .register(meterRegistry);
+    }
+
+    // Entries are tagged with the ETag they were rendered for, so a write on another instance turns them into misses
+    public byte[] get(UUID orderId, String etag) {
+        CachedResponse cached = responses.getIfPresent(orderId);
+        return cached != null && cached.etag().equals(etag) ? cached.body() : null;
+    }
+
+    public void put(UUID orderId, String status, String etag, byte[] body) {
+        responses.put(orderId, new CachedResponse(body, etag, TERMINAL_STATUSES.contains(status)));
+    }
+
+    public void invalidate(UUID orderId) {
+        responses.invalidate(orderId);
+    }
+
+    private static double weightedSize(Cache<UUID, CachedResponse> cache) {
+        return cache.policy().eviction()
+                .flatMap(Policy.Eviction::weightedSize)
+                .orElse(0L);
+    }
+
+    private record CachedResponse(byte[] body, String etag, boolean terminal) {
+    }
+
+    private record ResponseExpiry(long terminalTtlNanos, long activeTtlNanos) implements Expiry<UUID, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(UUID orderId, CachedResponse response, long currentTime) {
+            return response.terminal() ? terminalTtlNanos : activeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID orderId, CachedResponse response, long currentTime, long currentDuration) {
+            return expireAfterCreate(orderId, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID orderId, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.projectArka.order_service.application.service;
+
+import com.projectArka.order_service.domain.port.out.IStockReservationRepository;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IProductServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationLedger {
+
+    private final IProductServiceClient productServiceClient;
+    private final IStockReservationRepository reservationRepository;
+
+    private final ConcurrentHashMap<UUID, AtomicLong> availableByProductId = new ConcurrentHashMap<>();
+    // Reserved in the ledger but not yet settled: the stock_reservation rows may not be committed
+    private final ConcurrentHashMap<UUID, InFlight> inFlightByProductId = new ConcurrentHashMap<>();
+
+    public Mono<Void> seed(Collection<UUID> productIds) {
+        List<UUID> unseeded = productIds.stream()
+                .filter(productId -> !availableByProductId.containsKey(productId))
+                .distinct()
+                .toList();
+        if (unseeded.isEmpty()) {
+            return Mono.empty();
+        }
+        log.debug("Seeding stock ledger for {} products", unseeded.size());
+        return Mono.zip(productServiceClient.getProductStockBatch(unseeded), reservationRepository.sumReservedByProductIds(unseeded))
+                .doOnNext(tuple -> tuple.getT1().forEach((productId, stock) ->
+                        availableByProductId.putIfAbsent(productId, new AtomicLong(stock - tuple.getT2().getOrDefault(productId, 0L)))))
+                .then();
+    }
+
+    public Optional<UUID> tryReserve(Map<UUID, Integer> quantitiesByProductId) {
+        List<Map.Entry<UUID, Integer>> acquired = new ArrayList<>(quantitiesByProductId.size());
+        for (Map.Entry<UUID, Integer> requested : quantitiesByProductId.entrySet()) {
+            AtomicLong available = availableByProductId.get(requested.getKey());
+            if (available == null) {
+                return rollBack(acquired, requested.getKey());
+            }
+            // Counted in flight before the counter moves, so reconcile never sees the acquisition unaccounted for
+            AtomicLong inFlight = inFlightByProductId.computeIfAbsent(requested.getKey(), id -> new InFlight()).quantity;
+            inFlight.addAndGet(requested.getValue());
+            if (!tryAcquire(available, requested.getValue())) {
+                inFlight.addAndGet(-requested.getValue());
+                return rollBack(acquired, requested.getKey());
+            }
+            acquired.add(requested);
+        }
+        return Optional.empty();
+    }
+
+    // Called once the transaction persisting a tryReserve has committed or rolled back
+    public void settle(Map<UUID, Integer> quantitiesByProductId) {
+        quantitiesByProductId.forEach((productId, quantity) -> {
+            InFlight inFlight = inFlightByProductId.get(productId);
+            if (inFlight != null) {
+                inFlight.quantity.addAndGet(-quantity);
+                inFlight.settlements.incrementAndGet();
+            }
+        });
+    }
+
+    public void release(Map<UUID, Integer> quantitiesByProductId) {
+        quantitiesByProductId.forEach(this::release);
+    }
+
+    public void release(UUID productId, int quantity) {
+        AtomicLong available = availableByProductId.get(productId);
+        if (available != null) {
+            available.addAndGet(quantity);
+        }
+    }
+
+    public Set<UUID> trackedProductIds() {
+        return Set.copyOf(availableByProductId.keySet());
+    }
+
+    public Mono<Void> reconcile(Collection<UUID> productIds) {
+        return Mono.defer(() -> {
+            Map<UUID, Long> snapshot = new HashMap<>();
+            Map<UUID, Long> settlementsAtSnapshot = new HashMap<>();
+            productIds.forEach(productId -> {
+                AtomicLong available = availableByProductId.get(productId);
+                if (available != null) {
+                    settlementsAtSnapshot.put(productId, settlements(productId));
+                    snapshot.put(productId, available.get());
+                }
+            });
+            if (snapshot.isEmpty()) {
+                return Mono.empty();
+            }
+            return Mono.zip(productServiceClient.getProductStockBatch(snapshot.keySet()), reservationRepository.sumReservedByProductIds(snapshot.keySet()))
+                    .doOnNext(tuple -> snapshot.forEach((productId, observed) -> {
+                        Integer stock = tuple.getT1().get(productId);
+                        if (stock == null) {
+                            log.info("Product {} no longer known to product service, dropping it from the stock ledger", productId);
+                            availableByProductId.remove(productId);
+                            return;
+                        }
+                        // A reservation settled during the reads may be missing from both the sum and the in-flight count
+                        if (settlements(productId) != settlementsAtSnapshot.get(productId)) {
+                            log.debug("Reservations for product {} settled while reconciling, retrying next cycle", productId);
+                            return;
+                        }
+                        long target = stock - tuple.getT2().getOrDefault(productId, 0L) - inFlight(productId);
+                        AtomicLong available = availableByProductId.get(productId);
+                        if (available == null || target == observed) {
+                            return;
+                        }
+                        // Only correct a counter nobody touched during the reads; otherwise the next cycle retries it
+                        if (available.compareAndSet(observed, target)) {
+                            log.debug("Reconciling stock ledger for product {}: {} -> {}", productId, observed, target);
+                        } else {
+                            log.debug("Stock ledger for product {} changed while reconciling, retrying next cycle", productId);
+                        }
+                    }))
+                    .then();
+        });
+    }
+
+    private Optional<UUID> rollBack(List<Map.Entry<UUID, Integer>> acquired, UUID shortProductId) {
+        acquired.forEach(entry -> {
+            release(entry.getKey(), entry.getValue());
+            inFlightByProductId.get(entry.getKey()).quantity.addAndGet(-entry.getValue());
+        });
+        return Optional.of(shortProductId);
+    }
+
+    private long inFlight(UUID productId) {
+        InFlight inFlight = inFlightByProductId.get(productId);
+        return inFlight == null ? 0 : inFlight.quantity.get();
+    }
+
+    private long settlements(UUID productId) {
+        InFlight inFlight = inFlightByProductId.get(productId);
+        return inFlight == null ? 0 : inFlight.settlements.get();
+    }
+
+    private static boolean tryAcquire(AtomicLong available, int quantity) {
+        long current;
+        do {
+            current = available.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!available.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    private static final class InFlight {
+        private final AtomicLong quantity = new AtomicLong();
+        private final AtomicLong settlements = new AtomicLong();
+    }
+}
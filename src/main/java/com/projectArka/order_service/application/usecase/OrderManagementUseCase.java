@@ -1,38 +1,65 @@
 package com.projectArka.order_service.application.usecase;
 
+import com.projectArka.order_service.application.dto.BulkOrderResultDTO;
+import com.projectArka.order_service.application.dto.OrderChangeEventDTO;
 import com.projectArka.order_service.application.dto.OrderItemRequestDTO;
 import com.projectArka.order_service.application.dto.OrderItemResponseDTO;
+import com.projectArka.order_service.application.dto.OrderPageResponseDTO;
 import com.projectArka.order_service.application.dto.OrderRequestDTO;
 import com.projectArka.order_service.application.dto.OrderResponseDTO;
 import com.projectArka.order_service.application.mapper.IOrderMapper;
+import com.projectArka.order_service.application.service.OrderIdempotencyStore;
+import com.projectArka.order_service.application.service.OrderMetrics;
+import com.projectArka.order_service.application.service.OrderResponseCache;
+import com.projectArka.order_service.application.service.StockReservationLedger;
 import com.projectArka.order_service.domain.exception.OrderNotFoundException;
 import com.projectArka.order_service.domain.exception.InsufficientStockException;
 import com.projectArka.order_service.domain.exception.InvalidOrderDataException;
+import com.projectArka.order_service.domain.exception.InvalidStatusTransitionException;
 import com.projectArka.order_service.domain.exception.UserNotFoundException;
 import com.projectArka.order_service.domain.model.Order;
 import com.projectArka.order_service.domain.model.OrderAddress;
+import com.projectArka.order_service.domain.model.OrderAggregate;
+import com.projectArka.order_service.domain.model.OrderChangeEvent;
 import com.projectArka.order_service.domain.model.OrderItem;
+import com.projectArka.order_service.domain.model.OrderOutboxEvent;
+import com.projectArka.order_service.domain.model.OrderPageCursor;
+import com.projectArka.order_service.domain.model.OrderStatus;
+import com.projectArka.order_service.domain.model.OrderVersion;
+import com.projectArka.order_service.domain.model.OrderView;
 import com.projectArka.order_service.domain.model.Shipment;
+import com.projectArka.order_service.domain.model.StockReservation;
 import com.projectArka.order_service.domain.port.in.IOrderManagement;
-import com.projectArka.order_service.domain.port.out.IOrderAddressRepository;
+import com.projectArka.order_service.domain.port.out.IOrderChangeFeed;
 import com.projectArka.order_service.domain.port.out.IOrderItemRepository;
+import com.projectArka.order_service.domain.port.out.IOrderOutboxRepository;
+import com.projectArka.order_service.domain.port.out.IOrderQueryRepository;
 import com.projectArka.order_service.domain.port.out.IOrderRepository;
-import com.projectArka.order_service.domain.port.out.IShipmentRepository;
+import com.projectArka.order_service.domain.port.out.IStockReservationRepository;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IProductServiceClient;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IUserServiceClient;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.ProductDetailsResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuples;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,17 +67,52 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderManagementUseCase implements IOrderManagement {
 
+    private static final int RESPONSE_BATCH_SIZE = 256;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int STREAM_PAGE_SIZE = 100;
+    private static final String PRODUCT_NAME_UNAVAILABLE = "Product Name Unavailable";
+
     private final IOrderRepository orderRepository;
     private final IOrderItemRepository orderItemRepository;
-    private final IOrderAddressRepository orderAddressRepository;
-    private final IShipmentRepository shipmentRepository;
+    private final IOrderQueryRepository orderQueryRepository;
+    private final IOrderOutboxRepository orderOutboxRepository;
+    private final IStockReservationRepository stockReservationRepository;
+    private final StockReservationLedger stockLedger;
     private final IUserServiceClient userServiceClient;
     private final IProductServiceClient productServiceClient;
     private final IOrderMapper orderMapper;
+    private final TransactionalOperator transactionalOperator;
+    private final OrderMetrics orderMetrics;
+    private final OrderResponseCache orderResponseCache;
+    private final IOrderChangeFeed orderChangeFeed;
+    private final OrderIdempotencyStore orderIdempotencyStore;
+
+    @Value("${orders.bulk.chunk-size:100}")
+    private int bulkChunkSize;
+
+    @Value("${orders.bulk.concurrency:2}")
+    private int bulkConcurrency;
+
+    @Value("${orders.change-stream.buffer-size:256}")
+    private int changeStreamBufferSize;
 
     @Override
-    @Transactional
     public Mono<OrderResponseDTO> createOrder(OrderRequestDTO requestDTO) {
+        return placeOrder(requestDTO, response -> Mono.empty()).transformDeferred(orderMetrics.timed("createOrder"));
+    }
+
+    @Override
+    public Mono<OrderResponseDTO> createOrder(OrderRequestDTO requestDTO, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createOrder(requestDTO);
+        }
+        // Replays are answered from the idempotency store without calling the user or product services
+        return orderIdempotencyStore.execute(idempotencyKey, requestDTO,
+                recordResponse -> placeOrder(requestDTO, recordResponse).transformDeferred(orderMetrics.timed("createOrder")));
+    }
+
+    // recordResponse runs in the order's transaction, before commit
+    private Mono<OrderResponseDTO> placeOrder(OrderRequestDTO requestDTO, Function<OrderResponseDTO, Mono<Void>> recordResponse) {
         log.info("Attempting to create order for userId: {}", requestDTO.getUserId());
 
         UUID userId;
@@ -61,132 +123,365 @@ public class OrderManagementUseCase implements IOrderManagement {
         }
 
         return userServiceClient.validateUserExists(userId)
+                .transformDeferred(orderMetrics.timedStage("createOrder", "validate_user"))
                 .flatMap(userExists -> {
                     if (!userExists) {
                         return Mono.error(new UserNotFoundException("User with ID " + requestDTO.getUserId() + " not found."));
                     }
-                    return Flux.fromIterable(requestDTO.getItems())
-                            .flatMap(itemRequest -> {
-                                UUID productId;
-                                try {
-                                    productId = UUID.fromString(itemRequest.getProductId());
-                                } catch (IllegalArgumentException e) {
-                                    return Mono.error(new InvalidOrderDataException("Invalid product ID format: " + itemRequest.getProductId()));
-                                }
-                                return productServiceClient.getProductDetails(productId)
-                                        .switchIfEmpty(Mono.error(new InvalidOrderDataException("Product with ID " + itemRequest.getProductId() + " not found.")))
-                                        .flatMap(productDetails -> productServiceClient.checkProductStock(productId, itemRequest.getQuantity())
-                                                .flatMap(stockResponseMap -> {
-                                                    Boolean hasStock = stockResponseMap.getOrDefault("available", false);
-                                                    if (!hasStock) {
-                                                        return Mono.error(new InsufficientStockException("Insufficient stock for product ID: " + itemRequest.getProductId()));
-                                                    }
-                                                    return Mono.just(Tuples.of(itemRequest, productDetails));
-                                                })
-                                        );
-                            })
-                            .collectList()
-                            .flatMap(productTuples -> {
-                                List<OrderItem> orderItems = productTuples.stream()
-                                        .map(tuple -> {
-                                            OrderItemRequestDTO itemRequest = tuple.getT1();
-                                            ProductDetailsResponse productDetails = tuple.getT2();
-                                            OrderItem item = orderMapper.toOrderItem(itemRequest);
-                                            item.setUnitPrice(productDetails.getPrice());
-                                            return item;
-                                        })
-                                        .collect(Collectors.toList());
-
-                                BigDecimal totalAmount = orderItems.stream()
-                                        .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                                if (orderItems.isEmpty()) {
-                                    return Mono.error(new InvalidOrderDataException("Order must contain at least one valid item."));
-                                }
-
-                                Mono<OrderAddress> savedShippingAddressMono = orderAddressRepository.save(orderMapper.toOrderAddress(requestDTO.getShippingAddress()));
-                                Mono<OrderAddress> savedBillingAddressMono = orderAddressRepository.save(orderMapper.toOrderAddress(requestDTO.getBillingAddress()));
-
-                                return Mono.zip(savedShippingAddressMono, savedBillingAddressMono)
-                                        .flatMap(addressesTuple -> {
-                                            OrderAddress savedShippingAddress = addressesTuple.getT1();
-                                            OrderAddress savedBillingAddress = addressesTuple.getT2();
-
-                                            Order order = Order.builder()
-                                                    .userId(userId)
-                                                    .orderDate(Instant.now())
-                                                    .status("PENDING")
-                                                    .totalAmount(totalAmount)
-                                                    .shippingAddressId(savedShippingAddress.getId())
-                                                    .billingAddressId(savedBillingAddress.getId())
-                                                    .createdAt(Instant.now())
-                                                    .updatedAt(Instant.now())
-                                                    .build();
-
-                                            return orderRepository.save(order)
-                                                    .flatMap(savedOrder -> {
-                                                        orderItems.forEach(item -> {
-                                                            item.setOrderId(savedOrder.getId());
-                                                            log.debug("OrderItem ID antes de guardar: {}", item.getId());
-                                                        });
-                                                        return orderItemRepository.saveAll(orderItems)
-                                                                .collectList()
-                                                                .flatMap(persistedOrderItems -> {
-                                                                    Shipment shipment = Shipment.builder()
-                                                                            .orderId(savedOrder.getId())
-                                                                            .trackingNumber("TRK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
-                                                                            .status("PREPARING")
-                                                                            .shippingDate(Instant.now().plusSeconds(86400 * 3))
-                                                                            .build();
-
-                                                                    return shipmentRepository.save(shipment)
-                                                                            .then(Mono.just(Tuples.of(savedOrder, persistedOrderItems)));
-                                                                });
-                                                    })
-                                                    .flatMap(orderAndItemsTuple -> {
-                                                        Order savedOrder = orderAndItemsTuple.getT1();
-                                                        List<OrderItem> persistedOrderItems = orderAndItemsTuple.getT2();
+                    Map<UUID, Integer> requestedQuantities;
+                    try {
+                        requestedQuantities = requestedQuantities(requestDTO);
+                    } catch (InvalidOrderDataException e) {
+                        return Mono.error(e);
+                    }
+                    orderMetrics.recordFanout("createOrder", "lines", requestDTO.getItems().size());
+                    orderMetrics.recordFanout("createOrder", "products", requestedQuantities.size());
 
-                                                        return Flux.fromIterable(persistedOrderItems)
-                                                                .concatMap(item -> productServiceClient.decreaseProductStock(item.getProductId(), item.getQuantity()))
-                                                                .then(Mono.just(savedOrder));
+                    return productServiceClient.getProductDetailsBatch(requestedQuantities.keySet())
+                            .transformDeferred(orderMetrics.timedStage("createOrder", "product_lookup"))
+                            .flatMap(productDetailsById -> {
+                                for (UUID productId : requestedQuantities.keySet()) {
+                                    if (!productDetailsById.containsKey(productId)) {
+                                        return Mono.error(new InvalidOrderDataException("Product with ID " + productId + " not found."));
+                                    }
+                                }
+                                return stockLedger.seed(requestedQuantities.keySet())
+                                        .then(Mono.fromCallable(() -> stockLedger.tryReserve(requestedQuantities)))
+                                        .transformDeferred(orderMetrics.timedStage("createOrder", "stock_reserve"))
+                                        .flatMap(shortProduct -> {
+                                            if (shortProduct.isPresent()) {
+                                                return Mono.error(new InsufficientStockException("Insufficient stock for product ID: " + shortProduct.get()));
+                                            }
+                                            OrderAggregate newOrder = newOrderAggregate(userId, requestDTO, pricedItems(requestDTO, productDetailsById));
+                                            return persistOrders(List.of(newOrder), savedOrders -> {
+                                                        OrderResponseDTO response = toOrderResponseDTO(savedOrders.get(0), productNames(productDetailsById));
+                                                        return recordResponse.apply(response).thenReturn(response);
                                                     })
-                                                    .flatMap(this::buildOrderResponseDTO);
+                                                    .transformDeferred(orderMetrics.timedStage("createOrder", "persist"))
+                                                    .doOnError(e -> stockLedger.release(requestedQuantities))
+                                                    .doFinally(signal -> stockLedger.settle(requestedQuantities));
                                         });
                             });
                 });
     }
 
+    @Override
+    public Flux<BulkOrderResultDTO> createOrdersBulk(Flux<OrderRequestDTO> requests) {
+        return importOrders(requests).transformDeferred(orderMetrics.timedMany("createOrdersBulk"));
+    }
+
+    private Flux<BulkOrderResultDTO> importOrders(Flux<OrderRequestDTO> requests) {
+        log.info("Starting bulk order import (chunk size {}, concurrency {})", bulkChunkSize, bulkConcurrency);
+        return requests
+                .buffer(bulkChunkSize)
+                .index()
+                .flatMapSequential(indexedChunk -> importChunk(indexedChunk.getT1() * bulkChunkSize, indexedChunk.getT2()), bulkConcurrency);
+    }
+
+    private Flux<BulkOrderResultDTO> importChunk(long firstIndex, List<OrderRequestDTO> chunk) {
+        BulkOrderResultDTO[] results = new BulkOrderResultDTO[chunk.size()];
+        UUID[] userIds = new UUID[chunk.size()];
+        List<Map<UUID, Integer>> quantitiesByOrder = new ArrayList<>(Collections.nCopies(chunk.size(), null));
+        Map<UUID, Integer> chunkQuantities = new LinkedHashMap<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            OrderRequestDTO requestDTO = chunk.get(i);
+            try {
+                if (requestDTO.getUserId() == null || requestDTO.getShippingAddress() == null || requestDTO.getBillingAddress() == null) {
+                    throw new InvalidOrderDataException("User ID, shipping address and billing address are required.");
+                }
+                try {
+                    userIds[i] = UUID.fromString(requestDTO.getUserId());
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidOrderDataException("Invalid user ID format: " + requestDTO.getUserId());
+                }
+                Map<UUID, Integer> requestedQuantities = requestedQuantities(requestDTO);
+                quantitiesByOrder.set(i, requestedQuantities);
+                requestedQuantities.forEach((productId, quantity) -> chunkQuantities.merge(productId, quantity, Integer::sum));
+            } catch (InvalidOrderDataException e) {
+                results[i] = bulkResult(firstIndex + i, requestDTO, BulkOrderResultDTO.REJECTED, null, e.getMessage());
+            }
+        }
+
+        Set<UUID> distinctUserIds = new LinkedHashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] == null) {
+                distinctUserIds.add(userIds[i]);
+            }
+        }
+        if (distinctUserIds.isEmpty()) {
+            return Flux.fromArray(results);
+        }
+
+        Mono<Map<UUID, Boolean>> usersMono = Flux.fromIterable(distinctUserIds)
+                .flatMap(userId -> userServiceClient.validateUserExists(userId)
+                        .map(exists -> Map.entry(userId, exists)), bulkConcurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+        Mono<Map<UUID, ProductDetailsResponse>> productsMono = productServiceClient.getProductDetailsBatch(chunkQuantities.keySet());
+
+        return Mono.zip(usersMono, productsMono)
+                .flatMap(lookups -> {
+                    Map<UUID, ProductDetailsResponse> productDetailsById = lookups.getT2();
+                    return stockLedger.seed(productDetailsById.keySet())
+                            .then(Mono.defer(() -> {
+                                List<Integer> acceptedPositions = new ArrayList<>();
+                                List<OrderAggregate> acceptedOrders = new ArrayList<>();
+                                Map<UUID, Integer> reservedQuantities = new LinkedHashMap<>();
+                                for (int i = 0; i < chunk.size(); i++) {
+                                    if (results[i] != null) {
+                                        continue;
+                                    }
+                                    String rejection = rejectionReason(userIds[i], quantitiesByOrder.get(i), lookups.getT1(), productDetailsById);
+                                    if (rejection == null) {
+                                        rejection = stockLedger.tryReserve(quantitiesByOrder.get(i))
+                                                .map(productId -> "Insufficient stock for product ID: " + productId)
+                                                .orElse(null);
+                                    }
+                                    if (rejection != null) {
+                                        results[i] = bulkResult(firstIndex + i, chunk.get(i), BulkOrderResultDTO.REJECTED, null, rejection);
+                                        continue;
+                                    }
+                                    quantitiesByOrder.get(i).forEach((productId, quantity) -> reservedQuantities.merge(productId, quantity, Integer::sum));
+                                    acceptedPositions.add(i);
+                                    acceptedOrders.add(newOrderAggregate(userIds[i], chunk.get(i), pricedItems(chunk.get(i), productDetailsById)));
+                                }
+                                if (acceptedOrders.isEmpty()) {
+                                    return Mono.just(results);
+                                }
+                                return persistOrders(acceptedOrders, Mono::just)
+                                        .doOnError(e -> stockLedger.release(reservedQuantities))
+                                        .doFinally(signal -> stockLedger.settle(reservedQuantities))
+                                        .map(savedOrders -> {
+                                            for (int k = 0; k < acceptedPositions.size(); k++) {
+                                                int position = acceptedPositions.get(k);
+                                                results[position] = bulkResult(firstIndex + position, chunk.get(position), BulkOrderResultDTO.CREATED,
+                                                        savedOrders.get(k).getOrder().getId().toString(), null);
+                                            }
+                                            return results;
+                                        });
+                            }));
+                })
+                .onErrorResume(e -> {
+                    log.error("Bulk import chunk starting at {} failed: {}", firstIndex, e.getMessage(), e);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (results[i] == null || BulkOrderResultDTO.CREATED.equals(results[i].getStatus())) {
+                            results[i] = bulkResult(firstIndex + i, chunk.get(i), BulkOrderResultDTO.FAILED, null, e.getMessage());
+                        }
+                    }
+                    return Mono.just(results);
+                })
+                .flatMapMany(Flux::fromArray);
+    }
+
+    private static String rejectionReason(UUID userId, Map<UUID, Integer> requestedQuantities, Map<UUID, Boolean> userExistence,
+                                          Map<UUID, ProductDetailsResponse> productDetailsById) {
+        if (!userExistence.getOrDefault(userId, false)) {
+            return "User with ID " + userId + " not found.";
+        }
+        for (UUID productId : requestedQuantities.keySet()) {
+            if (!productDetailsById.containsKey(productId)) {
+                return "Product with ID " + productId + " not found.";
+            }
+        }
+        return null;
+    }
+
+    private static BulkOrderResultDTO bulkResult(long index, OrderRequestDTO requestDTO, String status, String orderId, String error) {
+        return BulkOrderResultDTO.builder()
+                .index(index)
+                .userId(requestDTO.getUserId())
+                .status(status)
+                .orderId(orderId)
+                .error(error)
+                .build();
+    }
+
+    private static Map<UUID, Integer> requestedQuantities(OrderRequestDTO requestDTO) {
+        if (requestDTO.getItems() == null || requestDTO.getItems().isEmpty()) {
+            throw new InvalidOrderDataException("Order must contain at least one valid item.");
+        }
+        Map<UUID, Integer> requestedQuantities = new LinkedHashMap<>();
+        for (OrderItemRequestDTO itemRequest : requestDTO.getItems()) {
+            UUID productId;
+            try {
+                productId = UUID.fromString(String.valueOf(itemRequest.getProductId()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidOrderDataException("Invalid product ID format: " + itemRequest.getProductId());
+            }
+            if (itemRequest.getQuantity() == null || itemRequest.getQuantity() < 1) {
+                throw new InvalidOrderDataException("Quantity must be at least 1 for product ID: " + productId);
+            }
+            requestedQuantities.merge(productId, itemRequest.getQuantity(), Integer::sum);
+        }
+        return requestedQuantities;
+    }
+
+    private static Map<UUID, Integer> quantitiesByProduct(Collection<OrderItem> items) {
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private List<OrderItem> pricedItems(OrderRequestDTO requestDTO, Map<UUID, ProductDetailsResponse> productDetailsById) {
+        return requestDTO.getItems().stream()
+                .map(itemRequest -> {
+                    OrderItem item = orderMapper.toOrderItem(itemRequest);
+                    ProductDetailsResponse productDetails = productDetailsById.get(item.getProductId());
+                    item.setUnitPrice(productDetails.getPrice());
+                    item.setProductName(productDetails.getName());
+                    item.setProductSku(productDetails.getSku());
+                    return item;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static Map<UUID, String> productNames(Map<UUID, ProductDetailsResponse> productDetailsById) {
+        return productDetailsById.entrySet().stream()
+                .filter(entry -> entry.getValue().getName() != null)
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getName()));
+    }
+
+    private OrderAggregate newOrderAggregate(UUID userId, OrderRequestDTO requestDTO, List<OrderItem> orderItems) {
+        BigDecimal totalAmount = orderItems.stream()
+                .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Order order = Order.builder()
+                .userId(userId)
+                .orderDate(Instant.now())
+                .status(OrderStatus.PENDING)
+                .totalAmount(totalAmount)
+                .build();
+        Shipment shipment = Shipment.builder()
+                .trackingNumber("TRK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                .status("PREPARING")
+                .shippingDate(Instant.now().plusSeconds(86400 * 3))
+                .build();
+        return OrderAggregate.builder()
+                .order(order)
+                .shippingAddress(orderMapper.toOrderAddress(requestDTO.getShippingAddress()))
+                .billingAddress(orderMapper.toOrderAddress(requestDTO.getBillingAddress()))
+                .items(orderItems)
+                .shipment(shipment)
+                .build();
+    }
+
+    private <T> Mono<T> persistOrders(List<OrderAggregate> newOrders, Function<List<OrderAggregate>, Mono<T>> beforeCommit) {
+        return Flux.fromIterable(newOrders)
+                .concatMap(orderRepository::insertAggregate)
+                .collectList()
+                .flatMap(savedOrders -> {
+                    List<OrderOutboxEvent> stockEvents = savedOrders.stream()
+                            .flatMap(savedOrder -> quantitiesByProduct(savedOrder.getItems()).entrySet().stream()
+                                    .map(entry -> OrderOutboxEvent.stockDecrement(savedOrder.getOrder().getId(), entry.getKey(), entry.getValue())))
+                            .collect(Collectors.toList());
+                    orderMetrics.recordFanout("persistOrders", "stock_events", stockEvents.size());
+                    return orderOutboxRepository.saveAll(stockEvents)
+                            .map(StockReservation::forEvent)
+                            .collectList()
+                            .flatMap(stockReservationRepository::saveAll)
+                            .then(orderChangeFeed.publish(savedOrders.stream()
+                                    .map(savedOrder -> OrderChangeEvent.of(OrderChangeEvent.CREATED, savedOrder.getOrder()))
+                                    .collect(Collectors.toList())))
+                            .then(Mono.defer(() -> beforeCommit.apply(savedOrders)));
+                })
+                .as(transactionalOperator::transactional);
+    }
+
     @Override
     public Mono<OrderResponseDTO> getOrderById(String orderId) {
-        log.info("Fetching order with ID: {}", orderId);
+        return getOrderById(orderId, OrderView.FULL);
+    }
+
+    @Override
+    public Mono<OrderResponseDTO> getOrderById(String orderId, OrderView view) {
+        return findOrder(orderId, view).transformDeferred(orderMetrics.timed("getOrderById"));
+    }
+
+    private Mono<OrderResponseDTO> findOrder(String orderId, OrderView view) {
+        log.info("Fetching order with ID: {} ({} view)", orderId, view);
         UUID orderUuid;
         try {
             orderUuid = UUID.fromString(orderId);
         } catch (IllegalArgumentException e) {
             return Mono.error(new InvalidOrderDataException("Invalid order ID format: " + orderId));
         }
-        return orderRepository.findById(orderUuid)
+        if (view == OrderView.SUMMARY) {
+            return orderRepository.findById(orderUuid)
+                    .switchIfEmpty(Mono.error(new OrderNotFoundException("Order with ID " + orderId + " not found.")))
+                    .map(this::toOrderSummaryDTO);
+        }
+        return orderQueryRepository.findAggregateById(orderUuid)
                 .switchIfEmpty(Mono.error(new OrderNotFoundException("Order with ID " + orderId + " not found.")))
-                .flatMap(this::buildOrderResponseDTO);
+                .flatMap(this::buildAggregateResponseDTO);
     }
 
     @Override
     public Flux<OrderResponseDTO> getOrdersByUserId(String userId) {
-        log.info("Fetching orders for user ID: {}", userId);
+        return getOrdersByUserId(userId, OrderView.FULL);
+    }
+
+    @Override
+    public Flux<OrderResponseDTO> getOrdersByUserId(String userId, OrderView view) {
+        return findOrdersByUser(userId, view).transformDeferred(orderMetrics.timedMany("getOrdersByUserId"));
+    }
+
+    private Flux<OrderResponseDTO> findOrdersByUser(String userId, OrderView view) {
+        log.info("Fetching orders for user ID: {} ({} view)", userId, view);
         UUID userUuid;
         try {
             userUuid = UUID.fromString(userId);
         } catch (IllegalArgumentException e) {
             return Flux.error(new InvalidOrderDataException("Invalid user ID format: " + userId));
         }
-        return orderRepository.findByUserId(userUuid)
-                .flatMap(this::buildOrderResponseDTO);
+        if (view == OrderView.SUMMARY) {
+            return orderRepository.findByUserId(userUuid).map(this::toOrderSummaryDTO);
+        }
+        return buildOrderResponseDTOs(orderQueryRepository.findAggregatesByUserId(userUuid));
+    }
+
+    @Override
+    public Mono<String> getOrderETag(String orderId, OrderView view) {
+        return findOrderETag(orderId, view).transformDeferred(orderMetrics.timed("getOrderETag"));
+    }
+
+    private Mono<String> findOrderETag(String orderId, OrderView view) {
+        UUID orderUuid;
+        try {
+            orderUuid = UUID.fromString(orderId);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new InvalidOrderDataException("Invalid order ID format: " + orderId));
+        }
+        return orderQueryRepository.findVersionById(orderUuid)
+                .switchIfEmpty(Mono.error(new OrderNotFoundException("Order with ID " + orderId + " not found.")))
+                .map(version -> OrderVersion.etag(view, List.of(version)));
+    }
+
+    @Override
+    public Mono<String> getOrdersByUserIdETag(String userId, OrderView view) {
+        return findOrdersByUserETag(userId, view).transformDeferred(orderMetrics.timed("getOrdersByUserIdETag"));
+    }
+
+    private Mono<String> findOrdersByUserETag(String userId, OrderView view) {
+        UUID userUuid;
+        try {
+            userUuid = UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new InvalidOrderDataException("Invalid user ID format: " + userId));
+        }
+        return orderQueryRepository.findVersionsByUserId(userUuid)
+                .collectList()
+                .map(versions -> OrderVersion.etag(view, versions));
     }
 
     @Override
     public Mono<OrderResponseDTO> updateOrderStatus(String orderId, String newStatus) {
+        return changeOrderStatus(orderId, newStatus).transformDeferred(orderMetrics.timed("updateOrderStatus"));
+    }
+
+    private Mono<OrderResponseDTO> changeOrderStatus(String orderId, String newStatus) {
         log.info("Updating status for order ID: {} to {}", orderId, newStatus);
         UUID orderUuid;
         try {
@@ -194,18 +489,32 @@ public class OrderManagementUseCase implements IOrderManagement {
         } catch (IllegalArgumentException e) {
             return Mono.error(new InvalidOrderDataException("Invalid order ID format: " + orderId));
         }
-        return orderRepository.findById(orderUuid)
-                .switchIfEmpty(Mono.error(new OrderNotFoundException("Order with ID " + orderId + " not found.")))
-                .flatMap(order -> {
-                    order.setStatus(newStatus);
-                    order.setUpdatedAt(Instant.now());
-                    return orderRepository.save(order);
-                })
+        if (!OrderStatus.isKnown(newStatus)) {
+            return Mono.error(new InvalidOrderDataException("Unknown order status: " + newStatus));
+        }
+        // Both give the order's stock back, which only the cancel path and the outbox relay do
+        if (OrderStatus.CANCELLED.equals(newStatus) || OrderStatus.FAILED.equals(newStatus)) {
+            return Mono.error(new InvalidStatusTransitionException(
+                    "Order " + orderId + " cannot be moved to " + newStatus + " by a status update; cancel it instead"));
+        }
+        return orderRepository.transitionStatus(orderUuid, OrderStatus.sourcesOf(newStatus), newStatus, Instant.now())
+                .doOnNext(updated -> orderResponseCache.invalidate(orderUuid))
+                .flatMap(updated -> publishChange(OrderChangeEvent.of(OrderChangeEvent.STATUS_CHANGED, updated)).thenReturn(updated))
+                .switchIfEmpty(Mono.defer(() -> orderRepository.findById(orderUuid)
+                        .switchIfEmpty(Mono.error(new OrderNotFoundException("Order with ID " + orderId + " not found.")))
+                        .flatMap(order -> newStatus.equals(order.getStatus())
+                                ? Mono.just(order)
+                                : Mono.error(new InvalidStatusTransitionException(
+                                        "Order " + orderId + " cannot move from " + order.getStatus() + " to " + newStatus)))))
                 .flatMap(this::buildOrderResponseDTO);
     }
 
     @Override
     public Mono<Void> cancelOrder(String orderId) {
+        return cancel(orderId).transformDeferred(orderMetrics.timed("cancelOrder"));
+    }
+
+    private Mono<Void> cancel(String orderId) {
         log.info("Attempting to cancel order with ID: {}", orderId);
         UUID orderUuid;
         try {
@@ -213,74 +522,274 @@ public class OrderManagementUseCase implements IOrderManagement {
         } catch (IllegalArgumentException e) {
             return Mono.error(new InvalidOrderDataException("Invalid order ID format: " + orderId));
         }
-        return orderRepository.findById(orderUuid)
-                .switchIfEmpty(Mono.error(new OrderNotFoundException("Order with ID " + orderId + " not found.")))
+        // The status flip and the outbox compensation commit together, so only the caller that wins the conditional
+        // UPDATE compensates. Pending decrements are cancelled; dispatched ones get a restore the relay retries until it lands
+        return orderRepository.transitionStatus(orderUuid, OrderStatus.sourcesOf(OrderStatus.CANCELLED), OrderStatus.CANCELLED, Instant.now())
+                .flatMap(order -> orderOutboxRepository.compensateOrder(order.getId())
+                        .then(stockReservationRepository.releaseOrder(order.getId()))
+                        .thenReturn(order))
+                .as(transactionalOperator::transactional)
                 .flatMap(order -> {
-                    if (!"CANCELLED".equals(order.getStatus()) && !"DELIVERED".equals(order.getStatus())) {
-                        order.setStatus("CANCELLED");
-                        order.setUpdatedAt(Instant.now());
-                        return orderRepository.save(order)
-                                .then(orderItemRepository.findByOrderId(order.getId())
-                                        .flatMap(item -> productServiceClient.increaseProductStock(item.getProductId(), item.getQuantity()))
-                                        .then()
-                                );
-                    } else {
-                        log.warn("Order {} cannot be cancelled in status: {}", orderId, order.getStatus());
-                        return Mono.empty();
-                    }
+                    orderResponseCache.invalidate(orderUuid);
+                    // Restores of already dispatched decrements land later; the ledger reconciler corrects the gap meanwhile
+                    return orderItemRepository.findByOrderId(order.getId())
+                            .collectList()
+                            .doOnNext(items -> stockLedger.release(quantitiesByProduct(items)))
+                            .then(publishChange(OrderChangeEvent.of(OrderChangeEvent.CANCELLED, order)))
+                            .thenReturn(order);
                 })
+                .switchIfEmpty(Mono.defer(() -> orderRepository.findById(orderUuid)
+                        .switchIfEmpty(Mono.error(new OrderNotFoundException("Order with ID " + orderId + " not found.")))
+                        .flatMap(order -> {
+                            log.warn("Order {} cannot be cancelled in status: {}", orderId, order.getStatus());
+                            return Mono.empty();
+                        })))
                 .then();
     }
 
+    @Override
+    public Flux<OrderChangeEventDTO> streamOrderChanges(String userId) {
+        UUID userUuid = null;
+        if (userId != null) {
+            try {
+                userUuid = UUID.fromString(userId);
+            } catch (IllegalArgumentException e) {
+                return Flux.error(new InvalidOrderDataException("Invalid user ID format: " + userId));
+            }
+        }
+        UUID subscribedUserId = userUuid;
+        // Each subscriber gets its own bounded buffer so a slow client drops its oldest events instead of stalling the shared feed
+        return orderChangeFeed.changes()
+                .filter(event -> subscribedUserId == null || subscribedUserId.equals(event.getUserId()))
+                .onBackpressureBuffer(changeStreamBufferSize,
+                        dropped -> orderMetrics.recordDropped("streamOrderChanges", "change_events"),
+                        BufferOverflowStrategy.DROP_OLDEST)
+                .map(orderMapper::toOrderChangeEventDTO);
+    }
+
+    // Only called once the change has committed on its own, so a lost event must not fail the request
+    private Mono<Void> publishChange(OrderChangeEvent event) {
+        return orderChangeFeed.publish(List.of(event))
+                .onErrorResume(e -> {
+                    log.warn("Failed to publish {} event for order {}: {}", event.getType(), event.getOrderId(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
     @Override
     public Flux<OrderResponseDTO> getAllOrders() {
-        log.info("Fetching all orders.");
-        return orderRepository.findAll()
-                .flatMap(this::buildOrderResponseDTO);
+        return getAllOrders(OrderView.FULL);
     }
 
-    private Mono<OrderResponseDTO> buildOrderResponseDTO(Order order) {
-        Mono<OrderAddress> shippingAddressMono = Mono.justOrEmpty(order.getShippingAddressId())
-                .flatMap(orderAddressRepository::findById)
-                .defaultIfEmpty(new OrderAddress());
-
-        Mono<OrderAddress> billingAddressMono = Mono.justOrEmpty(order.getBillingAddressId())
-                .flatMap(orderAddressRepository::findById)
-                .defaultIfEmpty(new OrderAddress());
-
-        Flux<OrderItem> orderItemsFlux = orderItemRepository.findByOrderId(order.getId());
-        Mono<Shipment> shipmentMono = shipmentRepository.findByOrderId(order.getId())
-                .defaultIfEmpty(new Shipment());
-
-        return Mono.zip(shippingAddressMono, billingAddressMono, orderItemsFlux.collectList(), shipmentMono)
-                .flatMap(tuple -> {
-                    OrderAddress shippingAddress = tuple.getT1();
-                    OrderAddress billingAddress = tuple.getT2();
-                    List<OrderItem> items = tuple.getT3();
-                    Shipment shipment = tuple.getT4();
-
-                    OrderResponseDTO responseDTO = orderMapper.toOrderResponseDTO(order);
-                    responseDTO.setShippingAddress(orderMapper.toOrderAddressDTO(shippingAddress));
-                    responseDTO.setBillingAddress(orderMapper.toOrderAddressDTO(billingAddress));
-                    responseDTO.setShipment(orderMapper.toShipmentDTO(shipment));
-
-                    return Flux.fromIterable(items)
-                            .flatMap(item -> productServiceClient.getProductDetails(item.getProductId())
-                                    .map(productDetails -> {
-                                        OrderItemResponseDTO itemDTO = orderMapper.toOrderItemResponseDTO(item);
-                                        itemDTO.setProductName(productDetails.getName());
-                                        return itemDTO;
-                                    })
-                                    .onErrorResume(e -> {
-                                        log.error("Could not fetch product details for item {}: {}", item.getProductId(), e.getMessage());
-                                        OrderItemResponseDTO itemDTO = orderMapper.toOrderItemResponseDTO(item);
-                                        itemDTO.setProductName("Product Name Unavailable");
-                                        return Mono.just(itemDTO);
-                                    })
-                            )
+    @Override
+    public Flux<OrderResponseDTO> getAllOrders(OrderView view) {
+        return findAllOrders(view).transformDeferred(orderMetrics.timedMany("getAllOrders"));
+    }
+
+    private Flux<OrderResponseDTO> findAllOrders(OrderView view) {
+        log.info("Fetching all orders ({} view).", view);
+        if (view == OrderView.SUMMARY) {
+            return orderRepository.findAll().map(this::toOrderSummaryDTO);
+        }
+        return buildOrderResponseDTOs(orderQueryRepository.findAllAggregates());
+    }
+
+    @Override
+    public Mono<OrderPageResponseDTO> getOrdersPage(String cursor, int limit) {
+        return getOrdersPage(cursor, limit, OrderView.FULL);
+    }
+
+    @Override
+    public Mono<OrderPageResponseDTO> getOrdersPage(String cursor, int limit, OrderView view) {
+        return findOrdersPage(cursor, limit, view).transformDeferred(orderMetrics.timed("getOrdersPage"));
+    }
+
+    private Mono<OrderPageResponseDTO> findOrdersPage(String cursor, int limit, OrderView view) {
+        log.info("Fetching orders page (limit {}) after cursor: {}", limit, cursor);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidOrderDataException("Page limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        OrderPageCursor after;
+        try {
+            after = cursor != null && !cursor.isBlank() ? OrderPageCursor.decode(cursor) : null;
+        } catch (InvalidOrderDataException e) {
+            return Mono.error(e);
+        }
+        return loadPage(null, after, limit, view);
+    }
+
+    @Override
+    public Mono<OrderPageResponseDTO> getOrdersPageByUserId(String userId, String cursor, int limit) {
+        return getOrdersPageByUserId(userId, cursor, limit, OrderView.FULL);
+    }
+
+    @Override
+    public Mono<OrderPageResponseDTO> getOrdersPageByUserId(String userId, String cursor, int limit, OrderView view) {
+        return findOrdersPageByUser(userId, cursor, limit, view).transformDeferred(orderMetrics.timed("getOrdersPageByUserId"));
+    }
+
+    private Mono<OrderPageResponseDTO> findOrdersPageByUser(String userId, String cursor, int limit, OrderView view) {
+        log.info("Fetching orders page (limit {}) for user ID: {} after cursor: {}", limit, userId, cursor);
+        UUID userUuid;
+        try {
+            userUuid = UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new InvalidOrderDataException("Invalid user ID format: " + userId));
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidOrderDataException("Page limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        OrderPageCursor after;
+        try {
+            after = cursor != null && !cursor.isBlank() ? OrderPageCursor.decode(cursor) : null;
+        } catch (InvalidOrderDataException e) {
+            return Mono.error(e);
+        }
+        return loadPage(userUuid, after, limit, view);
+    }
+
+    @Override
+    public Flux<OrderResponseDTO> streamAllOrders() {
+        return streamAllOrders(OrderView.FULL);
+    }
+
+    @Override
+    public Flux<OrderResponseDTO> streamAllOrders(OrderView view) {
+        return streamOrders(view).transformDeferred(orderMetrics.timedMany("streamAllOrders"));
+    }
+
+    private Flux<OrderResponseDTO> streamOrders(OrderView view) {
+        log.info("Streaming all orders ({} view).", view);
+        return streamPages(null, view);
+    }
+
+    @Override
+    public Flux<OrderResponseDTO> streamOrdersByUserId(String userId) {
+        return streamOrdersByUserId(userId, OrderView.FULL);
+    }
+
+    @Override
+    public Flux<OrderResponseDTO> streamOrdersByUserId(String userId, OrderView view) {
+        return streamOrdersByUser(userId, view).transformDeferred(orderMetrics.timedMany("streamOrdersByUserId"));
+    }
+
+    private Flux<OrderResponseDTO> streamOrdersByUser(String userId, OrderView view) {
+        log.info("Streaming orders for user ID: {} ({} view)", userId, view);
+        UUID userUuid;
+        try {
+            userUuid = UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            return Flux.error(new InvalidOrderDataException("Invalid user ID format: " + userId));
+        }
+        return streamPages(userUuid, view);
+    }
+
+    private Flux<OrderResponseDTO> streamPages(UUID userId, OrderView view) {
+        return loadPage(userId, null, STREAM_PAGE_SIZE, view)
+                .expand(page -> page.getNextCursor() == null
+                        ? Mono.empty()
+                        : loadPage(userId, OrderPageCursor.decode(page.getNextCursor()), STREAM_PAGE_SIZE, view))
+                .concatMapIterable(OrderPageResponseDTO::getItems, 1);
+    }
+
+    private Mono<OrderPageResponseDTO> loadPage(UUID userId, OrderPageCursor after, int limit, OrderView view) {
+        if (view == OrderView.SUMMARY) {
+            return orderQueryRepository.findOrderPage(userId, after, limit + 1)
+                    .collectList()
+                    .map(orders -> {
+                        boolean hasNext = orders.size() > limit;
+                        List<Order> pageOrders = hasNext ? orders.subList(0, limit) : orders;
+                        return OrderPageResponseDTO.builder()
+                                .items(pageOrders.stream()
+                                        .map(this::toOrderSummaryDTO)
+                                        .collect(Collectors.toList()))
+                                .nextCursor(hasNext ? OrderPageCursor.after(pageOrders.get(limit - 1)).encode() : null)
+                                .build();
+                    });
+        }
+        return orderQueryRepository.findAggregatePage(userId, after, limit + 1)
+                .collectList()
+                .flatMap(aggregates -> {
+                    boolean hasNext = aggregates.size() > limit;
+                    List<OrderAggregate> pageAggregates = hasNext ? aggregates.subList(0, limit) : aggregates;
+                    String nextCursor = hasNext
+                            ? OrderPageCursor.after(pageAggregates.get(limit - 1).getOrder()).encode()
+                            : null;
+                    return buildOrderResponseDTOs(Flux.fromIterable(pageAggregates))
                             .collectList()
-                            .doOnNext(responseDTO::setItems)
-                            .thenReturn(responseDTO);
+                            .map(items -> OrderPageResponseDTO.builder()
+                                    .items(items)
+                                    .nextCursor(nextCursor)
+                                    .build());
+                });
+    }
+
+    private Mono<OrderResponseDTO> buildOrderResponseDTO(Order order) {
+        return orderQueryRepository.loadAggregate(order)
+                .transformDeferred(orderMetrics.timedStage("buildOrderResponseDTO", "load_aggregate"))
+                .flatMap(this::buildAggregateResponseDTO);
+    }
+
+    private Mono<OrderResponseDTO> buildAggregateResponseDTO(OrderAggregate aggregate) {
+        return resolveProductNames(List.of(aggregate))
+                .transformDeferred(orderMetrics.timedStage("buildOrderResponseDTO", "resolve_product_names"))
+                .map(productNames -> toOrderResponseDTO(aggregate, productNames));
+    }
+
+    private Flux<OrderResponseDTO> buildOrderResponseDTOs(Flux<OrderAggregate> aggregates) {
+        return aggregates.buffer(RESPONSE_BATCH_SIZE)
+                .concatMap(batch -> resolveProductNames(batch)
+                        .transformDeferred(orderMetrics.timedStage("buildOrderResponseDTOs", "resolve_product_names"))
+                        .flatMapIterable(productNames -> batch.stream()
+                                .map(aggregate -> toOrderResponseDTO(aggregate, productNames))
+                                .collect(Collectors.toList())));
+    }
+
+    private Mono<Map<UUID, String>> resolveProductNames(List<OrderAggregate> aggregates) {
+        Set<UUID> productIds = aggregates.stream()
+                .flatMap(aggregate -> aggregate.getItems().stream())
+                .filter(item -> item.getProductName() == null)
+                .map(OrderItem::getProductId)
+                .collect(Collectors.toSet());
+        if (productIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        orderMetrics.recordFanout("resolveProductNames", "products", productIds.size());
+        return productServiceClient.getProductDetailsBatch(productIds)
+                .map(productDetailsById -> productDetailsById.entrySet().stream()
+                        .filter(entry -> entry.getValue().getName() != null)
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getName())))
+                .onErrorResume(e -> {
+                    log.error("Could not fetch product details for {} products: {}", productIds.size(), e.getMessage());
+                    return Mono.just(Map.of());
                 });
     }
-}
\ No newline at end of file
+
+    private OrderResponseDTO toOrderSummaryDTO(Order order) {
+        return orderMapper.toOrderResponseDTO(order);
+    }
+
+    private OrderResponseDTO toOrderResponseDTO(OrderAggregate aggregate, Map<UUID, String> productNames) {
+        OrderAddress shippingAddress = aggregate.getShippingAddress() != null ? aggregate.getShippingAddress() : new OrderAddress();
+        OrderAddress billingAddress = aggregate.getBillingAddress() != null ? aggregate.getBillingAddress() : new OrderAddress();
+        Shipment shipment = aggregate.getShipment() != null ? aggregate.getShipment() : new Shipment();
+
+        OrderResponseDTO responseDTO = orderMapper.toOrderResponseDTO(aggregate.getOrder());
+        responseDTO.setShippingAddress(orderMapper.toOrderAddressDTO(shippingAddress));
+        responseDTO.setBillingAddress(orderMapper.toOrderAddressDTO(billingAddress));
+        responseDTO.setShipment(orderMapper.toShipmentDTO(shipment));
+        responseDTO.setItems(aggregate.getItems().stream()
+                .map(item -> {
+                    OrderItemResponseDTO itemDTO = orderMapper.toOrderItemResponseDTO(item);
+                    String productName = item.getProductName() != null ? item.getProductName() : productNames.get(item.getProductId());
+                    if (productName == null) {
+                        productName = PRODUCT_NAME_UNAVAILABLE;
+                        responseDTO.setProductNamesIncomplete(true);
+                    }
+                    itemDTO.setProductName(productName);
+                    return itemDTO;
+                })
+                .collect(Collectors.toList()));
+        return responseDTO;
+    }
+}
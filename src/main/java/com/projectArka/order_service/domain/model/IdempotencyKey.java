@@ -0,0 +1,32 @@
+package com.projectArka.order_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class IdempotencyKey {
+
+    public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    private String key;
+    private String requestHash;
+    private String status;
+    private UUID claimId;
+    private UUID orderId;
+    private String responseBody;
+    private Instant createdAt;
+    private Instant expiresAt;
+
+    public boolean isCompleted() {
+        return STATUS_COMPLETED.equals(status);
+    }
+}
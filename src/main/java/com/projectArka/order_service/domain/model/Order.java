@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -42,4 +43,7 @@ public class Order {
 
     @Column("updated_at")
     private Instant updatedAt;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.projectArka.order_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class OrderAggregate {
+    private Order order;
+    private OrderAddress shippingAddress;
+    private OrderAddress billingAddress;
+    private List<OrderItem> items;
+    private Shipment shipment;
+}
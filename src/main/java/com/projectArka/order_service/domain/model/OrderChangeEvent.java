@@ -0,0 +1,30 @@
+package com.projectArka.order_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderChangeEvent {
+    public static final String CREATED = "CREATED";
+    public static final String STATUS_CHANGED = "STATUS_CHANGED";
+    public static final String CANCELLED = "CANCELLED";
+
+    private String type;
+    private UUID orderId;
+    private UUID userId;
+    private String status;
+    private Instant occurredAt;
+
+    public static OrderChangeEvent of(String type, Order order) {
+        return new OrderChangeEvent(type, order.getId(), order.getUserId(), order.getStatus(),
+                order.getUpdatedAt() != null ? order.getUpdatedAt() : Instant.now());
+    }
+}
@@ -0,0 +1,70 @@
+package com.projectArka.order_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("order_outbox")
+public class OrderOutboxEvent {
+
+    public static final String STOCK_DECREMENT = "STOCK_DECREMENT";
+    public static final String STOCK_INCREMENT = "STOCK_INCREMENT";
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_DISPATCHED = "DISPATCHED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+    public static final String STATUS_COMPENSATED = "COMPENSATED";
+
+    @Id
+    private UUID id;
+
+    @Column("order_id")
+    private UUID orderId;
+
+    @Column("event_type")
+    private String eventType;
+
+    @Column("product_id")
+    private UUID productId;
+
+    private Integer quantity;
+    private String status;
+    private Integer attempts;
+
+    @Column("next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column("last_error")
+    private String lastError;
+
+    @Column("created_at")
+    private Instant createdAt;
+
+    @Column("processed_at")
+    private Instant processedAt;
+
+    public static OrderOutboxEvent stockDecrement(UUID orderId, UUID productId, int quantity) {
+        Instant now = Instant.now();
+        return OrderOutboxEvent.builder()
+                .orderId(orderId)
+                .eventType(STOCK_DECREMENT)
+                .productId(productId)
+                .quantity(quantity)
+                .status(STATUS_PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.projectArka.order_service.domain.model;
+
+import com.projectArka.order_service.domain.exception.InvalidOrderDataException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private Instant createdAt;
+    private UUID id;
+
+    public static OrderPageCursor after(Order order) {
+        return new OrderPageCursor(order.getCreatedAt(), order.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderPageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidOrderDataException("Invalid page cursor: " + cursor);
+            }
+            return new OrderPageCursor(Instant.parse(raw.substring(0, separatorIndex)), UUID.fromString(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidOrderDataException("Invalid page cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.projectArka.order_service.domain.model;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class OrderStatus {
+    public static final String PENDING = "PENDING";
+    public static final String CONFIRMED = "CONFIRMED";
+    public static final String PROCESSING = "PROCESSING";
+    public static final String SHIPPED = "SHIPPED";
+    public static final String DELIVERED = "DELIVERED";
+    public static final String CANCELLED = "CANCELLED";
+    public static final String FAILED = "FAILED";
+
+    // Allowed moves, keyed by the current status; DELIVERED, CANCELLED and FAILED are terminal
+    private static final Map<String, Set<String>> TRANSITIONS = Map.of(
+            PENDING, Set.of(CONFIRMED, PROCESSING, SHIPPED, CANCELLED, FAILED),
+            CONFIRMED, Set.of(PROCESSING, SHIPPED, CANCELLED, FAILED),
+            PROCESSING, Set.of(SHIPPED, CANCELLED, FAILED),
+            SHIPPED, Set.of(DELIVERED, CANCELLED, FAILED),
+            DELIVERED, Set.of(),
+            CANCELLED, Set.of(),
+            FAILED, Set.of());
+
+    private OrderStatus() {
+    }
+
+    public static boolean isKnown(String status) {
+        return status != null && TRANSITIONS.containsKey(status);
+    }
+
+    public static boolean canTransition(String from, String to) {
+        return TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    public static Set<String> sourcesOf(String to) {
+        return TRANSITIONS.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(to))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
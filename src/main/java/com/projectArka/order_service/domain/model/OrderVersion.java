@@ -0,0 +1,48 @@
+package com.projectArka.order_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderVersion {
+
+    private static final String SEPARATOR = "|";
+    private static final int ETAG_BYTES = 16;
+
+    private UUID orderId;
+    private Instant updatedAt;
+    private Instant shipmentUpdatedAt;
+    private Instant itemsUpdatedAt;
+
+    // Strong ETag over the view and every (order, shipment, items) timestamp, in the order given
+    public static String etag(OrderView view, List<OrderVersion> versions) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update(view.name().getBytes(StandardCharsets.UTF_8));
+        for (OrderVersion version : versions) {
+            String raw = SEPARATOR + version.getOrderId() + SEPARATOR + version.getUpdatedAt() + SEPARATOR + version.getShipmentUpdatedAt()
+                    + SEPARATOR + version.getItemsUpdatedAt();
+            digest.update(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] hash = Arrays.copyOf(digest.digest(), ETAG_BYTES);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+    }
+}
@@ -0,0 +1,21 @@
+package com.projectArka.order_service.domain.model;
+
+import com.projectArka.order_service.domain.exception.InvalidOrderDataException;
+
+import java.util.Locale;
+
+public enum OrderView {
+    SUMMARY,
+    FULL;
+
+    public static OrderView parse(String view) {
+        if (view == null || view.isBlank()) {
+            return FULL;
+        }
+        try {
+            return valueOf(view.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOrderDataException("Invalid order view: " + view + " (expected summary or full)");
+        }
+    }
+}
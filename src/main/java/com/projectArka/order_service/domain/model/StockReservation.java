@@ -0,0 +1,53 @@
+package com.projectArka.order_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("stock_reservation")
+public class StockReservation {
+
+    public static final String STATUS_RESERVED = "RESERVED";
+    public static final String STATUS_SETTLED = "SETTLED";
+    public static final String STATUS_RELEASED = "RELEASED";
+
+    @Id
+    private UUID id;
+
+    @Column("order_id")
+    private UUID orderId;
+
+    @Column("product_id")
+    private UUID productId;
+
+    private Integer quantity;
+    private String status;
+
+    @Column("created_at")
+    private Instant createdAt;
+
+    @Column("settled_at")
+    private Instant settledAt;
+
+    public static StockReservation forEvent(OrderOutboxEvent event) {
+        return StockReservation.builder()
+                .id(event.getId())
+                .orderId(event.getOrderId())
+                .productId(event.getProductId())
+                .quantity(event.getQuantity())
+                .status(STATUS_RESERVED)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
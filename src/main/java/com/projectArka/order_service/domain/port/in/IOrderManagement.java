@@ -1,15 +1,35 @@
 package com.projectArka.order_service.domain.port.in;
 
+import com.projectArka.order_service.application.dto.BulkOrderResultDTO;
+import com.projectArka.order_service.application.dto.OrderChangeEventDTO;
+import com.projectArka.order_service.application.dto.OrderPageResponseDTO;
 import com.projectArka.order_service.application.dto.OrderRequestDTO;
 import com.projectArka.order_service.application.dto.OrderResponseDTO;
+import com.projectArka.order_service.domain.model.OrderView;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
 public interface IOrderManagement {
     Mono<OrderResponseDTO> createOrder(OrderRequestDTO requestDTO);
+    Mono<OrderResponseDTO> createOrder(OrderRequestDTO requestDTO, String idempotencyKey);
+    Flux<BulkOrderResultDTO> createOrdersBulk(Flux<OrderRequestDTO> requests);
     Mono<OrderResponseDTO> getOrderById(String orderId);
+    Mono<OrderResponseDTO> getOrderById(String orderId, OrderView view);
     Flux<OrderResponseDTO> getOrdersByUserId(String userId);
+    Flux<OrderResponseDTO> getOrdersByUserId(String userId, OrderView view);
+    Mono<String> getOrderETag(String orderId, OrderView view);
+    Mono<String> getOrdersByUserIdETag(String userId, OrderView view);
     Mono<OrderResponseDTO> updateOrderStatus(String orderId, String newStatus);
     Mono<Void> cancelOrder(String orderId);
     Flux<OrderResponseDTO> getAllOrders();
+    Flux<OrderResponseDTO> getAllOrders(OrderView view);
+    Mono<OrderPageResponseDTO> getOrdersPage(String cursor, int limit);
+    Mono<OrderPageResponseDTO> getOrdersPage(String cursor, int limit, OrderView view);
+    Mono<OrderPageResponseDTO> getOrdersPageByUserId(String userId, String cursor, int limit);
+    Mono<OrderPageResponseDTO> getOrdersPageByUserId(String userId, String cursor, int limit, OrderView view);
+    Flux<OrderResponseDTO> streamAllOrders();
+    Flux<OrderResponseDTO> streamAllOrders(OrderView view);
+    Flux<OrderResponseDTO> streamOrdersByUserId(String userId);
+    Flux<OrderResponseDTO> streamOrdersByUserId(String userId, OrderView view);
+    Flux<OrderChangeEventDTO> streamOrderChanges(String userId);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.projectArka.order_service.domain.port.out;
+
+import com.projectArka.order_service.domain.model.IdempotencyKey;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface IIdempotencyKeyRepository {
+    Mono<Boolean> claim(String key, String requestHash, UUID claimId, Instant now, Instant expiresAt);
+    Mono<IdempotencyKey> findByKey(String key, Instant now);
+    Mono<Boolean> complete(String key, UUID claimId, UUID orderId, String responseBody, Instant expiresAt);
+    Mono<Void> release(String key, UUID claimId);
+    Mono<Long> deleteExpired(Instant now, int limit);
+}
@@ -0,0 +1,12 @@
+package com.projectArka.order_service.domain.port.out;
+
+import com.projectArka.order_service.domain.model.OrderChangeEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface IOrderChangeFeed {
+    Mono<Void> publish(List<OrderChangeEvent> events);
+    Flux<OrderChangeEvent> changes();
+}
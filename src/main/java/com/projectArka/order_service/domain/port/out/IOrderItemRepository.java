@@ -4,6 +4,7 @@ import com.projectArka.order_service.domain.model.OrderItem;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface IOrderItemRepository {
@@ -13,4 +14,6 @@ public interface IOrderItemRepository {
     Flux<OrderItem> findByOrderId(UUID orderId);
     Mono<Void> deleteById(UUID id);
     Mono<Void> deleteByOrderId(UUID orderId);
+    Flux<OrderItem> findMissingProductSnapshot(UUID afterId, int limit);
+    Mono<Long> updateProductSnapshots(List<OrderItem> items);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.projectArka.order_service.domain.port.out;
+
+import com.projectArka.order_service.domain.model.OrderOutboxEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface IOrderOutboxRepository {
+    Flux<OrderOutboxEvent> saveAll(Iterable<OrderOutboxEvent> events);
+    Flux<OrderOutboxEvent> claimBatch(int limit, Duration lease);
+    Flux<UUID> markDispatched(Collection<UUID> ids);
+    Mono<Void> reschedule(UUID id, Instant nextAttemptAt, String error);
+    Mono<Void> markFailed(UUID id, String error);
+    Mono<Void> compensateOrder(UUID orderId);
+    Mono<Void> compensateEvents(Collection<UUID> ids);
+    Flux<OrderOutboxEvent> findByOrderId(UUID orderId);
+    Mono<Boolean> requeueFailedCompensation(UUID id);
+}
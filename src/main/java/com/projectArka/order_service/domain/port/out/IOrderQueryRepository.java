@@ -0,0 +1,21 @@
+package com.projectArka.order_service.domain.port.out;
+
+import com.projectArka.order_service.domain.model.Order;
+import com.projectArka.order_service.domain.model.OrderAggregate;
+import com.projectArka.order_service.domain.model.OrderPageCursor;
+import com.projectArka.order_service.domain.model.OrderVersion;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface IOrderQueryRepository {
+    Mono<OrderAggregate> findAggregateById(UUID orderId);
+    Mono<OrderAggregate> loadAggregate(Order order);
+    Flux<OrderAggregate> findAllAggregates();
+    Flux<OrderAggregate> findAggregatesByUserId(UUID userId);
+    Flux<OrderAggregate> findAggregatePage(UUID userId, OrderPageCursor after, int limit);
+    Flux<Order> findOrderPage(UUID userId, OrderPageCursor after, int limit);
+    Mono<OrderVersion> findVersionById(UUID orderId);
+    Flux<OrderVersion> findVersionsByUserId(UUID userId);
+}
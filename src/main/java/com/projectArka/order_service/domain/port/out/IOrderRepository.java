@@ -1,14 +1,19 @@
 package com.projectArka.order_service.domain.port.out;
 
 import com.projectArka.order_service.domain.model.Order;
+import com.projectArka.order_service.domain.model.OrderAggregate;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
+import java.time.Instant;
+import java.util.Set;
 import java.util.UUID;
 
 public interface IOrderRepository {
     Mono<Order> save(Order order);
+    Mono<OrderAggregate> insertAggregate(OrderAggregate aggregate);
     Mono<Order> findById(UUID id);
+    Mono<Order> transitionStatus(UUID id, Set<String> fromStatuses, String toStatus, Instant updatedAt);
     Flux<Order> findAll();
     Flux<Order> findByUserId(UUID userId);
     Mono<Void> deleteById(UUID id);
@@ -0,0 +1,16 @@
+package com.projectArka.order_service.domain.port.out;
+
+import com.projectArka.order_service.domain.model.StockReservation;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface IStockReservationRepository {
+    Mono<Void> saveAll(Iterable<StockReservation> reservations);
+    Mono<Map<UUID, Long>> sumReservedByProductIds(Collection<UUID> productIds);
+    Mono<Void> markSettled(Collection<UUID> ids);
+    Mono<Void> markReleased(UUID id);
+    Mono<Void> releaseOrder(UUID orderId);
+}
@@ -0,0 +1,32 @@
+package com.projectArka.order_service.infrastructure.adapter.in.actuator;
+
+import com.projectArka.order_service.domain.model.OrderOutboxEvent;
+import com.projectArka.order_service.domain.port.out.IOrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@Endpoint(id = "orderstock")
+@RequiredArgsConstructor
+public class OrderStockEndpoint {
+
+    private final IOrderOutboxRepository outboxRepository;
+
+    @ReadOperation
+    public Mono<List<OrderOutboxEvent>> stockOutcomes(@Selector String orderId) {
+        return outboxRepository.findByOrderId(UUID.fromString(orderId)).collectList();
+    }
+
+    @WriteOperation
+    public Mono<Boolean> requeueCompensation(@Selector String eventId) {
+        return outboxRepository.requeueFailedCompensation(UUID.fromString(eventId));
+    }
+}
@@ -0,0 +1,23 @@
+package com.projectArka.order_service.infrastructure.adapter.in.actuator;
+
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IProductServiceClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@Endpoint(id = "productcache")
+@RequiredArgsConstructor
+public class ProductCacheEndpoint {
+
+    private final IProductServiceClient productServiceClient;
+
+    @DeleteOperation
+    public void evictProduct(@Selector String productId) {
+        productServiceClient.evictProductDetails(UUID.fromString(productId));
+    }
+}
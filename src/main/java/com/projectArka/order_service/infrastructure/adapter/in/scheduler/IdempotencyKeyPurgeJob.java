@@ -0,0 +1,48 @@
+package com.projectArka.order_service.infrastructure.adapter.in.scheduler;
+
+import com.projectArka.order_service.domain.port.out.IIdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Component
+@ConditionalOnProperty(name = "orders.idempotency.purge.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class IdempotencyKeyPurgeJob {
+
+    private final IIdempotencyKeyRepository idempotencyKeyRepository;
+    private final int batchSize;
+    private final int batchesPerRun;
+
+    public IdempotencyKeyPurgeJob(
+            IIdempotencyKeyRepository idempotencyKeyRepository,
+            @Value("${orders.idempotency.purge.batch-size:1000}") int batchSize,
+            @Value("${orders.idempotency.purge.batches-per-run:10}") int batchesPerRun) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.batchSize = batchSize;
+        this.batchesPerRun = batchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge.interval-ms:60000}")
+    public Mono<Void> purge() {
+        return Mono.defer(() -> idempotencyKeyRepository.deleteExpired(Instant.now(), batchSize))
+                .repeat(batchesPerRun - 1L)
+                .takeUntil(deleted -> deleted < batchSize)
+                .reduce(0L, Long::sum)
+                .doOnNext(deleted -> {
+                    if (deleted > 0) {
+                        log.debug("Purged {} expired idempotency keys", deleted);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Idempotency key purge failed, resuming on the next run: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
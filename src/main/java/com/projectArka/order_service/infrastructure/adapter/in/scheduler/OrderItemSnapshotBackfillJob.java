@@ -0,0 +1,43 @@
+package com.projectArka.order_service.infrastructure.adapter.in.scheduler;
+
+import com.projectArka.order_service.application.service.OrderItemSnapshotBackfill;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnProperty(name = "orders.item-snapshot-backfill.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderItemSnapshotBackfillJob {
+
+    private final OrderItemSnapshotBackfill backfill;
+    private final int batchSize;
+    private final int batchesPerRun;
+
+    public OrderItemSnapshotBackfillJob(
+            OrderItemSnapshotBackfill backfill,
+            @Value("${orders.item-snapshot-backfill.batch-size:500}") int batchSize,
+            @Value("${orders.item-snapshot-backfill.batches-per-run:10}") int batchesPerRun) {
+        this.backfill = backfill;
+        this.batchSize = batchSize;
+        this.batchesPerRun = batchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.item-snapshot-backfill.interval-ms:2000}")
+    public Mono<Void> backfill() {
+        if (backfill.isComplete()) {
+            return Mono.empty();
+        }
+        return backfill.backfillBatch(batchSize)
+                .repeat(batchesPerRun - 1L)
+                .takeUntil(scanned -> scanned == 0)
+                .onErrorResume(e -> {
+                    log.warn("Order item product snapshot backfill failed, resuming on the next run: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
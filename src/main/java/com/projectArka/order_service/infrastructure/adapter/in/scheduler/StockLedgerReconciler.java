@@ -0,0 +1,38 @@
+package com.projectArka.order_service.infrastructure.adapter.in.scheduler;
+
+import com.projectArka.order_service.application.service.StockReservationLedger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnProperty(name = "stock.ledger.reconciler.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class StockLedgerReconciler {
+
+    private final StockReservationLedger stockLedger;
+    private final int batchSize;
+
+    public StockLedgerReconciler(
+            StockReservationLedger stockLedger,
+            @Value("${stock.ledger.reconciler.batch-size:200}") int batchSize) {
+        this.stockLedger = stockLedger;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${stock.ledger.reconciler.interval-ms:5000}")
+    public Mono<Void> reconcile() {
+        return Flux.fromIterable(stockLedger.trackedProductIds())
+                .buffer(batchSize)
+                .concatMap(batch -> stockLedger.reconcile(batch)
+                        .onErrorResume(e -> {
+                            log.warn("Stock ledger reconciliation failed for {} products: {}", batch.size(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+}
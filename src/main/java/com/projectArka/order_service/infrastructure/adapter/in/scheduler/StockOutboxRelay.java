@@ -0,0 +1,179 @@
+package com.projectArka.order_service.infrastructure.adapter.in.scheduler;
+
+import com.projectArka.order_service.application.service.OrderResponseCache;
+import com.projectArka.order_service.domain.model.OrderChangeEvent;
+import com.projectArka.order_service.domain.model.OrderOutboxEvent;
+import com.projectArka.order_service.domain.model.OrderStatus;
+import com.projectArka.order_service.domain.port.out.IOrderChangeFeed;
+import com.projectArka.order_service.domain.port.out.IOrderOutboxRepository;
+import com.projectArka.order_service.domain.port.out.IOrderRepository;
+import com.projectArka.order_service.domain.port.out.IStockReservationRepository;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamServiceException;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IProductServiceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class StockOutboxRelay {
+
+    private final IOrderOutboxRepository outboxRepository;
+    private final IOrderRepository orderRepository;
+    private final IStockReservationRepository reservationRepository;
+    private final IProductServiceClient productServiceClient;
+    private final TransactionalOperator transactionalOperator;
+    private final MeterRegistry meterRegistry;
+    private final OrderResponseCache orderResponseCache;
+    private final IOrderChangeFeed orderChangeFeed;
+    private final int batchSize;
+    private final int concurrency;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public StockOutboxRelay(
+            IOrderOutboxRepository outboxRepository,
+            IOrderRepository orderRepository,
+            IStockReservationRepository reservationRepository,
+            IProductServiceClient productServiceClient,
+            TransactionalOperator transactionalOperator,
+            MeterRegistry meterRegistry,
+            OrderResponseCache orderResponseCache,
+            IOrderChangeFeed orderChangeFeed,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.concurrency:8}") int concurrency,
+            @Value("${outbox.relay.lease:30s}") Duration lease,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.relay.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${outbox.relay.max-backoff:5m}") Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.orderRepository = orderRepository;
+        this.reservationRepository = reservationRepository;
+        this.productServiceClient = productServiceClient;
+        this.transactionalOperator = transactionalOperator;
+        this.meterRegistry = meterRegistry;
+        this.orderResponseCache = orderResponseCache;
+        this.orderChangeFeed = orderChangeFeed;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public Mono<Void> relayPendingEvents() {
+        return outboxRepository.claimBatch(batchSize, lease)
+                .flatMap(this::dispatch, concurrency)
+                .collectList()
+                .flatMap(dispatchedIds -> {
+                    if (!dispatchedIds.isEmpty()) {
+                        log.debug("Dispatched {} outbox events", dispatchedIds.size());
+                    }
+                    return outboxRepository.markDispatched(dispatchedIds)
+                            .collectList()
+                            .flatMap(transitionedIds -> {
+                                Set<UUID> lateIds = new HashSet<>(dispatchedIds);
+                                transitionedIds.forEach(lateIds::remove);
+                                if (!lateIds.isEmpty()) {
+                                    log.warn("{} stock decrements succeeded after their order was compensated, reverting them", lateIds.size());
+                                }
+                                return reservationRepository.markSettled(transitionedIds)
+                                        .then(outboxRepository.compensateEvents(lateIds));
+                            })
+                            .as(transactionalOperator::transactional);
+                })
+                .onErrorResume(e -> {
+                    log.error("Outbox relay run failed: {}", e.getMessage(), e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<UUID> dispatch(OrderOutboxEvent event) {
+        Mono<Void> call;
+        if (OrderOutboxEvent.STOCK_DECREMENT.equals(event.getEventType())) {
+            call = productServiceClient.decreaseProductStock(event.getProductId(), event.getQuantity(), event.getId().toString());
+        } else if (OrderOutboxEvent.STOCK_INCREMENT.equals(event.getEventType())) {
+            call = productServiceClient.increaseProductStock(event.getProductId(), event.getQuantity(), event.getId().toString());
+        } else {
+            log.error("Unknown outbox event type {} for event {}", event.getEventType(), event.getId());
+            return outboxRepository.markFailed(event.getId(), "Unknown event type: " + event.getEventType())
+                    .then(Mono.empty());
+        }
+        return call
+                .doOnSuccess(ignored -> recordOutcome(event, "dispatched"))
+                .thenReturn(event.getId())
+                .onErrorResume(e -> handleFailure(event, e).then(Mono.empty()));
+    }
+
+    private Mono<Void> handleFailure(OrderOutboxEvent event, Throwable error) {
+        boolean permanent = error instanceof DownstreamServiceException downstreamException
+                && downstreamException.getStatusCode() > 0 && !downstreamException.isRetryable();
+        if (permanent || event.getAttempts() >= maxAttempts) {
+            log.error("Outbox event {} for order {} failed permanently after {} attempts: {}",
+                    event.getId(), event.getOrderId(), event.getAttempts(), error.getMessage());
+            recordOutcome(event, "failed");
+            Mono<Void> failure = outboxRepository.markFailed(event.getId(), error.getMessage())
+                    .then(reservationRepository.markReleased(event.getId()));
+            if (OrderOutboxEvent.STOCK_DECREMENT.equals(event.getEventType())) {
+                failure = failure.then(compensateOrder(event));
+            }
+            return failure.as(transactionalOperator::transactional);
+        }
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(event.getAttempts() - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        recordOutcome(event, "rescheduled");
+        log.warn("Outbox event {} for order {} failed (attempt {}), retrying in {}: {}",
+                event.getId(), event.getOrderId(), event.getAttempts(), backoff, error.getMessage());
+        return outboxRepository.reschedule(event.getId(), Instant.now().plus(backoff), error.getMessage());
+    }
+
+    // Compensation follows the outbox rows, not the order status: an order cancelled while its decrement was in
+    // flight still needs its pending decrements cancelled. The outbox updates only touch rows in the expected state,
+    // so running them again for an already compensated order is a no-op
+    private Mono<Void> compensateOrder(OrderOutboxEvent failedEvent) {
+        UUID orderId = failedEvent.getOrderId();
+        return orderRepository.transitionStatus(orderId, OrderStatus.sourcesOf(OrderStatus.FAILED), OrderStatus.FAILED, Instant.now())
+                .flatMap(order -> {
+                    log.error("Failing order {} after stock decrement {} failed for product {}",
+                            orderId, failedEvent.getId(), failedEvent.getProductId());
+                    orderResponseCache.invalidate(orderId);
+                    return orderChangeFeed.publish(List.of(OrderChangeEvent.of(OrderChangeEvent.STATUS_CHANGED, order)))
+                            .thenReturn(true);
+                })
+                .switchIfEmpty(Mono.defer(() -> orderRepository.findById(orderId)
+                        .map(order -> !OrderStatus.DELIVERED.equals(order.getStatus()))
+                        .defaultIfEmpty(true)))
+                .flatMap(compensate -> {
+                    if (!compensate) {
+                        log.error("Stock decrement {} for delivered order {} failed; not compensating", failedEvent.getId(), orderId);
+                        return Mono.empty();
+                    }
+                    recordOutcome(failedEvent, "compensated");
+                    return outboxRepository.compensateOrder(orderId)
+                            .then(reservationRepository.releaseOrder(orderId));
+                });
+    }
+
+    private void recordOutcome(OrderOutboxEvent event, String outcome) {
+        meterRegistry.counter("outbox.relay.events", "type", event.getEventType(), "outcome", outcome).increment();
+    }
+}
@@ -1,35 +1,64 @@
 package com.projectArka.order_service.infrastructure.adapter.in.webflux;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectArka.order_service.application.dto.BulkOrderResultDTO;
+import com.projectArka.order_service.application.dto.OrderChangeEventDTO;
+import com.projectArka.order_service.application.dto.OrderPageResponseDTO;
 import com.projectArka.order_service.application.dto.OrderRequestDTO;
 import com.projectArka.order_service.application.dto.OrderResponseDTO;
+import com.projectArka.order_service.application.service.OrderResponseCache;
 import com.projectArka.order_service.application.usecase.OrderManagementUseCase;
+import com.projectArka.order_service.domain.exception.IdempotencyKeyConflictException;
 import com.projectArka.order_service.domain.exception.InsufficientStockException;
 import com.projectArka.order_service.domain.exception.InvalidOrderDataException;
+import com.projectArka.order_service.domain.exception.InvalidStatusTransitionException;
 import com.projectArka.order_service.domain.exception.OrderNotFoundException;
 import com.projectArka.order_service.domain.exception.UserNotFoundException;
+import com.projectArka.order_service.domain.model.OrderView;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 @Slf4j
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderManagementUseCase orderManagementUseCase;
+    private final OrderResponseCache orderResponseCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${orders.change-stream.heartbeat:15s}")
+    private Duration changeStreamHeartbeat;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Mono<OrderResponseDTO> createOrder(@Valid @RequestBody OrderRequestDTO requestDTO) {
+    public Mono<OrderResponseDTO> createOrder(@Valid @RequestBody OrderRequestDTO requestDTO,
+                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         log.info("Received request to create order for userId: {}", requestDTO.getUserId());
-        return orderManagementUseCase.createOrder(requestDTO)
+        Mono<OrderResponseDTO> created = idempotencyKey != null
+                ? orderManagementUseCase.createOrder(requestDTO, idempotencyKey)
+                : orderManagementUseCase.createOrder(requestDTO);
+        return created
                 .doOnSuccess(order -> log.info("Order created successfully with ID: {}", order.getOrderId()))
                 .onErrorResume(UserNotFoundException.class, e -> {
                     log.error("User not found during order creation: {}", e.getMessage());
@@ -43,17 +72,43 @@ public class OrderController {
                     log.error("Invalid order data during order creation: {}", e.getMessage());
                     return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
                 })
+                .onErrorResume(IdempotencyKeyConflictException.class, e -> {
+                    log.warn("Idempotency key conflict during order creation: {}", e.getMessage());
+                    return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage()));
+                })
                 .onErrorResume(e -> {
                     log.error("Unexpected error during order creation: {}", e.getMessage(), e);
                     return Mono.error(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred."));
                 });
     }
 
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkOrderResultDTO> createOrdersBulk(@RequestBody Flux<OrderRequestDTO> requests) {
+        log.info("Received bulk order import request");
+        return orderManagementUseCase.createOrdersBulk(requests)
+                .doOnError(e -> log.error("Error during bulk order import: {}", e.getMessage(), e));
+    }
+
     @GetMapping("/{orderId}")
-    public Mono<ResponseEntity<OrderResponseDTO>> getOrderById(@PathVariable String orderId) {
+    public Mono<ResponseEntity<DataBuffer>> getOrderById(@PathVariable String orderId,
+                                                         @RequestParam(defaultValue = "full") String view,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Received request to get order by ID: {}", orderId);
-        return orderManagementUseCase.getOrderById(orderId)
-                .map(ResponseEntity::ok)
+        OrderView orderView = OrderView.parse(view);
+        // The ETag is read before the body, so a concurrent write can only make the body newer than its tag
+        return orderManagementUseCase.getOrderETag(orderId, orderView)
+                .flatMap(etag -> {
+                    if (matchesETag(ifNoneMatch, etag)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<DataBuffer>build());
+                    }
+                    return cachedOrderResponse(orderId, orderView, etag)
+                            .map(body -> orderResponseEntity(body, etag))
+                            .switchIfEmpty(Mono.defer(() -> orderManagementUseCase.getOrderById(orderId, orderView)
+                                    .flatMap(response -> encodeOrderResponse(response, orderView, etag)
+                                            .map(body -> orderResponseEntity(body, response.isProductNamesIncomplete() ? null : etag)))));
+                })
                 .defaultIfEmpty(ResponseEntity.notFound().build())
                 .onErrorResume(OrderNotFoundException.class, e -> {
                     log.error("Order not found: {}", e.getMessage());
@@ -65,13 +120,84 @@ public class OrderController {
                 });
     }
 
+    // Only the full view is cached; summaries are a single row read and not worth the memory
+    private Mono<byte[]> cachedOrderResponse(String orderId, OrderView view, String etag) {
+        if (view != OrderView.FULL) {
+            return Mono.empty();
+        }
+        return Mono.justOrEmpty(orderResponseCache.get(UUID.fromString(orderId), etag));
+    }
+
+    private Mono<byte[]> encodeOrderResponse(OrderResponseDTO response, OrderView view, String etag) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsBytes(response))
+                .doOnNext(body -> {
+                    if (view == OrderView.FULL && !response.isProductNamesIncomplete()) {
+                        orderResponseCache.put(UUID.fromString(response.getOrderId()), response.getStatus(), etag, body);
+                    }
+                });
+    }
+
+    // Placeholder product names change with product service availability, not with any stored version, so they get no ETag
+    private static ResponseEntity<DataBuffer> orderResponseEntity(byte[] body, String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(DefaultDataBufferFactory.sharedInstance.wrap(body));
+    }
+
+    private static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @GetMapping("/user/{userId}")
-    public Flux<OrderResponseDTO> getOrdersByUserId(@PathVariable String userId) {
+    public Mono<ResponseEntity<List<OrderResponseDTO>>> getOrdersByUserId(@PathVariable String userId,
+                                                                          @RequestParam(defaultValue = "full") String view,
+                                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Received request to get orders for user ID: {}", userId);
-        return orderManagementUseCase.getOrdersByUserId(userId)
+        OrderView orderView = OrderView.parse(view);
+        return orderManagementUseCase.getOrdersByUserIdETag(userId, orderView)
+                .flatMap(etag -> matchesETag(ifNoneMatch, etag)
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<List<OrderResponseDTO>>build())
+                        // Collected so the ETag can be left off when any order carries placeholder product names
+                        : orderManagementUseCase.getOrdersByUserId(userId, orderView)
+                                .collectList()
+                                .map(orders -> orders.stream().anyMatch(OrderResponseDTO::isProductNamesIncomplete)
+                                        ? ResponseEntity.ok().body(orders)
+                                        : ResponseEntity.ok().eTag(etag).body(orders)))
                 .doOnError(e -> log.error("Error fetching orders for user ID {}: {}", userId, e.getMessage(), e));
     }
 
+    @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponseDTO> streamOrdersByUserId(@PathVariable String userId,
+                                                       @RequestParam(defaultValue = "full") String view) {
+        log.info("Received request to stream orders for user ID: {}", userId);
+        return orderManagementUseCase.streamOrdersByUserId(userId, OrderView.parse(view))
+                .doOnError(e -> log.error("Error streaming orders for user ID {}: {}", userId, e.getMessage(), e));
+    }
+
+    @GetMapping("/user/{userId}/page")
+    public Mono<OrderPageResponseDTO> getOrdersPageByUserId(@PathVariable String userId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "50") int limit,
+                                                            @RequestParam(defaultValue = "full") String view) {
+        log.info("Received request to get orders page for user ID: {} (limit {})", userId, limit);
+        return orderManagementUseCase.getOrdersPageByUserId(userId, cursor, limit, OrderView.parse(view))
+                .doOnError(e -> log.error("Error fetching orders page for user ID {}: {}", userId, e.getMessage(), e));
+    }
+
     @PutMapping("/{orderId}/status")
     public Mono<ResponseEntity<OrderResponseDTO>> updateOrderStatus(@PathVariable String orderId, @RequestParam String newStatus) {
         log.info("Received request to update status for order ID: {} to {}", orderId, newStatus);
@@ -81,6 +207,14 @@ public class OrderController {
                     log.error("Order not found for status update: {}", e.getMessage());
                     return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
                 })
+                .onErrorResume(InvalidStatusTransitionException.class, e -> {
+                    log.warn("Rejected status update: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build());
+                })
+                .onErrorResume(InvalidOrderDataException.class, e -> {
+                    log.warn("Invalid status update for order ID {}: {}", orderId, e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+                })
                 .onErrorResume(e -> {
                     log.error("Unexpected error updating order status for ID {}: {}", orderId, e.getMessage(), e);
                     return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
@@ -104,9 +238,48 @@ public class OrderController {
     }
 
     @GetMapping
-    public Flux<OrderResponseDTO> getAllOrders() {
+    public Flux<OrderResponseDTO> getAllOrders(@RequestParam(defaultValue = "full") String view) {
         log.info("Received request to get all orders.");
-        return orderManagementUseCase.getAllOrders()
+        return orderManagementUseCase.getAllOrders(OrderView.parse(view))
                 .doOnError(e -> log.error("Error fetching all orders: {}", e.getMessage(), e));
     }
-}
\ No newline at end of file
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponseDTO> streamAllOrders(@RequestParam(defaultValue = "full") String view) {
+        log.info("Received request to stream all orders.");
+        return orderManagementUseCase.streamAllOrders(OrderView.parse(view))
+                .doOnError(e -> log.error("Error streaming all orders: {}", e.getMessage(), e));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<OrderChangeEventDTO>> streamOrderChanges() {
+        log.info("Received subscription to order changes.");
+        return toServerSentEvents(orderManagementUseCase.streamOrderChanges(null))
+                .doOnError(e -> log.error("Error streaming order changes: {}", e.getMessage(), e));
+    }
+
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<OrderChangeEventDTO>> streamOrderChangesByUserId(@PathVariable String userId) {
+        log.info("Received subscription to order changes for user ID: {}", userId);
+        return toServerSentEvents(orderManagementUseCase.streamOrderChanges(userId))
+                .doOnError(e -> log.error("Error streaming order changes for user ID {}: {}", userId, e.getMessage(), e));
+    }
+
+    // Keep-alive comments stop idle connections from being closed by proxies; they end with the change stream
+    private Flux<ServerSentEvent<OrderChangeEventDTO>> toServerSentEvents(Flux<OrderChangeEventDTO> changes) {
+        return changes
+                .map(change -> ServerSentEvent.builder(change).event(change.getType()).build())
+                .publish(events -> Flux.merge(events, Flux.interval(changeStreamHeartbeat)
+                        .map(tick -> ServerSentEvent.<OrderChangeEventDTO>builder().comment("keep-alive").build())
+                        .takeUntilOther(events.then())));
+    }
+
+    @GetMapping("/page")
+    public Mono<OrderPageResponseDTO> getOrdersPage(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int limit,
+                                                    @RequestParam(defaultValue = "full") String view) {
+        log.info("Received request to get orders page (limit {}).", limit);
+        return orderManagementUseCase.getOrdersPage(cursor, limit, OrderView.parse(view))
+                .doOnError(e -> log.error("Error fetching orders page: {}", e.getMessage(), e));
+    }
+}
@@ -0,0 +1,112 @@
+package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.adapter;
+
+import com.projectArka.order_service.domain.model.IdempotencyKey;
+import com.projectArka.order_service.domain.port.out.IIdempotencyKeyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyRepositoryAdapter implements IIdempotencyKeyRepository {
+
+    // A new key is inserted; an expired one (finished long ago, or abandoned by a crashed instance) is taken over,
+    // but never an in-progress claim that already produced an order. The new claim_id fences off the old owner
+    private static final String CLAIM_SQL = """
+            INSERT INTO idempotency_key (idempotency_key, request_hash, status, claim_id, created_at, expires_at)
+            VALUES (:key, :requestHash, 'IN_PROGRESS', :claimId, :now, :expiresAt)
+            ON CONFLICT (idempotency_key) DO UPDATE
+                SET request_hash = EXCLUDED.request_hash, status = 'IN_PROGRESS', claim_id = EXCLUDED.claim_id,
+                    order_id = NULL, response_body = NULL, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at
+                WHERE idempotency_key.expires_at <= EXCLUDED.created_at
+                  AND (idempotency_key.status = 'COMPLETED' OR idempotency_key.order_id IS NULL)
+            RETURNING idempotency_key
+            """;
+    private static final String FIND_SQL = """
+            SELECT idempotency_key, request_hash, status, claim_id, order_id, response_body, created_at, expires_at
+            FROM idempotency_key
+            WHERE idempotency_key = :key AND expires_at > :now
+            """;
+    private static final String COMPLETE_SQL = """
+            UPDATE idempotency_key
+            SET status = 'COMPLETED', order_id = :orderId, response_body = :responseBody, expires_at = :expiresAt
+            WHERE idempotency_key = :key AND claim_id = :claimId AND status = 'IN_PROGRESS'
+            """;
+    private static final String RELEASE_SQL = """
+            DELETE FROM idempotency_key
+            WHERE idempotency_key = :key AND claim_id = :claimId AND status = 'IN_PROGRESS'
+            """;
+    private static final String DELETE_EXPIRED_SQL = """
+            DELETE FROM idempotency_key
+            WHERE idempotency_key IN (SELECT idempotency_key FROM idempotency_key WHERE expires_at <= :now LIMIT :limit)
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Boolean> claim(String key, String requestHash, UUID claimId, Instant now, Instant expiresAt) {
+        return databaseClient.sql(CLAIM_SQL)
+                .bind("key", key)
+                .bind("requestHash", requestHash)
+                .bind("claimId", claimId)
+                .bind("now", now)
+                .bind("expiresAt", expiresAt)
+                .map(row -> row.get("idempotency_key", String.class))
+                .one()
+                .hasElement();
+    }
+
+    @Override
+    public Mono<IdempotencyKey> findByKey(String key, Instant now) {
+        return databaseClient.sql(FIND_SQL)
+                .bind("key", key)
+                .bind("now", now)
+                .map(row -> IdempotencyKey.builder()
+                        .key(row.get("idempotency_key", String.class))
+                        .requestHash(row.get("request_hash", String.class))
+                        .status(row.get("status", String.class))
+                        .claimId(row.get("claim_id", UUID.class))
+                        .orderId(row.get("order_id", UUID.class))
+                        .responseBody(row.get("response_body", String.class))
+                        .createdAt(row.get("created_at", Instant.class))
+                        .expiresAt(row.get("expires_at", Instant.class))
+                        .build())
+                .one();
+    }
+
+    @Override
+    public Mono<Boolean> complete(String key, UUID claimId, UUID orderId, String responseBody, Instant expiresAt) {
+        return databaseClient.sql(COMPLETE_SQL)
+                .bind("key", key)
+                .bind("claimId", claimId)
+                .bind("orderId", orderId)
+                .bind("responseBody", responseBody)
+                .bind("expiresAt", expiresAt)
+                .fetch()
+                .rowsUpdated()
+                .map(updated -> updated > 0);
+    }
+
+    @Override
+    public Mono<Void> release(String key, UUID claimId) {
+        return databaseClient.sql(RELEASE_SQL)
+                .bind("key", key)
+                .bind("claimId", claimId)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Mono<Long> deleteExpired(Instant now, int limit) {
+        return databaseClient.sql(DELETE_EXPIRED_SQL)
+                .bind("now", now)
+                .bind("limit", limit)
+                .fetch()
+                .rowsUpdated();
+    }
+}
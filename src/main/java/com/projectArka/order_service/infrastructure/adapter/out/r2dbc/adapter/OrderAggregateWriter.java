@@ -0,0 +1,135 @@
+package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.adapter;
+
+import com.projectArka.order_service.domain.model.Order;
+import com.projectArka.order_service.domain.model.OrderAddress;
+import com.projectArka.order_service.domain.model.OrderAggregate;
+import com.projectArka.order_service.domain.model.OrderItem;
+import com.projectArka.order_service.domain.model.Shipment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+public class OrderAggregateWriter {
+
+    private static final String INSERT_AGGREGATE_SQL = """
+            WITH inserted_addresses AS (
+                INSERT INTO order_address (id, street, "number", apartment, city, state, postal_code, country, created_at, updated_at)
+                SELECT a.id, a.street, a.number, a.apartment, a.city, a.state, a.postal_code, a.country, :now, :now
+                FROM unnest(CAST(:addressIds AS uuid[]), CAST(:streets AS varchar[]), CAST(:numbers AS varchar[]),
+                            CAST(:apartments AS varchar[]), CAST(:cities AS varchar[]), CAST(:states AS varchar[]),
+                            CAST(:postalCodes AS varchar[]), CAST(:countries AS varchar[]))
+                     AS a(id, street, number, apartment, city, state, postal_code, country)
+                RETURNING id
+            ), inserted_order AS (
+                INSERT INTO orders (id, user_id, order_date, status, total_amount, shipping_address_id, billing_address_id, created_at, updated_at)
+                VALUES (:orderId, :userId, :orderDate, :status, :totalAmount, :shippingAddressId, :billingAddressId, :now, :now)
+                RETURNING id
+            ), inserted_items AS (
+                INSERT INTO order_item (id, order_id, product_id, quantity, unit_price, product_name, product_sku, created_at, updated_at)
+                SELECT i.id, :orderId, i.product_id, i.quantity, i.unit_price, i.product_name, i.product_sku, :now, :now
+                FROM unnest(CAST(:itemIds AS uuid[]), CAST(:productIds AS uuid[]), CAST(:quantities AS int4[]),
+                            CAST(:unitPrices AS numeric[]), CAST(:productNames AS varchar[]), CAST(:productSkus AS varchar[]))
+                     AS i(id, product_id, quantity, unit_price, product_name, product_sku)
+                RETURNING id
+            ), inserted_shipment AS (
+                INSERT INTO shipment (id, order_id, shipping_date, tracking_number, carrier, status, created_at, updated_at)
+                VALUES (:shipmentId, :orderId, :shippingDate, :trackingNumber, :carrier, :shipmentStatus, :now, :now)
+                RETURNING id
+            )
+            SELECT (SELECT count(*) FROM inserted_order) AS order_count,
+                   (SELECT count(*) FROM inserted_items) AS item_count
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<OrderAggregate> insert(OrderAggregate aggregate) {
+        Instant now = Instant.now();
+        Order order = aggregate.getOrder();
+        OrderAddress shippingAddress = aggregate.getShippingAddress();
+        OrderAddress billingAddress = aggregate.getBillingAddress();
+        List<OrderItem> items = aggregate.getItems();
+        Shipment shipment = aggregate.getShipment();
+
+        List<OrderAddress> addresses = shippingAddress == billingAddress
+                ? List.of(shippingAddress)
+                : List.of(shippingAddress, billingAddress);
+        addresses.forEach(address -> {
+            assignId(address.getId(), address::setId);
+            address.setCreatedAt(now);
+            address.setUpdatedAt(now);
+        });
+        assignId(order.getId(), order::setId);
+        order.setShippingAddressId(shippingAddress.getId());
+        order.setBillingAddressId(billingAddress.getId());
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        items.forEach(item -> {
+            assignId(item.getId(), item::setId);
+            item.setOrderId(order.getId());
+            item.setCreatedAt(now);
+            item.setUpdatedAt(now);
+        });
+        assignId(shipment.getId(), shipment::setId);
+        shipment.setOrderId(order.getId());
+        shipment.setCreatedAt(now);
+        shipment.setUpdatedAt(now);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_AGGREGATE_SQL)
+                .bind("now", now)
+                .bind("addressIds", addresses.stream().map(OrderAddress::getId).toArray(UUID[]::new))
+                .bind("streets", addresses.stream().map(OrderAddress::getStreet).toArray(String[]::new))
+                .bind("numbers", addresses.stream().map(OrderAddress::getNumber).toArray(String[]::new))
+                .bind("apartments", addresses.stream().map(OrderAddress::getApartment).toArray(String[]::new))
+                .bind("cities", addresses.stream().map(OrderAddress::getCity).toArray(String[]::new))
+                .bind("states", addresses.stream().map(OrderAddress::getState).toArray(String[]::new))
+                .bind("postalCodes", addresses.stream().map(OrderAddress::getPostalCode).toArray(String[]::new))
+                .bind("countries", addresses.stream().map(OrderAddress::getCountry).toArray(String[]::new))
+                .bind("orderId", order.getId())
+                .bind("orderDate", order.getOrderDate())
+                .bind("status", order.getStatus())
+                .bind("totalAmount", order.getTotalAmount())
+                .bind("shippingAddressId", order.getShippingAddressId())
+                .bind("billingAddressId", order.getBillingAddressId())
+                .bind("itemIds", items.stream().map(OrderItem::getId).toArray(UUID[]::new))
+                .bind("productIds", items.stream().map(OrderItem::getProductId).toArray(UUID[]::new))
+                .bind("quantities", items.stream().map(OrderItem::getQuantity).toArray(Integer[]::new))
+                .bind("unitPrices", items.stream().map(OrderItem::getUnitPrice).toArray(BigDecimal[]::new))
+                .bind("productNames", items.stream().map(OrderItem::getProductName).toArray(String[]::new))
+                .bind("productSkus", items.stream().map(OrderItem::getProductSku).toArray(String[]::new))
+                .bind("shipmentId", shipment.getId())
+                .bind("shipmentStatus", shipment.getStatus());
+        spec = bindNullable(spec, "userId", order.getUserId(), UUID.class);
+        spec = bindNullable(spec, "shippingDate", shipment.getShippingDate(), Instant.class);
+        spec = bindNullable(spec, "trackingNumber", shipment.getTrackingNumber(), String.class);
+        spec = bindNullable(spec, "carrier", shipment.getCarrier(), String.class);
+
+        return spec.map(row -> row.get("item_count", Long.class))
+                .one()
+                .flatMap(insertedItems -> {
+                    if (insertedItems != items.size()) {
+                        return Mono.error(new IllegalStateException(
+                                "Expected to insert " + items.size() + " items for order " + order.getId() + " but inserted " + insertedItems));
+                    }
+                    return Mono.just(aggregate);
+                });
+    }
+
+    private static void assignId(UUID currentId, Consumer<UUID> setter) {
+        if (currentId == null) {
+            setter.accept(UUID.randomUUID());
+        }
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+}
@@ -4,17 +4,29 @@ import com.projectArka.order_service.domain.model.OrderItem;
 import com.projectArka.order_service.domain.port.out.IOrderItemRepository;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository.SpringDataR2bcOrderItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class OrderItemRepositoryAdapter implements IOrderItemRepository {
 
+    private static final String UPDATE_PRODUCT_SNAPSHOTS_SQL = """
+            UPDATE order_item oi
+            SET product_name = s.product_name, product_sku = s.product_sku, updated_at = :now
+            FROM unnest(CAST(:ids AS uuid[]), CAST(:productNames AS varchar[]), CAST(:productSkus AS varchar[]))
+                 AS s(id, product_name, product_sku)
+            WHERE oi.id = s.id AND oi.product_name IS NULL
+            """;
+
     private final SpringDataR2bcOrderItemRepository orderItemRepository;
+    private final DatabaseClient databaseClient;
 
     @Override
     public Mono<OrderItem> save(OrderItem orderItem) {
@@ -45,4 +57,25 @@ public class OrderItemRepositoryAdapter implements IOrderItemRepository {
     public Mono<Void> deleteByOrderId(UUID orderId) {
         return orderItemRepository.deleteByOrderId(orderId);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Flux<OrderItem> findMissingProductSnapshot(UUID afterId, int limit) {
+        return afterId == null
+                ? orderItemRepository.findFirstMissingProductSnapshot(limit)
+                : orderItemRepository.findMissingProductSnapshotAfter(afterId, limit);
+    }
+
+    @Override
+    public Mono<Long> updateProductSnapshots(List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql(UPDATE_PRODUCT_SNAPSHOTS_SQL)
+                .bind("now", Instant.now())
+                .bind("ids", items.stream().map(OrderItem::getId).toArray(UUID[]::new))
+                .bind("productNames", items.stream().map(OrderItem::getProductName).toArray(String[]::new))
+                .bind("productSkus", items.stream().map(OrderItem::getProductSku).toArray(String[]::new))
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,151 @@
+package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.adapter;
+
+import com.projectArka.order_service.domain.model.OrderOutboxEvent;
+import com.projectArka.order_service.domain.port.out.IOrderOutboxRepository;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository.SpringDataR2bcOrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class OrderOutboxRepositoryAdapter implements IOrderOutboxRepository {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final String INSERT_EVENTS_SQL = """
+            INSERT INTO order_outbox (id, order_id, event_type, product_id, quantity, status, attempts, next_attempt_at, created_at)
+            SELECT e.id, e.order_id, e.event_type, e.product_id, e.quantity, e.status, e.attempts, :now, :now
+            FROM unnest(CAST(:ids AS uuid[]), CAST(:orderIds AS uuid[]), CAST(:eventTypes AS varchar[]),
+                        CAST(:productIds AS uuid[]), CAST(:quantities AS int4[]), CAST(:statuses AS varchar[]),
+                        CAST(:attempts AS int4[]))
+                 AS e(id, order_id, event_type, product_id, quantity, status, attempts)
+            """;
+    private static final String COMPENSATE_ORDER_SQL = """
+            WITH compensated AS (
+                UPDATE order_outbox SET status = 'COMPENSATED', processed_at = :now
+                WHERE order_id = :orderId AND event_type = 'STOCK_DECREMENT' AND status = 'DISPATCHED'
+                RETURNING order_id, product_id, quantity
+            )
+            INSERT INTO order_outbox (id, order_id, event_type, product_id, quantity, status, attempts, next_attempt_at, created_at)
+            SELECT gen_random_uuid(), order_id, 'STOCK_INCREMENT', product_id, quantity, 'PENDING', 0, :now, :now
+            FROM compensated
+            """;
+    private static final String COMPENSATE_EVENTS_SQL = """
+            WITH compensated AS (
+                UPDATE order_outbox SET status = 'COMPENSATED', processed_at = :now
+                WHERE id = ANY(CAST(:ids AS uuid[])) AND event_type = 'STOCK_DECREMENT' AND status = 'CANCELLED'
+                RETURNING order_id, product_id, quantity
+            )
+            INSERT INTO order_outbox (id, order_id, event_type, product_id, quantity, status, attempts, next_attempt_at, created_at)
+            SELECT gen_random_uuid(), order_id, 'STOCK_INCREMENT', product_id, quantity, 'PENDING', 0, :now, :now
+            FROM compensated
+            """;
+
+    private final SpringDataR2bcOrderOutboxRepository outboxRepository;
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<OrderOutboxEvent> saveAll(Iterable<OrderOutboxEvent> events) {
+        List<OrderOutboxEvent> eventList = new ArrayList<>();
+        events.forEach(eventList::add);
+        if (eventList.isEmpty()) {
+            return Flux.empty();
+        }
+        Instant now = Instant.now();
+        eventList.forEach(event -> {
+            if (event.getId() == null) {
+                event.setId(UUID.randomUUID());
+            }
+            event.setNextAttemptAt(now);
+            event.setCreatedAt(now);
+        });
+        return databaseClient.sql(INSERT_EVENTS_SQL)
+                .bind("now", now)
+                .bind("ids", eventList.stream().map(OrderOutboxEvent::getId).toArray(UUID[]::new))
+                .bind("orderIds", eventList.stream().map(OrderOutboxEvent::getOrderId).toArray(UUID[]::new))
+                .bind("eventTypes", eventList.stream().map(OrderOutboxEvent::getEventType).toArray(String[]::new))
+                .bind("productIds", eventList.stream().map(OrderOutboxEvent::getProductId).toArray(UUID[]::new))
+                .bind("quantities", eventList.stream().map(OrderOutboxEvent::getQuantity).toArray(Integer[]::new))
+                .bind("statuses", eventList.stream().map(OrderOutboxEvent::getStatus).toArray(String[]::new))
+                .bind("attempts", eventList.stream().map(OrderOutboxEvent::getAttempts).toArray(Integer[]::new))
+                .fetch()
+                .rowsUpdated()
+                .thenMany(Flux.fromIterable(eventList));
+    }
+
+    @Override
+    public Flux<OrderOutboxEvent> claimBatch(int limit, Duration lease) {
+        Instant now = Instant.now();
+        return outboxRepository.claimBatch(now, now.plus(lease), limit);
+    }
+
+    @Override
+    public Flux<UUID> markDispatched(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return outboxRepository.markDispatched(ids.toArray(UUID[]::new), Instant.now());
+    }
+
+    @Override
+    public Mono<Void> reschedule(UUID id, Instant nextAttemptAt, String error) {
+        return outboxRepository.reschedule(id, nextAttemptAt, truncate(error)).then();
+    }
+
+    @Override
+    public Mono<Void> markFailed(UUID id, String error) {
+        return outboxRepository.markFailed(id, Instant.now(), truncate(error)).then();
+    }
+
+    @Override
+    public Mono<Void> compensateOrder(UUID orderId) {
+        Instant now = Instant.now();
+        return outboxRepository.cancelPendingDecrements(orderId, now)
+                .then(databaseClient.sql(COMPENSATE_ORDER_SQL)
+                        .bind("orderId", orderId)
+                        .bind("now", now)
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+    }
+
+    @Override
+    public Mono<Void> compensateEvents(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(COMPENSATE_EVENTS_SQL)
+                .bind("ids", ids.toArray(UUID[]::new))
+                .bind("now", Instant.now())
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Flux<OrderOutboxEvent> findByOrderId(UUID orderId) {
+        return outboxRepository.findByOrderIdOrderByCreatedAt(orderId);
+    }
+
+    @Override
+    public Mono<Boolean> requeueFailedCompensation(UUID id) {
+        return outboxRepository.requeueFailedCompensation(id, Instant.now())
+                .map(updated -> updated > 0);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,169 @@
+package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.adapter;
+
+import com.projectArka.order_service.domain.model.Order;
+import com.projectArka.order_service.domain.model.OrderAddress;
+import com.projectArka.order_service.domain.model.OrderAggregate;
+import com.projectArka.order_service.domain.model.OrderItem;
+import com.projectArka.order_service.domain.model.OrderPageCursor;
+import com.projectArka.order_service.domain.model.OrderVersion;
+import com.projectArka.order_service.domain.model.Shipment;
+import com.projectArka.order_service.domain.port.out.IOrderQueryRepository;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository.SpringDataR2bcOrderAddressRepository;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository.SpringDataR2bcOrderItemRepository;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository.SpringDataR2bcOrderRepository;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository.SpringDataR2bcShipmentRepository;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class OrderQueryRepositoryAdapter implements IOrderQueryRepository {
+
+    private static final int ORDER_BATCH_SIZE = 256;
+
+    private static final String VERSION_BY_ID_SQL = """
+            SELECT o.id, o.updated_at, max(s.updated_at) AS shipment_updated_at,
+                   (SELECT max(i.updated_at) FROM order_item i WHERE i.order_id = o.id) AS items_updated_at
+            FROM orders o
+            LEFT JOIN shipment s ON s.order_id = o.id
+            WHERE o.id = :orderId
+            GROUP BY o.id, o.updated_at
+            """;
+
+    private static final String VERSIONS_BY_USER_SQL = """
+            SELECT o.id, o.updated_at, max(s.updated_at) AS shipment_updated_at,
+                   (SELECT max(i.updated_at) FROM order_item i WHERE i.order_id = o.id) AS items_updated_at
+            FROM orders o
+            LEFT JOIN shipment s ON s.order_id = o.id
+            WHERE o.user_id = :userId
+            GROUP BY o.id, o.updated_at
+            ORDER BY o.id
+            """;
+
+    private final SpringDataR2bcOrderRepository orderRepository;
+    private final SpringDataR2bcOrderAddressRepository orderAddressRepository;
+    private final SpringDataR2bcOrderItemRepository orderItemRepository;
+    private final SpringDataR2bcShipmentRepository shipmentRepository;
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<OrderAggregate> findAggregateById(UUID orderId) {
+        return orderRepository.findById(orderId)
+                .flatMap(this::loadAggregate);
+    }
+
+    @Override
+    public Mono<OrderAggregate> loadAggregate(Order order) {
+        return loadAggregates(List.of(order)).next();
+    }
+
+    @Override
+    public Flux<OrderAggregate> findAllAggregates() {
+        return loadInBatches(orderRepository.findAll());
+    }
+
+    @Override
+    public Flux<OrderAggregate> findAggregatesByUserId(UUID userId) {
+        return loadInBatches(orderRepository.findByUserId(userId));
+    }
+
+    @Override
+    public Flux<OrderAggregate> findAggregatePage(UUID userId, OrderPageCursor after, int limit) {
+        return findOrderPage(userId, after, limit)
+                .collectList()
+                .filter(page -> !page.isEmpty())
+                .flatMapMany(this::loadAggregates);
+    }
+
+    @Override
+    public Flux<Order> findOrderPage(UUID userId, OrderPageCursor after, int limit) {
+        if (userId == null) {
+            return after == null
+                    ? orderRepository.findFirstPage(limit)
+                    : orderRepository.findPageAfter(after.getCreatedAt(), after.getId(), limit);
+        }
+        return after == null
+                ? orderRepository.findFirstPageByUserId(userId, limit)
+                : orderRepository.findPageByUserIdAfter(userId, after.getCreatedAt(), after.getId(), limit);
+    }
+
+    @Override
+    public Mono<OrderVersion> findVersionById(UUID orderId) {
+        return databaseClient.sql(VERSION_BY_ID_SQL)
+                .bind("orderId", orderId)
+                .map((row, metadata) -> toOrderVersion(row))
+                .one();
+    }
+
+    @Override
+    public Flux<OrderVersion> findVersionsByUserId(UUID userId) {
+        return databaseClient.sql(VERSIONS_BY_USER_SQL)
+                .bind("userId", userId)
+                .map((row, metadata) -> toOrderVersion(row))
+                .all();
+    }
+
+    private static OrderVersion toOrderVersion(Row row) {
+        return new OrderVersion(row.get("id", UUID.class),
+                row.get("updated_at", Instant.class),
+                row.get("shipment_updated_at", Instant.class),
+                row.get("items_updated_at", Instant.class));
+    }
+
+    private Flux<OrderAggregate> loadInBatches(Flux<Order> orders) {
+        return orders.buffer(ORDER_BATCH_SIZE)
+                .concatMap(this::loadAggregates);
+    }
+
+    private Flux<OrderAggregate> loadAggregates(List<Order> orders) {
+        UUID[] orderIds = orders.stream()
+                .map(Order::getId)
+                .toArray(UUID[]::new);
+        UUID[] addressIds = orders.stream()
+                .flatMap(order -> Stream.of(order.getShippingAddressId(), order.getBillingAddressId()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(UUID[]::new);
+
+        Mono<Map<UUID, OrderAddress>> addressesMono = addressIds.length == 0
+                ? Mono.just(Collections.emptyMap())
+                : orderAddressRepository.findAllByIds(addressIds).collectMap(OrderAddress::getId);
+        Mono<Map<UUID, Collection<OrderItem>>> itemsMono = orderItemRepository.findAllByOrderIds(orderIds)
+                .collectMultimap(OrderItem::getOrderId);
+        Mono<Map<UUID, Shipment>> shipmentsMono = shipmentRepository.findAllByOrderIds(orderIds)
+                .collectMap(Shipment::getOrderId);
+
+        return Mono.zip(addressesMono, itemsMono, shipmentsMono)
+                .flatMapIterable(tuple -> {
+                    Map<UUID, OrderAddress> addressesById = tuple.getT1();
+                    Map<UUID, Collection<OrderItem>> itemsByOrderId = tuple.getT2();
+                    Map<UUID, Shipment> shipmentsByOrderId = tuple.getT3();
+
+                    List<OrderAggregate> aggregates = new ArrayList<>(orders.size());
+                    for (Order order : orders) {
+                        aggregates.add(OrderAggregate.builder()
+                                .order(order)
+                                .shippingAddress(addressesById.get(order.getShippingAddressId()))
+                                .billingAddress(addressesById.get(order.getBillingAddressId()))
+                                .items(new ArrayList<>(itemsByOrderId.getOrDefault(order.getId(), List.of())))
+                                .shipment(shipmentsByOrderId.get(order.getId()))
+                                .build());
+                    }
+                    return aggregates;
+                });
+    }
+}
@@ -1,6 +1,7 @@
 package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.adapter;
 
 import com.projectArka.order_service.domain.model.Order;
+import com.projectArka.order_service.domain.model.OrderAggregate;
 import com.projectArka.order_service.domain.port.out.IOrderRepository;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository.SpringDataR2bcOrderRepository;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +9,8 @@ import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.Set;
 import java.util.UUID;
 
 @Component
@@ -15,17 +18,28 @@ import java.util.UUID;
 public class OrderRepositoryAdapter implements IOrderRepository {
 
     private final SpringDataR2bcOrderRepository orderRepository;
+    private final OrderAggregateWriter orderAggregateWriter;
 
     @Override
     public Mono<Order> save(Order order) {
         return orderRepository.save(order);
     }
 
+    @Override
+    public Mono<OrderAggregate> insertAggregate(OrderAggregate aggregate) {
+        return orderAggregateWriter.insert(aggregate);
+    }
+
     @Override
     public Mono<Order> findById(UUID id) {
         return orderRepository.findById(id);
     }
 
+    @Override
+    public Mono<Order> transitionStatus(UUID id, Set<String> fromStatuses, String toStatus, Instant updatedAt) {
+        return orderRepository.transitionStatus(id, fromStatuses.toArray(String[]::new), toStatus, updatedAt);
+    }
+
     @Override
     public Flux<Order> findAll() {
         return orderRepository.findAll();
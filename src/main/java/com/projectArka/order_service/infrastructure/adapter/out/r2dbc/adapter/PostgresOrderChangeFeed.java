@@ -0,0 +1,123 @@
+package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.adapter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectArka.order_service.domain.model.OrderChangeEvent;
+import com.projectArka.order_service.domain.port.out.IOrderChangeFeed;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@Slf4j
+public class PostgresOrderChangeFeed implements IOrderChangeFeed {
+
+    private static final String CHANNEL = "order_changes";
+
+    // NOTIFY is transactional: events published inside a transaction are only delivered on commit
+    private static final String NOTIFY_SQL = "SELECT pg_notify('" + CHANNEL + "', payload) FROM unnest(CAST(:payloads AS text[])) AS payload";
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final Flux<OrderChangeEvent> changes;
+
+    public PostgresOrderChangeFeed(
+            DatabaseClient databaseClient,
+            ObjectMapper objectMapper,
+            R2dbcProperties r2dbcProperties,
+            @Value("${orders.change-feed.reconnect-backoff:1s}") Duration reconnectBackoff,
+            @Value("${orders.change-feed.max-reconnect-backoff:30s}") Duration maxReconnectBackoff) {
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+        // One LISTEN connection outside the pool, opened by the first subscriber and shared by all of them
+        ConnectionFactory listenerConnectionFactory = listenerConnectionFactory(r2dbcProperties);
+        this.changes = Flux.usingWhen(listenerConnectionFactory.create(), this::listen, Connection::close)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, reconnectBackoff)
+                        .maxBackoff(maxReconnectBackoff)
+                        .doBeforeRetry(signal -> log.warn("Order change listener lost its connection, reconnecting: {}", signal.failure().getMessage())))
+                .publish()
+                .refCount();
+    }
+
+    @Override
+    public Mono<Void> publish(List<OrderChangeEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        String[] payloads;
+        try {
+            payloads = new String[events.size()];
+            for (int i = 0; i < events.size(); i++) {
+                payloads[i] = objectMapper.writeValueAsString(events.get(i));
+            }
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        return databaseClient.sql(NOTIFY_SQL)
+                .bind("payloads", payloads)
+                .then();
+    }
+
+    @Override
+    public Flux<OrderChangeEvent> changes() {
+        return changes;
+    }
+
+    private Flux<OrderChangeEvent> listen(Connection connection) {
+        PostgresqlConnection postgresqlConnection = unwrap(connection);
+        return postgresqlConnection.createStatement("LISTEN " + CHANNEL)
+                .execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .doOnComplete(() -> log.info("Listening for order changes on channel {}", CHANNEL))
+                .thenMany(postgresqlConnection.getNotifications())
+                .concatWith(Mono.error(new IllegalStateException("Order change listener connection closed")))
+                .flatMap(notification -> Mono.justOrEmpty(decode(notification)));
+    }
+
+    private OrderChangeEvent decode(Notification notification) {
+        try {
+            return objectMapper.readValue(notification.getParameter(), OrderChangeEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed order change notification: {}", notification.getParameter());
+            return null;
+        }
+    }
+
+    private static PostgresqlConnection unwrap(Connection connection) {
+        Object current = connection;
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped) {
+            current = wrapped.unwrap();
+        }
+        if (current instanceof PostgresqlConnection postgresqlConnection) {
+            return postgresqlConnection;
+        }
+        throw new IllegalStateException("LISTEN/NOTIFY needs a PostgreSQL connection, got " + connection.getClass().getName());
+    }
+
+    private static ConnectionFactory listenerConnectionFactory(R2dbcProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        return ConnectionFactories.get(options.build());
+    }
+}
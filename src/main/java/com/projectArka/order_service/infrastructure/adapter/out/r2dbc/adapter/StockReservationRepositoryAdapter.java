@@ -0,0 +1,85 @@
+package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.adapter;
+
+import com.projectArka.order_service.domain.model.StockReservation;
+import com.projectArka.order_service.domain.port.out.IStockReservationRepository;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository.SpringDataR2bcStockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class StockReservationRepositoryAdapter implements IStockReservationRepository {
+
+    private static final String INSERT_RESERVATIONS_SQL = """
+            INSERT INTO stock_reservation (id, order_id, product_id, quantity, status, created_at)
+            SELECT r.id, r.order_id, r.product_id, r.quantity, 'RESERVED', :now
+            FROM unnest(CAST(:ids AS uuid[]), CAST(:orderIds AS uuid[]), CAST(:productIds AS uuid[]), CAST(:quantities AS int4[]))
+                 AS r(id, order_id, product_id, quantity)
+            """;
+    private static final String SUM_RESERVED_SQL = """
+            SELECT product_id, SUM(quantity) AS reserved
+            FROM stock_reservation
+            WHERE status = 'RESERVED' AND product_id = ANY(CAST(:productIds AS uuid[]))
+            GROUP BY product_id
+            """;
+
+    private final SpringDataR2bcStockReservationRepository reservationRepository;
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Void> saveAll(Iterable<StockReservation> reservations) {
+        List<StockReservation> reservationList = new ArrayList<>();
+        reservations.forEach(reservationList::add);
+        if (reservationList.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(INSERT_RESERVATIONS_SQL)
+                .bind("now", Instant.now())
+                .bind("ids", reservationList.stream().map(StockReservation::getId).toArray(UUID[]::new))
+                .bind("orderIds", reservationList.stream().map(StockReservation::getOrderId).toArray(UUID[]::new))
+                .bind("productIds", reservationList.stream().map(StockReservation::getProductId).toArray(UUID[]::new))
+                .bind("quantities", reservationList.stream().map(StockReservation::getQuantity).toArray(Integer[]::new))
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Mono<Map<UUID, Long>> sumReservedByProductIds(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return databaseClient.sql(SUM_RESERVED_SQL)
+                .bind("productIds", productIds.toArray(UUID[]::new))
+                .map((row, metadata) -> Map.entry(row.get("product_id", UUID.class), row.get("reserved", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    @Override
+    public Mono<Void> markSettled(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return reservationRepository.markSettled(ids.toArray(UUID[]::new), Instant.now()).then();
+    }
+
+    @Override
+    public Mono<Void> markReleased(UUID id) {
+        return reservationRepository.markReleased(id, Instant.now()).then();
+    }
+
+    @Override
+    public Mono<Void> releaseOrder(UUID orderId) {
+        return reservationRepository.releaseOrder(orderId, Instant.now()).then();
+    }
+}
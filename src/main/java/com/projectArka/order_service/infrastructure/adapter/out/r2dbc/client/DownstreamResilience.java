@@ -0,0 +1,89 @@
+package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client;
+
+import com.projectArka.order_service.infrastructure.config.ClientConnectionProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedTimeLimiterMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class DownstreamResilience {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+    private final TimeLimiterRegistry timeLimiterRegistry = TimeLimiterRegistry.ofDefaults();
+
+    public DownstreamResilience(ClientConnectionProperties clientConnectionProperties, MeterRegistry meterRegistry) {
+        Map<String, ClientConnectionProperties.Resilience> settingsByService = Map.of(
+                "product-service", clientConnectionProperties.getProductService().getResilience(),
+                "user-service", clientConnectionProperties.getUserService().getResilience());
+        settingsByService.forEach(this::registerConfigurations);
+
+        circuitBreakerRegistry.getEventPublisher().onEntryAdded(event -> {
+            CircuitBreaker circuitBreaker = event.getAddedEntry();
+            circuitBreaker.getEventPublisher().onStateTransition(transition -> {
+                log.warn("Circuit breaker {} transitioned {}", circuitBreaker.getName(), transition.getStateTransition());
+                meterRegistry.counter("resilience4j.circuitbreaker.transitions",
+                        "name", circuitBreaker.getName(),
+                        "from", transition.getStateTransition().getFromState().name(),
+                        "to", transition.getStateTransition().getToState().name()).increment();
+            });
+        });
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        TaggedTimeLimiterMetrics.ofTimeLimiterRegistry(timeLimiterRegistry).bindTo(meterRegistry);
+    }
+
+    public <T> Function<Mono<T>, Publisher<T>> forOperation(String service, String operation) {
+        String name = service + "." + operation;
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name, service);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(name, service);
+        TimeLimiter timeLimiter = timeLimiterRegistry.timeLimiter(name, service);
+        return call -> call
+                .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    private void registerConfigurations(String service, ClientConnectionProperties.Resilience settings) {
+        circuitBreakerRegistry.addConfiguration(service, CircuitBreakerConfig.custom()
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDurationThreshold())
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                .ignoreException(throwable -> throwable instanceof DownstreamServiceException downstreamException
+                        && !downstreamException.isRetryable())
+                .build());
+        bulkheadRegistry.addConfiguration(service, BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                .maxWaitDuration(settings.getMaxWaitDuration())
+                .build());
+        timeLimiterRegistry.addConfiguration(service, TimeLimiterConfig.custom()
+                .timeoutDuration(settings.getTimeout())
+                .build());
+    }
+}
@@ -0,0 +1,152 @@
+package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+@Component
+@Slf4j
+public class DownstreamRetryPolicy {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final double jitter;
+    private final double budgetRatio;
+    private final int budgetMaxTokens;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    public DownstreamRetryPolicy(
+            MeterRegistry meterRegistry,
+            @Value("${clients.retry.max-attempts:3}") int maxAttempts,
+            @Value("${clients.retry.min-backoff:100ms}") Duration minBackoff,
+            @Value("${clients.retry.max-backoff:2s}") Duration maxBackoff,
+            @Value("${clients.retry.jitter:0.5}") double jitter,
+            @Value("${clients.retry.budget.ratio:0.2}") double budgetRatio,
+            @Value("${clients.retry.budget.max-tokens:10}") int budgetMaxTokens) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        this.jitter = jitter;
+        this.budgetRatio = budgetRatio;
+        this.budgetMaxTokens = budgetMaxTokens;
+    }
+
+    public Retry idempotent(String service, String operation) {
+        return withBudget(service, operation, DownstreamRetryPolicy::isRetryable);
+    }
+
+    public Retry nonIdempotent(String service, String operation) {
+        return withBudget(service, operation, DownstreamRetryPolicy::isConnectFailure);
+    }
+
+    static boolean isRetryable(Throwable throwable) {
+        if (throwable instanceof DownstreamServiceException downstreamException) {
+            return downstreamException.isRetryable();
+        }
+        return throwable instanceof WebClientRequestException || throwable instanceof TimeoutException;
+    }
+
+    static boolean isConnectFailure(Throwable throwable) {
+        return throwable instanceof WebClientRequestException && throwable.getCause() instanceof ConnectException;
+    }
+
+    private Retry withBudget(String service, String operation, Predicate<Throwable> classifier) {
+        RetryBudget budget = budgets.computeIfAbsent(service, this::registerBudget);
+        Counter retries = meterRegistry.counter("http.client.retries", "service", service, "operation", operation);
+        Counter exhausted = meterRegistry.counter("http.client.retry.budget.exhausted", "service", service, "operation", operation);
+
+        RetryBackoffSpec spec = Retry.backoff(maxAttempts, minBackoff)
+                .maxBackoff(maxBackoff)
+                .jitter(jitter)
+                .filter(throwable -> {
+                    if (!classifier.test(throwable)) {
+                        return false;
+                    }
+                    if (!budget.tryAcquire()) {
+                        exhausted.increment();
+                        log.warn("Retry budget for {} exhausted, not retrying {}: {}", service, operation, throwable.getMessage());
+                        return false;
+                    }
+                    return true;
+                })
+                .doBeforeRetry(retrySignal -> {
+                    retries.increment();
+                    log.warn("Retrying {} on {} (attempt {}), due to: {}",
+                            operation, service, retrySignal.totalRetriesInARow() + 1, retrySignal.failure().getMessage());
+                })
+                .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) ->
+                        new DownstreamServiceException(service,
+                                service + " " + operation + " call exhausted retries after " + retrySignal.totalRetriesInARow() + " attempts",
+                                retrySignal.failure()));
+
+        return new Retry() {
+            @Override
+            public Publisher<?> generateCompanion(Flux<RetrySignal> retrySignals) {
+                budget.deposit();
+                return spec.generateCompanion(retrySignals);
+            }
+        };
+    }
+
+    private RetryBudget registerBudget(String service) {
+        RetryBudget budget = new RetryBudget(budgetRatio, budgetMaxTokens);
+        Gauge.builder("http.client.retry.budget.tokens", budget, RetryBudget::availableTokens)
+                .tag("service", service)
+                .register(meterRegistry);
+        return budget;
+    }
+
+    static final class RetryBudget {
+
+        private static final long SCALE = 1000;
+
+        private final long depositPerCall;
+        private final long maxTokens;
+        private final AtomicLong tokens;
+
+        RetryBudget(double ratio, int maxTokens) {
+            this.depositPerCall = Math.round(ratio * SCALE);
+            this.maxTokens = maxTokens * SCALE;
+            this.tokens = new AtomicLong(this.maxTokens);
+        }
+
+        void deposit() {
+            tokens.accumulateAndGet(depositPerCall, (current, amount) -> Math.min(maxTokens, current + amount));
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                long current = tokens.get();
+                if (current < SCALE) {
+                    return false;
+                }
+                if (tokens.compareAndSet(current, current - SCALE)) {
+                    return true;
+                }
+            }
+        }
+
+        double availableTokens() {
+            return (double) tokens.get() / SCALE;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+@Getter
+public class DownstreamServiceException extends RuntimeException {
+
+    private final String service;
+    private final int statusCode;
+    private final boolean retryable;
+
+    public DownstreamServiceException(String service, HttpStatusCode status, String message) {
+        super(message);
+        this.service = service;
+        this.statusCode = status.value();
+        this.retryable = status.is5xxServerError() && status.value() != HttpStatus.NOT_IMPLEMENTED.value()
+                || status.value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    public DownstreamServiceException(String service, String message, Throwable cause) {
+        super(message, cause);
+        this.service = service;
+        this.statusCode = 0;
+        this.retryable = false;
+    }
+
+    public boolean isNotFound() {
+        return statusCode == HttpStatus.NOT_FOUND.value();
+    }
+}
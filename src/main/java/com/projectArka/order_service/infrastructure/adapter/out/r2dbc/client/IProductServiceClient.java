@@ -2,12 +2,18 @@ package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client;
 
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
 
 public interface IProductServiceClient {
     Mono<ProductDetailsResponse> getProductDetails(UUID productId);
+    Mono<Map<UUID, ProductDetailsResponse>> getProductDetailsBatch(Collection<UUID> productIds);
+    void evictProductDetails(UUID productId);
+    Mono<Map<UUID, Integer>> getProductStockBatch(Collection<UUID> productIds);
     Mono<Map<String, Boolean>> checkProductStock(UUID productId, int quantity);
     Mono<Void> decreaseProductStock(UUID productId, int quantity);
+    Mono<Void> decreaseProductStock(UUID productId, int quantity, String idempotencyKey);
     Mono<Void> increaseProductStock(UUID productId, int quantity);
-}
\ No newline at end of file
+    Mono<Void> increaseProductStock(UUID productId, int quantity, String idempotencyKey);
+}
@@ -15,6 +15,7 @@ import java.util.UUID;
 public class ProductDetailsResponse {
     private UUID productId;
     private String name;
+    private String sku;
     private String description;
     private BigDecimal price;
     private Integer stock;
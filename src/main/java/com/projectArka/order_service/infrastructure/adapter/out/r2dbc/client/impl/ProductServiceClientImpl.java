@@ -1,49 +1,125 @@
 package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.impl;
 
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamResilience;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamRetryPolicy;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamServiceException;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IProductServiceClient;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.ProductDetailsResponse;
 import com.projectArka.order_service.infrastructure.config.WebClientConfig;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Component
 @Slf4j
 public class ProductServiceClientImpl implements IProductServiceClient {
 
+    private static final String SERVICE_NAME = "product-service";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final DownstreamRetryPolicy retryPolicy;
+    private final DownstreamResilience resilience;
     private final WebClient productWebClient;
     private final String productDetailPath;
     private final String productStockCheckPath;
     private final String productStockDecreasePath;
     private final String productStockIncreasePath;
+    private final String productDetailsBatchPath;
+    private final int batchFallbackConcurrency;
+    private final AsyncLoadingCache<UUID, ProductDetailsResponse> productDetailsCache;
 
     public ProductServiceClientImpl(
             WebClientConfig webClientConfig,
+            DownstreamRetryPolicy retryPolicy,
+            DownstreamResilience resilience,
             @Value("${clients.product-service.url}") String productBaseUrl,
             @Value("${clients.product-service.paths.details}") String productDetailPath,
             @Value("${clients.product-service.paths.stock-check}") String productStockCheckPath,
             @Value("${clients.product-service.paths.stock-decrease}") String productStockDecreasePath,
-            @Value("${clients.product-service.paths.stock-increase}") String productStockIncreasePath) {
+            @Value("${clients.product-service.paths.stock-increase}") String productStockIncreasePath,
+            @Value("${clients.product-service.paths.details-batch:}") String productDetailsBatchPath,
+            @Value("${clients.product-service.batch.fallback-concurrency:8}") int batchFallbackConcurrency,
+            @Value("${clients.product-service.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${clients.product-service.cache.ttl:10m}") Duration cacheTtl,
+            @Value("${clients.product-service.cache.refresh-after:2m}") Duration cacheRefreshAfter,
+            MeterRegistry meterRegistry) {
+        this.retryPolicy = retryPolicy;
+        this.resilience = resilience;
         this.productWebClient = webClientConfig.productWebClient(productBaseUrl);
         this.productDetailPath = productDetailPath;
         this.productStockCheckPath = productStockCheckPath;
         this.productStockDecreasePath = productStockDecreasePath;
         this.productStockIncreasePath = productStockIncreasePath;
+        this.productDetailsBatchPath = productDetailsBatchPath;
+        this.batchFallbackConcurrency = batchFallbackConcurrency;
+        this.productDetailsCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .refreshAfterWrite(cacheRefreshAfter)
+                .recordStats()
+                .buildAsync(new ProductDetailsLoader());
+        CaffeineCacheMetrics.monitor(meterRegistry, productDetailsCache.synchronous(), "productDetails");
     }
 
     @Override
     public Mono<ProductDetailsResponse> getProductDetails(UUID productId) {
+        return Mono.fromFuture(() -> productDetailsCache.get(productId), true);
+    }
+
+    @Override
+    public Mono<Map<UUID, ProductDetailsResponse>> getProductDetailsBatch(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return Mono.fromFuture(() -> productDetailsCache.getAll(productIds), true);
+    }
+
+    @Override
+    public void evictProductDetails(UUID productId) {
+        log.info("Evicting cached details for product ID: {}", productId);
+        productDetailsCache.synchronous().invalidate(productId);
+    }
+
+    @Override
+    public Mono<Map<UUID, Integer>> getProductStockBatch(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return fetchProductDetailsBatch(productIds)
+                .map(productDetailsById -> {
+                    productDetailsCache.synchronous().putAll(productDetailsById);
+                    Map<UUID, Integer> stockByProductId = new HashMap<>();
+                    productDetailsById.forEach((productId, productDetails) ->
+                            stockByProductId.put(productId, productDetails.getStock() != null ? productDetails.getStock() : 0));
+                    return stockByProductId;
+                });
+    }
+
+    private Mono<ProductDetailsResponse> fetchProductDetails(UUID productId) {
         String productIdString = productId.toString();
         log.info("Calling Product Service for details of product ID: {}", productIdString);
         return productWebClient.get()
@@ -54,27 +130,50 @@ public class ProductServiceClientImpl implements IProductServiceClient {
                             .flatMap(errorBody -> {
                                 log.error("Client Error fetching product details for ID {}: {} - {}", productIdString, response.statusCode(), errorBody);
                                 if (response.statusCode() == HttpStatus.NOT_FOUND) {
-                                    return Mono.error(new RuntimeException("Product not found: " + productIdString));
+                                    return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Product not found: " + productIdString));
                                 }
-                                return Mono.error(new RuntimeException("Product service client error: " + response.statusCode() + " - " + errorBody));
+                                return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Product service client error: " + response.statusCode() + " - " + errorBody));
                             });
                 })
                 .onStatus(HttpStatusCode::is5xxServerError, response ->
                         response.bodyToMono(String.class).flatMap(errorBody -> {
                             log.error("Server Error fetching product details for ID {}: {} - {}", productIdString, response.statusCode(), errorBody);
-                            return Mono.error(new RuntimeException("Product service server error: " + response.statusCode() + " - " + errorBody));
+                            return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Product service server error: " + response.statusCode() + " - " + errorBody));
                         })
                 )
                 .bodyToMono(ProductDetailsResponse.class)
-                .retryWhen(Retry.fixedDelay(3, Duration.ofSeconds(2))
-                        .filter(throwable ->
-                                throwable instanceof WebClientRequestException ||
-                                        (throwable instanceof RuntimeException && throwable.getMessage().contains("Service Unavailable"))
-                        )
-                        .doBeforeRetry(retrySignal -> log.warn("Retrying getProductDetails for ID {} (attempt {}), due to: {}",
-                                productIdString, retrySignal.totalRetriesInARow() + 1, retrySignal.failure().getMessage()))
-                        .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) ->
-                                new RuntimeException("Product service details call exhausted retries after " + retrySignal.totalRetriesInARow() + " attempts", retrySignal.failure())));
+                .transformDeferred(resilience.forOperation(SERVICE_NAME, "getProductDetails"))
+                .retryWhen(retryPolicy.idempotent(SERVICE_NAME, "getProductDetails"));
+    }
+
+    private Mono<Map<UUID, ProductDetailsResponse>> fetchProductDetailsBatch(Collection<UUID> productIds) {
+        if (!StringUtils.hasText(productDetailsBatchPath)) {
+            log.debug("Batch details path not configured, fetching {} products individually (concurrency {})", productIds.size(), batchFallbackConcurrency);
+            return Flux.fromIterable(productIds)
+                    .flatMap(productId -> fetchProductDetails(productId)
+                            .map(productDetails -> Tuples.of(productId, productDetails))
+                            .onErrorResume(e -> e instanceof DownstreamServiceException downstreamException && downstreamException.isNotFound(),
+                                    e -> Mono.empty()), batchFallbackConcurrency)
+                    .collectMap(Tuple2::getT1, Tuple2::getT2);
+        }
+        log.info("Calling Product Service for details of {} products in one batch", productIds.size());
+        return productWebClient.post()
+                .uri(productDetailsBatchPath)
+                .bodyValue(Map.of("productIds", productIds))
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, response ->
+                        response.bodyToMono(String.class)
+                                .defaultIfEmpty("")
+                                .flatMap(errorBody -> {
+                                    log.error("Error fetching product details batch: {} - {}", response.statusCode(), errorBody);
+                                    return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Product service error fetching details batch: " + response.statusCode() + " - " + errorBody));
+                                })
+                )
+                .bodyToFlux(ProductDetailsResponse.class)
+                .filter(productDetails -> productDetails.getProductId() != null)
+                .collectMap(ProductDetailsResponse::getProductId)
+                .transformDeferred(resilience.forOperation(SERVICE_NAME, "getProductDetailsBatch"))
+                .retryWhen(retryPolicy.idempotent(SERVICE_NAME, "getProductDetailsBatch"));
     }
 
     @Override
@@ -91,7 +190,7 @@ public class ProductServiceClientImpl implements IProductServiceClient {
                                     if (response.statusCode() == HttpStatus.NOT_FOUND) {
                                         return Mono.empty();
                                     }
-                                    return Mono.error(new RuntimeException("Product service error checking stock: " + response.statusCode() + " - " + errorBody));
+                                    return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Product service error checking stock: " + response.statusCode() + " - " + errorBody));
                                 })
                 )
                 .bodyToMono(new ParameterizedTypeReference<Map<String, Boolean>>() {})
@@ -99,23 +198,26 @@ public class ProductServiceClientImpl implements IProductServiceClient {
                     log.warn("Product ID {} not found during stock check or client error. Returning available: false.", productIdString);
                     return Mono.just(Map.of("available", false));
                 }))
-                .retryWhen(Retry.fixedDelay(3, Duration.ofSeconds(2))
-                        .filter(throwable ->
-                                throwable instanceof WebClientRequestException ||
-                                        (throwable instanceof RuntimeException && throwable.getMessage().contains("Service Unavailable"))
-                        )
-                        .doBeforeRetry(retrySignal -> log.warn("Retrying checkProductStock for ID {} (attempt {}), due to: {}",
-                                productIdString, retrySignal.totalRetriesInARow() + 1, retrySignal.failure().getMessage()))
-                        .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) ->
-                                new RuntimeException("Product service stock check call exhausted retries after " + retrySignal.totalRetriesInARow() + " attempts", retrySignal.failure())));
+                .transformDeferred(resilience.forOperation(SERVICE_NAME, "checkProductStock"))
+                .retryWhen(retryPolicy.idempotent(SERVICE_NAME, "checkProductStock"));
     }
 
     @Override
     public Mono<Void> decreaseProductStock(UUID productId, int quantity) {
+        return decreaseProductStock(productId, quantity, null);
+    }
+
+    @Override
+    public Mono<Void> decreaseProductStock(UUID productId, int quantity, String idempotencyKey) {
         String productIdString = productId.toString();
-        log.info("Calling Product Service to decrease stock for product ID: {} (quantity: {})", productIdString, quantity);
+        log.info("Calling Product Service to decrease stock for product ID: {} (quantity: {}, idempotency key: {})", productIdString, quantity, idempotencyKey);
         return productWebClient.put()
                 .uri(productStockDecreasePath, productIdString)
+                .headers(headers -> {
+                    if (idempotencyKey != null) {
+                        headers.set(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+                    }
+                })
                 .bodyValue(Map.of("quantity", quantity))
                 .retrieve()
                 .onStatus(HttpStatusCode::is4xxClientError, response -> {
@@ -123,39 +225,44 @@ public class ProductServiceClientImpl implements IProductServiceClient {
                             .flatMap(errorBody -> {
                                 log.error("Client Error decreasing product stock for ID {}: {} - {}", productIdString, response.statusCode(), errorBody);
                                 if (response.statusCode() == HttpStatus.BAD_REQUEST) {
-                                    return Mono.error(new RuntimeException("Bad request for stock decrease: " + productIdString + " - " + errorBody));
+                                    return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Bad request for stock decrease: " + productIdString + " - " + errorBody));
                                 }
                                 if (response.statusCode() == HttpStatus.NOT_FOUND) {
-                                    return Mono.error(new RuntimeException("Product not found for stock decrease: " + productIdString));
+                                    return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Product not found for stock decrease: " + productIdString));
                                 }
-                                return Mono.error(new RuntimeException("Product service client error: " + response.statusCode() + " - " + errorBody));
+                                return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Product service client error: " + response.statusCode() + " - " + errorBody));
                             });
                 })
                 .onStatus(HttpStatusCode::is5xxServerError, response ->
                         response.bodyToMono(String.class).flatMap(errorBody -> {
                             log.error("Server Error decreasing product stock for ID {}: {} - {}", productIdString, response.statusCode(), errorBody);
-                            return Mono.error(new RuntimeException("Product service server error: " + response.statusCode() + " - " + errorBody));
+                            return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Product service server error: " + response.statusCode() + " - " + errorBody));
                         })
                 )
                 .toBodilessEntity()
                 .then()
-                .retryWhen(Retry.fixedDelay(3, Duration.ofSeconds(2))
-                        .filter(throwable ->
-                                throwable instanceof WebClientRequestException ||
-                                        (throwable instanceof RuntimeException && throwable.getMessage().contains("Service Unavailable"))
-                        )
-                        .doBeforeRetry(retrySignal -> log.warn("Retrying decreaseProductStock for ID {} (attempt {}), due to: {}",
-                                productIdString, retrySignal.totalRetriesInARow() + 1, retrySignal.failure().getMessage()))
-                        .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) ->
-                                new RuntimeException("Product service stock decrease call exhausted retries after " + retrySignal.totalRetriesInARow() + " attempts", retrySignal.failure())));
+                .transformDeferred(resilience.forOperation(SERVICE_NAME, "decreaseProductStock"))
+                .retryWhen(idempotencyKey != null
+                        ? retryPolicy.idempotent(SERVICE_NAME, "decreaseProductStock")
+                        : retryPolicy.nonIdempotent(SERVICE_NAME, "decreaseProductStock"));
     }
 
     @Override
     public Mono<Void> increaseProductStock(UUID productId, int quantity) {
+        return increaseProductStock(productId, quantity, null);
+    }
+
+    @Override
+    public Mono<Void> increaseProductStock(UUID productId, int quantity, String idempotencyKey) {
         String productIdString = productId.toString();
-        log.info("Calling Product Service to increase stock for product ID: {} (quantity: {})", productIdString, quantity);
+        log.info("Calling Product Service to increase stock for product ID: {} (quantity: {}, idempotency key: {})", productIdString, quantity, idempotencyKey);
         return productWebClient.put()
                 .uri(productStockIncreasePath, productIdString)
+                .headers(headers -> {
+                    if (idempotencyKey != null) {
+                        headers.set(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+                    }
+                })
                 .bodyValue(Map.of("quantity", quantity))
                 .retrieve()
                 .onStatus(HttpStatusCode::is4xxClientError, response -> {
@@ -163,30 +270,38 @@ public class ProductServiceClientImpl implements IProductServiceClient {
                             .flatMap(errorBody -> {
                                 log.error("Client Error increasing product stock for ID {}: {} - {}", productIdString, response.statusCode(), errorBody);
                                 if (response.statusCode() == HttpStatus.BAD_REQUEST) {
-                                    return Mono.error(new RuntimeException("Bad request for stock increase: " + productIdString + " - " + errorBody));
+                                    return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Bad request for stock increase: " + productIdString + " - " + errorBody));
                                 }
                                 if (response.statusCode() == HttpStatus.NOT_FOUND) {
-                                    return Mono.error(new RuntimeException("Product not found for stock increase: " + productIdString));
+                                    return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Product not found for stock increase: " + productIdString));
                                 }
-                                return Mono.error(new RuntimeException("Product service client error: " + response.statusCode() + " - " + errorBody));
+                                return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Product service client error: " + response.statusCode() + " - " + errorBody));
                             });
                 })
                 .onStatus(HttpStatusCode::is5xxServerError, response ->
                         response.bodyToMono(String.class).flatMap(errorBody -> {
                             log.error("Server Error increasing product stock for ID {}: {} - {}", productIdString, response.statusCode(), errorBody);
-                            return Mono.error(new RuntimeException("Product service server error: " + response.statusCode() + " - " + errorBody));
+                            return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(), "Product service server error: " + response.statusCode() + " - " + errorBody));
                         })
                 )
                 .toBodilessEntity()
                 .then()
-                .retryWhen(Retry.fixedDelay(3, Duration.ofSeconds(2))
-                        .filter(throwable ->
-                                throwable instanceof WebClientRequestException ||
-                                        (throwable instanceof RuntimeException && throwable.getMessage().contains("Service Unavailable"))
-                        )
-                        .doBeforeRetry(retrySignal -> log.warn("Retrying increaseProductStock for ID {} (attempt {}), due to: {}",
-                                productIdString, retrySignal.totalRetriesInARow() + 1, retrySignal.failure().getMessage()))
-                        .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) ->
-                                new RuntimeException("Product service stock increase call exhausted retries after " + retrySignal.totalRetriesInARow() + " attempts", retrySignal.failure())));
+                .transformDeferred(resilience.forOperation(SERVICE_NAME, "increaseProductStock"))
+                .retryWhen(idempotencyKey != null
+                        ? retryPolicy.idempotent(SERVICE_NAME, "increaseProductStock")
+                        : retryPolicy.nonIdempotent(SERVICE_NAME, "increaseProductStock"));
+    }
+
+    private final class ProductDetailsLoader implements AsyncCacheLoader<UUID, ProductDetailsResponse> {
+
+        @Override
+        public CompletableFuture<? extends ProductDetailsResponse> asyncLoad(UUID productId, Executor executor) {
+            return fetchProductDetails(productId).toFuture();
+        }
+
+        @Override
+        public CompletableFuture<? extends Map<? extends UUID, ? extends ProductDetailsResponse>> asyncLoadAll(Set<? extends UUID> productIds, Executor executor) {
+            return fetchProductDetailsBatch(List.copyOf(productIds)).toFuture();
+        }
     }
-}
\ No newline at end of file
+}
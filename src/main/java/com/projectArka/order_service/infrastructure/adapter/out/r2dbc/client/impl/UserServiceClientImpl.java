@@ -1,8 +1,17 @@
 package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.impl;
 
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamResilience;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamRetryPolicy;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamServiceException;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IUserServiceClient;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.UserDetailsResponse;
 import com.projectArka.order_service.infrastructure.config.WebClientConfig;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
@@ -10,7 +19,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
 import java.time.Duration;
 import java.util.UUID;
@@ -19,26 +27,67 @@ import java.util.UUID;
 @Slf4j
 public class UserServiceClientImpl implements IUserServiceClient {
 
+    private static final String SERVICE_NAME = "user-service";
+
+    private final DownstreamRetryPolicy retryPolicy;
+    private final DownstreamResilience resilience;
     private final WebClient userWebClient;
     private final String userValidationPath;
     private final String userDetailsPath;
+    private final AsyncCache<UUID, Boolean> userExistenceCache;
+    private final Cache<UUID, Boolean> lastKnownExistence;
+    private final OutageMode outageMode;
 
     @Value("${application.security.jwt.test-token:}")
     private String jwtToken;
 
     public UserServiceClientImpl(
             WebClientConfig webClientConfig,
+            DownstreamRetryPolicy retryPolicy,
+            DownstreamResilience resilience,
             @Value("${clients.user-service.url}") String userBaseUrl,
             @Value("${clients.user-service.paths.validate-user}") String userValidationPath,
-            @Value("${clients.user-service.paths.details}") String userDetailsPath) {
+            @Value("${clients.user-service.paths.details}") String userDetailsPath,
+            @Value("${clients.user-service.existence-cache.max-size:50000}") long existenceCacheMaxSize,
+            @Value("${clients.user-service.existence-cache.positive-ttl:10m}") Duration positiveTtl,
+            @Value("${clients.user-service.existence-cache.negative-ttl:30s}") Duration negativeTtl,
+            @Value("${clients.user-service.existence-cache.stale-ttl:24h}") Duration staleTtl,
+            @Value("${clients.user-service.existence-cache.outage-mode:STRICT}") OutageMode outageMode,
+            MeterRegistry meterRegistry) {
+        this.retryPolicy = retryPolicy;
+        this.resilience = resilience;
         this.userWebClient = webClientConfig.userWebClient(userBaseUrl);
         this.userValidationPath = userValidationPath;
         this.userDetailsPath = userDetailsPath;
+        this.outageMode = outageMode;
+        this.userExistenceCache = Caffeine.newBuilder()
+                .maximumSize(existenceCacheMaxSize)
+                .expireAfter(new ExistenceExpiry(positiveTtl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .buildAsync();
+        this.lastKnownExistence = Caffeine.newBuilder()
+                .maximumSize(existenceCacheMaxSize)
+                .expireAfterWrite(staleTtl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userExistenceCache.synchronous(), "userExistence");
         log.info("UserServiceClient initialized with base URL: {}", userBaseUrl);
     }
 
     @Override
     public Mono<Boolean> validateUserExists(UUID userId) {
+        return Mono.fromFuture(() -> userExistenceCache.get(userId, (key, executor) -> fetchUserExists(key).toFuture()), true)
+                .onErrorResume(e -> {
+                    Boolean lastKnown = outageMode == OutageMode.CACHE_ONLY ? lastKnownExistence.getIfPresent(userId) : null;
+                    if (lastKnown != null) {
+                        log.warn("User service unavailable, using last known existence ({}) for user ID: {}. Error: {}", lastKnown, userId, e.getMessage());
+                        return Mono.just(lastKnown);
+                    }
+                    log.error("Final error validating user existence for ID: {}. Error: {}", userId, e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    private Mono<Boolean> fetchUserExists(UUID userId) {
         String userIdString = userId.toString();
         log.debug("Calling User Service to validate user existence for ID: {}", userIdString);
         return userWebClient.get()
@@ -47,27 +96,23 @@ public class UserServiceClientImpl implements IUserServiceClient {
                 .retrieve()
                 .onStatus(HttpStatus.NOT_FOUND::equals, clientResponse -> {
                     log.warn("User ID {} not found during validation (404 from user service).", userIdString);
-                    return Mono.error(new RuntimeException("User not found: " + userIdString));
+                    return Mono.error(new DownstreamServiceException(SERVICE_NAME, clientResponse.statusCode(), "User not found: " + userIdString));
                 })
                 .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
                         response ->
                                 response.bodyToMono(String.class)
                                         .flatMap(errorBody -> {
                                             log.error("Error validating user existence for ID {}. Status: {}. Body: {}", userIdString, response.statusCode(), errorBody);
-                                            return Mono.error(new RuntimeException(
+                                            return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(),
                                                     "User service error during validation for ID " + userIdString + ": " + response.statusCode() + " - " + errorBody
                                             ));
                                         })
                 )
                 .bodyToMono(Boolean.class)
-                .retryWhen(Retry.fixedDelay(3, Duration.ofSeconds(2))
-                        .filter(throwable -> throwable instanceof RuntimeException && throwable.getMessage().contains("User service error during validation"))
-                        .doBeforeRetry(retrySignal -> log.warn("Retrying validateUserExists for user ID: {} (attempt {}), due to: {}",
-                                userIdString, retrySignal.totalRetries() + 1, retrySignal.failure().getMessage())))
-                .onErrorResume(e -> {
-                    log.error("Final error validating user existence for ID: {}. Error: {}", userIdString, e.getMessage());
-                    return Mono.just(false);
-                });
+                .transformDeferred(resilience.forOperation(SERVICE_NAME, "validateUserExists"))
+                .retryWhen(retryPolicy.idempotent(SERVICE_NAME, "validateUserExists"))
+                .onErrorResume(e -> e instanceof DownstreamServiceException downstreamException && downstreamException.isNotFound(), e -> Mono.just(false))
+                .doOnNext(exists -> lastKnownExistence.put(userId, exists));
     }
 
     @Override
@@ -80,26 +125,47 @@ public class UserServiceClientImpl implements IUserServiceClient {
                 .retrieve()
                 .onStatus(HttpStatus.NOT_FOUND::equals, clientResponse -> {
                     log.warn("User ID {} not found for details (404 from user service).", userIdString);
-                    return Mono.error(new RuntimeException("User not found for details: " + userIdString));
+                    return Mono.error(new DownstreamServiceException(SERVICE_NAME, clientResponse.statusCode(), "User not found for details: " + userIdString));
                 })
                 .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
                         response ->
                                 response.bodyToMono(String.class)
                                         .flatMap(errorBody -> {
                                             log.error("Error fetching user details for ID {}. Status: {}. Body: {}", userIdString, response.statusCode(), errorBody);
-                                            return Mono.error(new RuntimeException(
+                                            return Mono.error(new DownstreamServiceException(SERVICE_NAME, response.statusCode(),
                                                     "User service error during details fetch for ID " + userIdString + ": " + response.statusCode() + " - " + errorBody
                                             ));
                                         })
                 )
                 .bodyToMono(UserDetailsResponse.class)
-                .retryWhen(Retry.fixedDelay(3, Duration.ofSeconds(2))
-                        .filter(throwable -> throwable instanceof Exception)
-                        .doBeforeRetry(retrySignal -> log.warn("Retrying getUserDetails for user ID: {} (attempt {}), due to: {}",
-                                userIdString, retrySignal.totalRetries() + 1, retrySignal.failure().getMessage())))
+                .transformDeferred(resilience.forOperation(SERVICE_NAME, "getUserDetails"))
+                .retryWhen(retryPolicy.idempotent(SERVICE_NAME, "getUserDetails"))
                 .onErrorResume(e -> {
                     log.error("Final error fetching user details for ID: {}. Error: {}", userIdString, e.getMessage());
                     return Mono.empty();
                 });
     }
-}
\ No newline at end of file
+
+    public enum OutageMode {
+        STRICT,
+        CACHE_ONLY
+    }
+
+    private record ExistenceExpiry(long positiveTtlNanos, long negativeTtlNanos) implements Expiry<UUID, Boolean> {
+
+        @Override
+        public long expireAfterCreate(UUID userId, Boolean exists, long currentTime) {
+            return Boolean.TRUE.equals(exists) ? positiveTtlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID userId, Boolean exists, long currentTime, long currentDuration) {
+            return expireAfterCreate(userId, exists, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID userId, Boolean exists, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository;
 
 import com.projectArka.order_service.domain.model.OrderAddress;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 
 import java.util.UUID;
 
 @Repository
 public interface SpringDataR2bcOrderAddressRepository extends R2dbcRepository<OrderAddress, UUID> {
-}
\ No newline at end of file
+    @Query("SELECT * FROM order_address WHERE id = ANY(:ids)")
+    Flux<OrderAddress> findAllByIds(@Param("ids") UUID[] ids);
+}
@@ -1,7 +1,9 @@
 package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository;
 
 import com.projectArka.order_service.domain.model.OrderItem;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import org.springframework.stereotype.Repository;
@@ -12,4 +14,13 @@ import java.util.UUID;
 public interface SpringDataR2bcOrderItemRepository extends R2dbcRepository<OrderItem, UUID> {
     Flux<OrderItem> findByOrderId(UUID orderId);
     Mono<Void> deleteByOrderId(UUID orderId);
-}
\ No newline at end of file
+
+    @Query("SELECT * FROM order_item WHERE order_id = ANY(:orderIds)")
+    Flux<OrderItem> findAllByOrderIds(@Param("orderIds") UUID[] orderIds);
+
+    @Query("SELECT * FROM order_item WHERE product_name IS NULL ORDER BY id LIMIT :limit")
+    Flux<OrderItem> findFirstMissingProductSnapshot(@Param("limit") int limit);
+
+    @Query("SELECT * FROM order_item WHERE product_name IS NULL AND id > :afterId ORDER BY id LIMIT :limit")
+    Flux<OrderItem> findMissingProductSnapshotAfter(@Param("afterId") UUID afterId, @Param("limit") int limit);
+}
@@ -0,0 +1,47 @@
+package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository;
+
+import com.projectArka.order_service.domain.model.OrderOutboxEvent;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataR2bcOrderOutboxRepository extends R2dbcRepository<OrderOutboxEvent, UUID> {
+
+    @Query("UPDATE order_outbox SET attempts = attempts + 1, next_attempt_at = :leaseUntil " +
+            "WHERE id IN (SELECT id FROM order_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *")
+    Flux<OrderOutboxEvent> claimBatch(@Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil, @Param("limit") int limit);
+
+    @Query("UPDATE order_outbox SET status = 'DISPATCHED', processed_at = :now, last_error = NULL " +
+            "WHERE id = ANY(:ids) AND status = 'PENDING' RETURNING id")
+    Flux<UUID> markDispatched(@Param("ids") UUID[] ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE order_outbox SET next_attempt_at = :nextAttemptAt, last_error = :error WHERE id = :id")
+    Mono<Integer> reschedule(@Param("id") UUID id, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE order_outbox SET status = 'FAILED', processed_at = :now, last_error = :error WHERE id = :id")
+    Mono<Integer> markFailed(@Param("id") UUID id, @Param("now") Instant now, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE order_outbox SET status = 'CANCELLED', processed_at = :now " +
+            "WHERE order_id = :orderId AND event_type = 'STOCK_DECREMENT' AND status = 'PENDING'")
+    Mono<Integer> cancelPendingDecrements(@Param("orderId") UUID orderId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE order_outbox SET status = 'PENDING', attempts = 0, next_attempt_at = :now, processed_at = NULL " +
+            "WHERE id = :id AND event_type = 'STOCK_INCREMENT' AND status = 'FAILED'")
+    Mono<Integer> requeueFailedCompensation(@Param("id") UUID id, @Param("now") Instant now);
+
+    Flux<OrderOutboxEvent> findByOrderIdOrderByCreatedAt(UUID orderId);
+}
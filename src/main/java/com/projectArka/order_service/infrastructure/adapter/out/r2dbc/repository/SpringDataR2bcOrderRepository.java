@@ -1,14 +1,33 @@
 package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository;
 
 import com.projectArka.order_service.domain.model.Order;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.UUID;
 
 
 @Repository
 public interface SpringDataR2bcOrderRepository extends R2dbcRepository<Order, UUID> {
     Flux<Order> findByUserId(UUID userId);
-}
\ No newline at end of file
+
+    @Query("SELECT * FROM orders ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<Order> findFirstPage(@Param("limit") int limit);
+
+    @Query("SELECT * FROM orders WHERE (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<Order> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, @Param("limit") int limit);
+
+    @Query("SELECT * FROM orders WHERE user_id = :userId ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<Order> findFirstPageByUserId(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    @Query("SELECT * FROM orders WHERE user_id = :userId AND (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<Order> findPageByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") Instant createdAt, @Param("id") UUID id, @Param("limit") int limit);
+
+    @Query("UPDATE orders SET status = :toStatus, updated_at = :updatedAt, version = version + 1 WHERE id = :id AND status = ANY(:fromStatuses) RETURNING *")
+    Mono<Order> transitionStatus(@Param("id") UUID id, @Param("fromStatuses") String[] fromStatuses, @Param("toStatus") String toStatus, @Param("updatedAt") Instant updatedAt);
+}
@@ -1,7 +1,10 @@
 package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository;
 
 import com.projectArka.order_service.domain.model.Shipment;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +14,7 @@ import java.util.UUID;
 public interface SpringDataR2bcShipmentRepository extends R2dbcRepository<Shipment, UUID> {
     Mono<Shipment> findByOrderId(UUID orderId);
     Mono<Void> deleteByOrderId(UUID orderId);
-}
\ No newline at end of file
+
+    @Query("SELECT * FROM shipment WHERE order_id = ANY(:orderIds)")
+    Flux<Shipment> findAllByOrderIds(@Param("orderIds") UUID[] orderIds);
+}
@@ -0,0 +1,28 @@
+package com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository;
+
+import com.projectArka.order_service.domain.model.StockReservation;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataR2bcStockReservationRepository extends R2dbcRepository<StockReservation, UUID> {
+
+    @Modifying
+    @Query("UPDATE stock_reservation SET status = 'SETTLED', settled_at = :now WHERE id = ANY(:ids) AND status = 'RESERVED'")
+    Mono<Integer> markSettled(@Param("ids") UUID[] ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE stock_reservation SET status = 'RELEASED', settled_at = :now WHERE id = :id AND status = 'RESERVED'")
+    Mono<Integer> markReleased(@Param("id") UUID id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE stock_reservation SET status = 'RELEASED', settled_at = :now WHERE order_id = :orderId AND status = 'RESERVED'")
+    Mono<Integer> releaseOrder(@Param("orderId") UUID orderId, @Param("now") Instant now);
+}
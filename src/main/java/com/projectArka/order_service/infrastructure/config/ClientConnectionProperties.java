@@ -0,0 +1,49 @@
+package com.projectArka.order_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "clients")
+public class ClientConnectionProperties {
+
+    private Service productService = new Service();
+    private Service userService = new Service();
+
+    @Data
+    public static class Service {
+        private Http http = new Http();
+        private Resilience resilience = new Resilience();
+    }
+
+    @Data
+    public static class Http {
+        private int maxConnections = 50;
+        private int pendingAcquireMaxCount = 100;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInBackground = Duration.ofSeconds(30);
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private boolean keepAlive = true;
+        private boolean tcpNoDelay = true;
+        private boolean http2 = false;
+    }
+
+    @Data
+    public static class Resilience {
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 5;
+        private int maxConcurrentCalls = 50;
+        private Duration maxWaitDuration = Duration.ZERO;
+        private Duration timeout = Duration.ofSeconds(3);
+    }
+}
@@ -0,0 +1,49 @@
+package com.projectArka.order_service.infrastructure.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpectedIndexesVerifier {
+
+    static final List<String> EXPECTED_INDEXES = List.of(
+            "order_item_order_id_idx",
+            "shipment_order_id_idx",
+            "orders_user_id_created_at_idx",
+            "orders_created_at_idx",
+            "orders_status_created_at_idx",
+            "order_outbox_pending_idx",
+            "stock_reservation_reserved_idx",
+            "order_item_missing_product_snapshot_idx",
+            "idempotency_key_expires_at_idx");
+
+    private final DatabaseClient databaseClient;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIndexes() {
+        databaseClient.sql("SELECT indexname FROM pg_indexes WHERE schemaname = 'public' AND indexname = ANY(:names)")
+                .bind("names", EXPECTED_INDEXES.toArray(String[]::new))
+                .map(row -> row.get("indexname", String.class))
+                .all()
+                .collectList()
+                .subscribe(present -> {
+                    Set<String> missing = new LinkedHashSet<>(EXPECTED_INDEXES);
+                    present.forEach(missing::remove);
+                    if (missing.isEmpty()) {
+                        log.info("All {} expected order indexes are present.", EXPECTED_INDEXES.size());
+                    } else {
+                        log.warn("Missing expected indexes {}; order reads will fall back to sequential scans. Flyway applies them at startup; check the spring.flyway.* settings and flyway_schema_history.", missing);
+                    }
+                }, e -> log.warn("Could not verify order indexes: {}", e.getMessage()));
+    }
+}
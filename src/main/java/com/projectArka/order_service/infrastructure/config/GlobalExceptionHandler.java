@@ -3,6 +3,8 @@ package com.projectArka.order_service.infrastructure.config;
 import com.projectArka.order_service.domain.exception.OrderNotFoundException;
 import com.projectArka.order_service.domain.exception.UserNotFoundException;
 import com.projectArka.order_service.domain.exception.InvalidOrderDataException;
+import com.projectArka.order_service.domain.exception.InvalidStatusTransitionException;
+import com.projectArka.order_service.domain.exception.IdempotencyKeyConflictException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -30,6 +32,18 @@ public class GlobalExceptionHandler {
         return Mono.just(ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Mono<String> handleInvalidStatusTransitionException(InvalidStatusTransitionException ex) {
+        return Mono.just(ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Mono<String> handleIdempotencyKeyConflictException(IdempotencyKeyConflictException ex) {
+        return Mono.just(ex.getMessage());
+    }
+
     @ExceptionHandler(RuntimeException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Mono<String> handleRuntimeException(RuntimeException ex) {
@@ -1,9 +1,30 @@
 package com.projectArka.order_service.infrastructure.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 
 @Configuration
 @EnableR2dbcRepositories(basePackages = "com.projectArka.order_service.infrastructure.adapter.out.r2dbc.repository")
 public class R2dbcConfig {
-}
\ No newline at end of file
+
+    @Bean
+    static BeanPostProcessor connectionAcquireTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory connectionFactory && !(bean instanceof TimedConnectionFactory)) {
+                    MeterRegistry registry = meterRegistry.getIfAvailable();
+                    if (registry != null) {
+                        return new TimedConnectionFactory(connectionFactory, registry, beanName);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.projectArka.order_service.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory> {
+
+    private static final String ACQUIRE_TIMER = "r2dbc.pool.acquire";
+
+    private final ConnectionFactory delegate;
+    private final MeterRegistry meterRegistry;
+    private final String name;
+    private final AtomicLong lastAcquireNanos = new AtomicLong();
+
+    public TimedConnectionFactory(ConnectionFactory delegate, MeterRegistry meterRegistry, String name) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.name = name;
+        meterRegistry.gauge("r2dbc.pool.acquire.last", Tags.of("name", name),
+                lastAcquireNanos, nanos -> nanos.get() / 1_000_000.0);
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.from(delegate.create())
+                    .doOnSuccess(connection -> record(start, "success"))
+                    .doOnError(e -> record(start, "error"))
+                    .doOnCancel(() -> record(start, "cancelled"));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    public void close() {
+        if (delegate instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    private void record(long start, String outcome) {
+        long elapsed = System.nanoTime() - start;
+        lastAcquireNanos.set(elapsed);
+        Timer.builder(ACQUIRE_TIMER)
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofNanos(elapsed));
+    }
+}
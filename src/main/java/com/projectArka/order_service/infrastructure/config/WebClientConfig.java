@@ -1,22 +1,60 @@
 package com.projectArka.order_service.infrastructure.config;
 
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
+@EnableConfigurationProperties(ClientConnectionProperties.class)
+@RequiredArgsConstructor
 public class WebClientConfig {
 
+    private final ClientConnectionProperties clientConnectionProperties;
+
     @Bean
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
 
     public WebClient productWebClient(String baseUrl) {
-        return webClientBuilder().baseUrl(baseUrl).build();
+        return buildWebClient("product-service", baseUrl, clientConnectionProperties.getProductService().getHttp());
     }
 
     public WebClient userWebClient(String baseUrl) {
-        return webClientBuilder().baseUrl(baseUrl).build();
+        return buildWebClient("user-service", baseUrl, clientConnectionProperties.getUserService().getHttp());
+    }
+
+    private WebClient buildWebClient(String serviceName, String baseUrl, ClientConnectionProperties.Http http) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(serviceName)
+                .maxConnections(http.getMaxConnections())
+                .pendingAcquireMaxCount(http.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(http.getPendingAcquireTimeout())
+                .maxIdleTime(http.getMaxIdleTime())
+                .maxLifeTime(http.getMaxLifeTime())
+                .evictInBackground(http.getEvictInBackground())
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, http.isKeepAlive())
+                .option(ChannelOption.TCP_NODELAY, http.isTcpNoDelay())
+                .keepAlive(http.isKeepAlive())
+                .responseTimeout(http.getResponseTimeout());
+        if (http.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        return webClientBuilder().clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
-}
\ No newline at end of file
+}
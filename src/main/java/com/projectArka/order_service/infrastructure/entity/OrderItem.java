@@ -34,6 +34,12 @@ public class OrderItem {
     @Column("product_id")
     private UUID productId;
 
+    @Column("product_name")
+    private String productName;
+
+    @Column("product_sku")
+    private String productSku;
+
     @CreatedDate
     @Column("created_at")
     private Instant createdAt;
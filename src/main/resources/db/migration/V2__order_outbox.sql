@@ -0,0 +1,18 @@
+CREATE TABLE public.order_outbox (
+	id uuid DEFAULT gen_random_uuid() NOT NULL,
+	order_id uuid NOT NULL,
+	event_type varchar(50) NOT NULL,
+	product_id uuid NOT NULL,
+	quantity int4 NOT NULL,
+	status varchar(20) DEFAULT 'PENDING' NOT NULL,
+	attempts int4 DEFAULT 0 NOT NULL,
+	next_attempt_at timestamp DEFAULT CURRENT_TIMESTAMP NOT NULL,
+	last_error varchar(1000) NULL,
+	created_at timestamp DEFAULT CURRENT_TIMESTAMP NULL,
+	processed_at timestamp NULL,
+	CONSTRAINT order_outbox_pkey PRIMARY KEY (id)
+);
+
+ALTER TABLE public.order_outbox ADD CONSTRAINT order_outbox_order_id_fkey FOREIGN KEY (order_id) REFERENCES public.orders(id) ON DELETE CASCADE;
+
+CREATE INDEX order_outbox_pending_idx ON public.order_outbox (next_attempt_at) WHERE status = 'PENDING';
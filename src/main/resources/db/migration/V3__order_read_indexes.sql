@@ -0,0 +1,9 @@
+CREATE INDEX IF NOT EXISTS order_item_order_id_idx ON public.order_item (order_id);
+
+CREATE INDEX IF NOT EXISTS shipment_order_id_idx ON public.shipment (order_id);
+
+CREATE INDEX IF NOT EXISTS orders_user_id_created_at_idx ON public.orders (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS orders_created_at_idx ON public.orders (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS orders_status_created_at_idx ON public.orders (status, created_at);
@@ -0,0 +1,14 @@
+CREATE TABLE public.stock_reservation (
+	id uuid NOT NULL,
+	order_id uuid NOT NULL,
+	product_id uuid NOT NULL,
+	quantity int4 NOT NULL,
+	status varchar(20) DEFAULT 'RESERVED' NOT NULL,
+	created_at timestamp DEFAULT CURRENT_TIMESTAMP NULL,
+	settled_at timestamp NULL,
+	CONSTRAINT stock_reservation_pkey PRIMARY KEY (id)
+);
+
+ALTER TABLE public.stock_reservation ADD CONSTRAINT stock_reservation_order_id_fkey FOREIGN KEY (order_id) REFERENCES public.orders(id) ON DELETE CASCADE;
+
+CREATE INDEX stock_reservation_reserved_idx ON public.stock_reservation (product_id) INCLUDE (quantity) WHERE status = 'RESERVED';
@@ -0,0 +1,5 @@
+ALTER TABLE public.order_item ADD COLUMN IF NOT EXISTS product_name varchar(255) NULL;
+
+ALTER TABLE public.order_item ADD COLUMN IF NOT EXISTS product_sku varchar(100) NULL;
+
+CREATE INDEX IF NOT EXISTS order_item_missing_product_snapshot_idx ON public.order_item (id) WHERE product_name IS NULL;
@@ -0,0 +1,12 @@
+CREATE TABLE public.idempotency_key (
+	idempotency_key varchar(255) NOT NULL,
+	request_hash varchar(64) NOT NULL,
+	status varchar(20) DEFAULT 'IN_PROGRESS' NOT NULL,
+	order_id uuid NULL,
+	response_body text NULL,
+	created_at timestamp DEFAULT CURRENT_TIMESTAMP NULL,
+	expires_at timestamp NOT NULL,
+	CONSTRAINT idempotency_key_pkey PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idempotency_key_expires_at_idx ON public.idempotency_key (expires_at);
@@ -0,0 +1,6 @@
+UPDATE public.orders
+SET created_at = COALESCE(order_date, updated_at, CURRENT_TIMESTAMP)
+WHERE created_at IS NULL;
+
+ALTER TABLE public.orders ALTER COLUMN created_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE public.orders ALTER COLUMN created_at SET NOT NULL;
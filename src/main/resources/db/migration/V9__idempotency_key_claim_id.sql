@@ -0,0 +1 @@
+ALTER TABLE public.idempotency_key ADD COLUMN IF NOT EXISTS claim_id uuid NULL;
@@ -0,0 +1,97 @@
+package com.projectArka.order_service.ClientTest;
+
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamResilience;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamServiceException;
+import com.projectArka.order_service.infrastructure.config.ClientConnectionProperties;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+class DownstreamResilienceTest {
+
+    private static final String SERVICE = "product-service";
+
+    private DownstreamResilience resilience(Duration timeout, int maxConcurrentCalls) {
+        ClientConnectionProperties properties = new ClientConnectionProperties();
+        ClientConnectionProperties.Resilience settings = properties.getProductService().getResilience();
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumNumberOfCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setTimeout(timeout);
+        settings.setMaxConcurrentCalls(maxConcurrentCalls);
+        settings.setMaxWaitDuration(Duration.ZERO);
+        return new DownstreamResilience(properties, new SimpleMeterRegistry());
+    }
+
+    private static Mono<String> failingWith(HttpStatus status) {
+        return Mono.error(new DownstreamServiceException(SERVICE, status, "status " + status.value()));
+    }
+
+    @Test
+    @DisplayName("Should not open the circuit breaker on non-retryable 404 responses")
+    void notFound_isIgnoredByCircuitBreaker() {
+        DownstreamResilience resilience = resilience(Duration.ofSeconds(5), 10);
+
+        for (int i = 0; i < 6; i++) {
+            StepVerifier.create(failingWith(HttpStatus.NOT_FOUND).transform(resilience.<String>forOperation(SERVICE, "getProductDetails")))
+                    .expectError(DownstreamServiceException.class)
+                    .verify();
+        }
+
+        StepVerifier.create(Mono.just("ok").transform(resilience.<String>forOperation(SERVICE, "getProductDetails")))
+                .expectNext("ok")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should open the circuit breaker on retryable 503 responses")
+    void serviceUnavailable_opensCircuitBreaker() {
+        DownstreamResilience resilience = resilience(Duration.ofSeconds(5), 10);
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(failingWith(HttpStatus.SERVICE_UNAVAILABLE).transform(resilience.<String>forOperation(SERVICE, "getProductDetails")))
+                    .expectError(DownstreamServiceException.class)
+                    .verify();
+        }
+
+        StepVerifier.create(Mono.just("ok").transform(resilience.<String>forOperation(SERVICE, "getProductDetails")))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the bulkhead's concurrency limit")
+    void bulkhead_rejectsExcessConcurrentCalls() {
+        DownstreamResilience resilience = resilience(Duration.ofSeconds(5), 1);
+
+        Disposable inFlight = Mono.<String>never()
+                .transform(resilience.<String>forOperation(SERVICE, "getProductStockBatch"))
+                .subscribe();
+        try {
+            StepVerifier.create(Mono.just("ok").transform(resilience.<String>forOperation(SERVICE, "getProductStockBatch")))
+                    .expectError(BulkheadFullException.class)
+                    .verify();
+        } finally {
+            inFlight.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail calls that exceed the time limiter's timeout")
+    void timeLimiter_failsSlowCalls() {
+        DownstreamResilience resilience = resilience(Duration.ofMillis(50), 10);
+
+        StepVerifier.create(Mono.<String>never().transform(resilience.<String>forOperation(SERVICE, "getProductDetails")))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,117 @@
+package com.projectArka.order_service.ClientTest;
+
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamRetryPolicy;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DownstreamRetryPolicyTest {
+
+    private static final String SERVICE = "product-service";
+    private static final String OPERATION = "getProductDetails";
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger subscriptions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        subscriptions = new AtomicInteger();
+    }
+
+    private DownstreamRetryPolicy policy(double budgetRatio, int budgetMaxTokens) {
+        return new DownstreamRetryPolicy(meterRegistry, 3, Duration.ofMillis(1), Duration.ofMillis(5), 0.0,
+                budgetRatio, budgetMaxTokens);
+    }
+
+    private Mono<String> failingWith(HttpStatus status) {
+        return Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.error(new DownstreamServiceException(SERVICE, status, "status " + status.value()));
+        });
+    }
+
+    @Test
+    @DisplayName("Should retry 503 until max attempts are exhausted")
+    void serviceUnavailable_isRetried() {
+        StepVerifier.create(failingWith(HttpStatus.SERVICE_UNAVAILABLE).retryWhen(policy(0.2, 10).idempotent(SERVICE, OPERATION)))
+                .expectErrorMatches(throwable -> throwable instanceof DownstreamServiceException
+                        && throwable.getMessage().contains("exhausted retries"))
+                .verify();
+
+        assertEquals(4, subscriptions.get());
+        assertEquals(3.0, meterRegistry.counter("http.client.retries", "service", SERVICE, "operation", OPERATION).count());
+    }
+
+    @Test
+    @DisplayName("Should retry 429 until max attempts are exhausted")
+    void tooManyRequests_isRetried() {
+        StepVerifier.create(failingWith(HttpStatus.TOO_MANY_REQUESTS).retryWhen(policy(0.2, 10).idempotent(SERVICE, OPERATION)))
+                .expectErrorMatches(throwable -> throwable instanceof DownstreamServiceException
+                        && throwable.getMessage().contains("exhausted retries"))
+                .verify();
+
+        assertEquals(4, subscriptions.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry 501 Not Implemented")
+    void notImplemented_isNotRetried() {
+        StepVerifier.create(failingWith(HttpStatus.NOT_IMPLEMENTED).retryWhen(policy(0.2, 10).idempotent(SERVICE, OPERATION)))
+                .expectErrorMatches(throwable -> throwable instanceof DownstreamServiceException downstream
+                        && downstream.getStatusCode() == 501)
+                .verify();
+
+        assertEquals(1, subscriptions.get());
+        assertEquals(0.0, meterRegistry.counter("http.client.retries", "service", SERVICE, "operation", OPERATION).count());
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once the retry budget is empty")
+    void emptyBudget_stopsRetrying() {
+        // One token and no deposits: the first retry spends it, the second is refused
+        StepVerifier.create(failingWith(HttpStatus.SERVICE_UNAVAILABLE).retryWhen(policy(0.0, 1).idempotent(SERVICE, OPERATION)))
+                .expectErrorMatches(throwable -> throwable instanceof DownstreamServiceException downstream
+                        && downstream.getStatusCode() == 503)
+                .verify();
+
+        assertEquals(2, subscriptions.get());
+        assertEquals(1.0, meterRegistry.counter("http.client.retry.budget.exhausted", "service", SERVICE, "operation", OPERATION).count());
+    }
+
+    @Test
+    @DisplayName("Should share the retry budget across calls to the same service")
+    void emptyBudget_appliesToLaterCalls() {
+        DownstreamRetryPolicy policy = policy(0.0, 1);
+        StepVerifier.create(failingWith(HttpStatus.SERVICE_UNAVAILABLE).retryWhen(policy.idempotent(SERVICE, OPERATION)))
+                .expectError(DownstreamServiceException.class)
+                .verify();
+        subscriptions.set(0);
+
+        StepVerifier.create(failingWith(HttpStatus.SERVICE_UNAVAILABLE).retryWhen(policy.idempotent(SERVICE, "getProductStockBatch")))
+                .expectError(DownstreamServiceException.class)
+                .verify();
+
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry HTTP errors for non-idempotent calls")
+    void nonIdempotent_doesNotRetryHttpErrors() {
+        StepVerifier.create(failingWith(HttpStatus.SERVICE_UNAVAILABLE).retryWhen(policy(0.2, 10).nonIdempotent(SERVICE, "decreaseProductStock")))
+                .expectError(DownstreamServiceException.class)
+                .verify();
+
+        assertEquals(1, subscriptions.get());
+    }
+}
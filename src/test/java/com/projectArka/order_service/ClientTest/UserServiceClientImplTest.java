@@ -0,0 +1,144 @@
+package com.projectArka.order_service.ClientTest;
+
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamResilience;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamRetryPolicy;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.impl.UserServiceClientImpl;
+import com.projectArka.order_service.infrastructure.config.ClientConnectionProperties;
+import com.projectArka.order_service.infrastructure.config.WebClientConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserServiceClientImplTest {
+
+    private static final Duration SHORT_TTL = Duration.ofMillis(50);
+    private static final Duration LONG_TTL = Duration.ofHours(1);
+
+    private final UUID existingUserId = UUID.randomUUID();
+    private final UUID missingUserId = UUID.randomUUID();
+
+    private SimpleMeterRegistry meterRegistry;
+    private Map<UUID, HttpStatus> statusByUserId;
+    private Map<UUID, AtomicInteger> callsByUserId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        statusByUserId = new ConcurrentHashMap<>();
+        callsByUserId = new ConcurrentHashMap<>();
+        statusByUserId.put(existingUserId, HttpStatus.OK);
+        statusByUserId.put(missingUserId, HttpStatus.NOT_FOUND);
+    }
+
+    private UserServiceClientImpl client(Duration positiveTtl, Duration negativeTtl, UserServiceClientImpl.OutageMode outageMode) {
+        ClientConnectionProperties properties = new ClientConnectionProperties();
+        // Answers from statusByUserId instead of going over the network
+        WebClientConfig webClientConfig = new WebClientConfig(properties) {
+            @Override
+            public WebClient userWebClient(String baseUrl) {
+                return WebClient.builder()
+                        .baseUrl(baseUrl)
+                        .exchangeFunction(request -> Mono.fromSupplier(() -> respond(request.url().getPath())))
+                        .build();
+            }
+        };
+        DownstreamRetryPolicy retryPolicy = new DownstreamRetryPolicy(meterRegistry, 1, Duration.ofMillis(1), Duration.ofMillis(5), 0.0, 0.2, 10);
+        return new UserServiceClientImpl(webClientConfig, retryPolicy, new DownstreamResilience(properties, meterRegistry),
+                "http://user-service", "/api/users/{userId}/exists", "/api/users/{userId}",
+                100, positiveTtl, negativeTtl, LONG_TTL, outageMode, meterRegistry);
+    }
+
+    private ClientResponse respond(String path) {
+        UUID userId = UUID.fromString(path.split("/")[3]);
+        callsByUserId.computeIfAbsent(userId, id -> new AtomicInteger()).incrementAndGet();
+        HttpStatus status = statusByUserId.get(userId);
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(status == HttpStatus.OK ? "true" : "\"" + status.getReasonPhrase() + "\"")
+                .build();
+    }
+
+    private int calls(UUID userId) {
+        AtomicInteger calls = callsByUserId.get(userId);
+        return calls == null ? 0 : calls.get();
+    }
+
+    private static void expectExists(UserServiceClientImpl client, UUID userId, boolean exists) {
+        StepVerifier.create(client.validateUserExists(userId))
+                .expectNext(exists)
+                .verifyComplete();
+    }
+
+    private static void waitPast(Duration ttl) throws InterruptedException {
+        Thread.sleep(ttl.toMillis() * 4);
+    }
+
+    @Test
+    @DisplayName("Should keep positive results for the positive TTL and negative results for the negative TTL")
+    void existenceExpiry_usesSeparateTtls() throws InterruptedException {
+        UserServiceClientImpl client = client(LONG_TTL, SHORT_TTL, UserServiceClientImpl.OutageMode.STRICT);
+        expectExists(client, existingUserId, true);
+        expectExists(client, missingUserId, false);
+
+        waitPast(SHORT_TTL);
+        expectExists(client, existingUserId, true);
+        expectExists(client, missingUserId, false);
+
+        assertEquals(1, calls(existingUserId));
+        assertEquals(2, calls(missingUserId));
+    }
+
+    @Test
+    @DisplayName("Should not serve a negative result after its TTL once the user exists")
+    void negativeResult_notServedAfterTtl() throws InterruptedException {
+        UserServiceClientImpl client = client(LONG_TTL, SHORT_TTL, UserServiceClientImpl.OutageMode.STRICT);
+        expectExists(client, missingUserId, false);
+
+        statusByUserId.put(missingUserId, HttpStatus.OK);
+        expectExists(client, missingUserId, false);
+        waitPast(SHORT_TTL);
+
+        expectExists(client, missingUserId, true);
+        assertEquals(2, calls(missingUserId));
+    }
+
+    @Test
+    @DisplayName("Should answer from the last known existence in CACHE_ONLY mode when the user service is down")
+    void cacheOnly_servesLastKnownExistenceDuringOutage() throws InterruptedException {
+        UserServiceClientImpl client = client(SHORT_TTL, SHORT_TTL, UserServiceClientImpl.OutageMode.CACHE_ONLY);
+        expectExists(client, existingUserId, true);
+        waitPast(SHORT_TTL);
+
+        statusByUserId.put(existingUserId, HttpStatus.SERVICE_UNAVAILABLE);
+        expectExists(client, existingUserId, true);
+        assertEquals(3, calls(existingUserId));
+    }
+
+    @Test
+    @DisplayName("Should reject the user in STRICT mode when the user service is down, even if it was seen before")
+    void strict_rejectsDuringOutage() throws InterruptedException {
+        UserServiceClientImpl client = client(SHORT_TTL, SHORT_TTL, UserServiceClientImpl.OutageMode.STRICT);
+        expectExists(client, existingUserId, true);
+        waitPast(SHORT_TTL);
+
+        statusByUserId.put(existingUserId, HttpStatus.SERVICE_UNAVAILABLE);
+        expectExists(client, existingUserId, false);
+        assertEquals(3, calls(existingUserId));
+    }
+}
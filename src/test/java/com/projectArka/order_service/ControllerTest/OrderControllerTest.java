@@ -2,15 +2,22 @@ package com.projectArka.order_service.ControllerTest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.projectArka.order_service.OrderServiceApplication;
+import com.projectArka.order_service.application.dto.BulkOrderResultDTO;
+import com.projectArka.order_service.application.dto.OrderChangeEventDTO;
 import com.projectArka.order_service.application.dto.OrderAddressDTO;
 import com.projectArka.order_service.application.dto.OrderItemRequestDTO;
 import com.projectArka.order_service.application.dto.OrderItemResponseDTO;
+import com.projectArka.order_service.application.dto.OrderPageResponseDTO;
 import com.projectArka.order_service.application.dto.OrderRequestDTO;
 import com.projectArka.order_service.application.dto.OrderResponseDTO;
 import com.projectArka.order_service.application.dto.ShipmentDTO;
+import com.projectArka.order_service.application.service.OrderResponseCache;
 import com.projectArka.order_service.application.usecase.OrderManagementUseCase;
+import com.projectArka.order_service.domain.exception.IdempotencyKeyConflictException;
 import com.projectArka.order_service.domain.exception.InvalidOrderDataException;
+import com.projectArka.order_service.domain.exception.InvalidStatusTransitionException;
 import com.projectArka.order_service.domain.exception.OrderNotFoundException;
+import com.projectArka.order_service.domain.model.OrderView;
 import com.projectArka.order_service.infrastructure.adapter.in.webflux.OrderController;
 import com.projectArka.order_service.infrastructure.config.R2dbcConfig;
 import com.projectArka.order_service.infrastructure.config.GlobalExceptionHandler;
@@ -23,6 +30,8 @@ import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
@@ -33,8 +42,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(
@@ -54,6 +67,9 @@ class OrderControllerTest {
     @MockBean
     private OrderManagementUseCase orderManagementUseCase;
 
+    @MockBean
+    private OrderResponseCache orderResponseCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -61,6 +77,7 @@ class OrderControllerTest {
     private OrderResponseDTO orderResponseDTO;
     private String orderId;
     private String userId;
+    private final String etag = "\"v1\"";
 
     @BeforeEach
     void setUp() {
@@ -138,6 +155,9 @@ class OrderControllerTest {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
+
+        when(orderManagementUseCase.getOrderETag(anyString(), any())).thenReturn(Mono.just(etag));
+        when(orderManagementUseCase.getOrdersByUserIdETag(anyString(), any())).thenReturn(Mono.just(etag));
     }
 
     @Test
@@ -155,6 +175,38 @@ class OrderControllerTest {
                 .isEqualTo(orderResponseDTO);
     }
 
+    @Test
+    @DisplayName("Should pass the Idempotency-Key header through to order creation")
+    void createOrder_withIdempotencyKey() throws Exception {
+        when(orderManagementUseCase.createOrder(any(OrderRequestDTO.class), eq("retry-key-1")))
+                .thenReturn(Mono.just(orderResponseDTO));
+
+        webTestClient.post().uri("/api/orders")
+                .header("Idempotency-Key", "retry-key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(orderRequestDTO))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(OrderResponseDTO.class)
+                .isEqualTo(orderResponseDTO);
+
+        verify(orderManagementUseCase, never()).createOrder(any(OrderRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should return 409 CONFLICT when an Idempotency-Key is reused for a different order")
+    void createOrder_idempotencyKeyConflict() throws Exception {
+        when(orderManagementUseCase.createOrder(any(OrderRequestDTO.class), anyString()))
+                .thenReturn(Mono.error(new IdempotencyKeyConflictException("Idempotency-Key retry-key-1 was already used with a different request.")));
+
+        webTestClient.post().uri("/api/orders")
+                .header("Idempotency-Key", "retry-key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(orderRequestDTO))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
     @Test
     @DisplayName("Should return 500 INTERNAL SERVER ERROR for unexpected errors during order creation")
     void createOrder_unexpectedError() throws Exception {
@@ -171,7 +223,7 @@ class OrderControllerTest {
     @Test
     @DisplayName("Should retrieve an order by ID successfully and return 200 OK")
     void getOrderById_success() {
-        when(orderManagementUseCase.getOrderById(orderId))
+        when(orderManagementUseCase.getOrderById(orderId, OrderView.FULL))
                 .thenReturn(Mono.just(orderResponseDTO));
 
         webTestClient.get().uri("/api/orders/{orderId}", orderId)
@@ -181,10 +233,93 @@ class OrderControllerTest {
                 .isEqualTo(orderResponseDTO);
     }
 
+    @Test
+    @DisplayName("Should cache the encoded full view of an order after a miss")
+    void getOrderById_miss_populatesResponseCache() {
+        when(orderManagementUseCase.getOrderById(orderId, OrderView.FULL))
+                .thenReturn(Mono.just(orderResponseDTO));
+
+        webTestClient.get().uri("/api/orders/{orderId}", orderId)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(orderResponseCache).put(eq(UUID.fromString(orderId)), eq(orderResponseDTO.getStatus()), eq(etag), any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Should not cache an order response built with placeholder product names")
+    void getOrderById_productNamesIncomplete_notCached() {
+        when(orderManagementUseCase.getOrderById(orderId, OrderView.FULL))
+                .thenReturn(Mono.just(orderResponseDTO.toBuilder().productNamesIncomplete(true).build()));
+
+        webTestClient.get().uri("/api/orders/{orderId}", orderId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(OrderResponseDTO.class)
+                .isEqualTo(orderResponseDTO);
+
+        verify(orderResponseCache, never()).put(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should serve a cached order response without calling the use case")
+    void getOrderById_cached_skipsUseCase() throws Exception {
+        when(orderResponseCache.get(UUID.fromString(orderId), etag))
+                .thenReturn(objectMapper.writeValueAsBytes(orderResponseDTO));
+
+        webTestClient.get().uri("/api/orders/{orderId}", orderId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(OrderResponseDTO.class)
+                .isEqualTo(orderResponseDTO);
+
+        verify(orderManagementUseCase, never()).getOrderById(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should return 304 NOT MODIFIED without loading the order when the ETag matches")
+    void getOrderById_ifNoneMatch_notModified() {
+        webTestClient.get().uri("/api/orders/{orderId}", orderId)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+
+        verify(orderManagementUseCase, never()).getOrderById(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK with the current ETag when If-None-Match is stale")
+    void getOrderById_staleIfNoneMatch_returnsBody() {
+        when(orderManagementUseCase.getOrderById(orderId, OrderView.FULL))
+                .thenReturn(Mono.just(orderResponseDTO));
+
+        webTestClient.get().uri("/api/orders/{orderId}", orderId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody(OrderResponseDTO.class)
+                .isEqualTo(orderResponseDTO);
+    }
+
+    @Test
+    @DisplayName("Should omit the ETag when the order carries placeholder product names")
+    void getOrderById_incompleteProductNames_noETag() {
+        when(orderManagementUseCase.getOrderById(orderId, OrderView.FULL))
+                .thenReturn(Mono.just(orderResponseDTO.toBuilder().productNamesIncomplete(true).build()));
+
+        webTestClient.get().uri("/api/orders/{orderId}", orderId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.ETAG);
+    }
+
     @Test
     @DisplayName("Should return 404 NOT FOUND for non-existent order ID")
     void getOrderById_notFound() {
-        when(orderManagementUseCase.getOrderById(anyString()))
+        when(orderManagementUseCase.getOrderById(anyString(), any()))
                 .thenReturn(Mono.error(new OrderNotFoundException("Order not found")));
 
         webTestClient.get().uri("/api/orders/{orderId}", orderId)
@@ -195,7 +330,7 @@ class OrderControllerTest {
     @Test
     @DisplayName("Should return 500 INTERNAL SERVER ERROR for invalid order ID format (as per current controller handling)")
     void getOrderById_invalidIdFormat() {
-        when(orderManagementUseCase.getOrderById(anyString()))
+        when(orderManagementUseCase.getOrderById(anyString(), any()))
                 .thenReturn(Mono.error(new InvalidOrderDataException("Invalid order ID format")));
 
         webTestClient.get().uri("/api/orders/{orderId}", "invalid-uuid")
@@ -206,7 +341,7 @@ class OrderControllerTest {
     @Test
     @DisplayName("Should return 500 INTERNAL SERVER ERROR for unexpected errors fetching order by ID")
     void getOrderById_unexpectedError() {
-        when(orderManagementUseCase.getOrderById(anyString()))
+        when(orderManagementUseCase.getOrderById(anyString(), any()))
                 .thenReturn(Mono.error(new RuntimeException("Database error")));
 
         webTestClient.get().uri("/api/orders/{orderId}", orderId)
@@ -217,7 +352,7 @@ class OrderControllerTest {
     @Test
     @DisplayName("Should retrieve orders by user ID successfully and return 200 OK")
     void getOrdersByUserId_success() {
-        when(orderManagementUseCase.getOrdersByUserId(userId))
+        when(orderManagementUseCase.getOrdersByUserId(userId, OrderView.FULL))
                 .thenReturn(Flux.just(orderResponseDTO, orderResponseDTO));
 
         webTestClient.get().uri("/api/orders/user/{userId}", userId)
@@ -228,10 +363,35 @@ class OrderControllerTest {
                 .contains(orderResponseDTO);
     }
 
+    @Test
+    @DisplayName("Should omit the ETag for a user's orders when any carries placeholder product names")
+    void getOrdersByUserId_incompleteProductNames_noETag() {
+        when(orderManagementUseCase.getOrdersByUserId(userId, OrderView.FULL))
+                .thenReturn(Flux.just(orderResponseDTO, orderResponseDTO.toBuilder().productNamesIncomplete(true).build()));
+
+        webTestClient.get().uri("/api/orders/user/{userId}", userId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.ETAG)
+                .expectBodyList(OrderResponseDTO.class)
+                .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should return 304 NOT MODIFIED for a user's orders when the ETag matches")
+    void getOrdersByUserId_ifNoneMatch_notModified() {
+        webTestClient.get().uri("/api/orders/user/{userId}", userId)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        verify(orderManagementUseCase, never()).getOrdersByUserId(anyString(), any());
+    }
+
     @Test
     @DisplayName("Should return 200 OK with empty list if no orders found for user ID")
     void getOrdersByUserId_noOrdersFound() {
-        when(orderManagementUseCase.getOrdersByUserId(userId))
+        when(orderManagementUseCase.getOrdersByUserId(userId, OrderView.FULL))
                 .thenReturn(Flux.empty());
 
         webTestClient.get().uri("/api/orders/user/{userId}", userId)
@@ -244,7 +404,7 @@ class OrderControllerTest {
     @Test
     @DisplayName("Should return 500 INTERNAL SERVER ERROR for unexpected errors fetching orders by user ID")
     void getOrdersByUserId_unexpectedError() {
-        when(orderManagementUseCase.getOrdersByUserId(anyString()))
+        when(orderManagementUseCase.getOrdersByUserId(anyString(), any()))
                 .thenReturn(Flux.error(new RuntimeException("Service unavailable")));
 
         webTestClient.get().uri("/api/orders/user/{userId}", userId)
@@ -284,6 +444,20 @@ class OrderControllerTest {
                 .expectStatus().isNotFound();
     }
 
+    @Test
+    @DisplayName("Should return 409 CONFLICT when the status transition is not allowed")
+    void updateOrderStatus_transitionConflict() {
+        String newStatus = "PENDING";
+        when(orderManagementUseCase.updateOrderStatus(anyString(), anyString()))
+                .thenReturn(Mono.error(new InvalidStatusTransitionException("Order cannot move from DELIVERED to PENDING")));
+
+        webTestClient.put().uri(uriBuilder -> uriBuilder.path("/api/orders/{orderId}/status")
+                        .queryParam("newStatus", newStatus)
+                        .build(orderId))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
     @Test
     @DisplayName("Should return 500 INTERNAL SERVER ERROR for unexpected errors updating order status")
     void updateOrderStatus_unexpectedError() {
@@ -323,7 +497,7 @@ class OrderControllerTest {
     @Test
     @DisplayName("Should retrieve all orders successfully and return 200 OK")
     void getAllOrders_success() {
-        when(orderManagementUseCase.getAllOrders())
+        when(orderManagementUseCase.getAllOrders(OrderView.FULL))
                 .thenReturn(Flux.just(orderResponseDTO, orderResponseDTO.toBuilder().orderId(UUID.randomUUID().toString()).build()));
 
         webTestClient.get().uri("/api/orders")
@@ -336,7 +510,7 @@ class OrderControllerTest {
     @Test
     @DisplayName("Should return 200 OK with empty list if no orders exist")
     void getAllOrders_noOrdersExist() {
-        when(orderManagementUseCase.getAllOrders())
+        when(orderManagementUseCase.getAllOrders(OrderView.FULL))
                 .thenReturn(Flux.empty());
 
         webTestClient.get().uri("/api/orders")
@@ -349,11 +523,112 @@ class OrderControllerTest {
     @Test
     @DisplayName("Should return 500 INTERNAL SERVER ERROR for unexpected errors fetching all orders")
     void getAllOrders_unexpectedError() {
-        when(orderManagementUseCase.getAllOrders())
+        when(orderManagementUseCase.getAllOrders(OrderView.FULL))
                 .thenReturn(Flux.error(new RuntimeException("Database connection lost")));
 
         webTestClient.get().uri("/api/orders")
                 .exchange()
                 .expectStatus().is5xxServerError();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return a page of orders with its next cursor and 200 OK")
+    void getOrdersPage_success() {
+        OrderPageResponseDTO page = OrderPageResponseDTO.builder()
+                .items(List.of(orderResponseDTO))
+                .nextCursor("next-cursor")
+                .build();
+        when(orderManagementUseCase.getOrdersPage(null, 1, OrderView.FULL)).thenReturn(Mono.just(page));
+
+        webTestClient.get().uri("/api/orders/page?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(OrderPageResponseDTO.class)
+                .isEqualTo(page);
+    }
+
+    @Test
+    @DisplayName("Should pass the summary view through to the use case")
+    void getOrdersPage_summaryView() {
+        OrderPageResponseDTO page = OrderPageResponseDTO.builder()
+                .items(List.of(OrderResponseDTO.builder().orderId(orderId).status("PENDING").build()))
+                .build();
+        when(orderManagementUseCase.getOrdersPage(null, 10, OrderView.SUMMARY)).thenReturn(Mono.just(page));
+
+        webTestClient.get().uri("/api/orders/page?limit=10&view=summary")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].orderId").isEqualTo(orderId)
+                .jsonPath("$.items[0].items").doesNotExist()
+                .jsonPath("$.items[0].shippingAddress").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should return 400 BAD REQUEST for an unknown view")
+    void getOrderById_unknownView() {
+        webTestClient.get().uri("/api/orders/{orderId}?view=everything", orderId)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Should stream a user's order changes as server-sent events")
+    void streamOrderChangesByUserId_sse() {
+        OrderChangeEventDTO change = OrderChangeEventDTO.builder()
+                .type("STATUS_CHANGED")
+                .orderId(orderId)
+                .userId(userId)
+                .status("SHIPPED")
+                .occurredAt(LocalDateTime.now())
+                .build();
+        when(orderManagementUseCase.streamOrderChanges(userId)).thenReturn(Flux.just(change));
+
+        webTestClient.get().uri("/api/orders/user/{userId}/stream", userId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBodyList(OrderChangeEventDTO.class)
+                .containsExactly(change);
+    }
+
+    @Test
+    @DisplayName("Should stream all orders as NDJSON when requested")
+    void streamAllOrders_ndjson() {
+        when(orderManagementUseCase.streamAllOrders(OrderView.FULL))
+                .thenReturn(Flux.just(orderResponseDTO, orderResponseDTO.toBuilder().orderId(UUID.randomUUID().toString()).build()));
+
+        webTestClient.get().uri("/api/orders")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(OrderResponseDTO.class)
+                .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should accept an NDJSON bulk import and stream one result per order")
+    void createOrdersBulk_ndjson() throws Exception {
+        String body = objectMapper.writeValueAsString(orderRequestDTO) + "\n" + objectMapper.writeValueAsString(orderRequestDTO) + "\n";
+        when(orderManagementUseCase.createOrdersBulk(any()))
+                .thenReturn(Flux.just(
+                        BulkOrderResultDTO.builder().index(0).userId(userId).status(BulkOrderResultDTO.CREATED).orderId(orderId).build(),
+                        BulkOrderResultDTO.builder().index(1).userId(userId).status(BulkOrderResultDTO.REJECTED).error("User with ID " + userId + " not found.").build()));
+
+        webTestClient.post().uri("/api/orders/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(BulkOrderResultDTO.class)
+                .hasSize(2)
+                .value(results -> {
+                    assertEquals(BulkOrderResultDTO.CREATED, results.get(0).getStatus());
+                    assertEquals(BulkOrderResultDTO.REJECTED, results.get(1).getStatus());
+                });
+    }
+}
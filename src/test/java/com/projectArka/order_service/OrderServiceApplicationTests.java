@@ -3,7 +3,8 @@ package com.projectArka.order_service;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// No database is available to the context test, so Flyway is not run
+@SpringBootTest(properties = "spring.flyway.enabled=false")
 class OrderServiceApplicationTests {
 
 	@Test
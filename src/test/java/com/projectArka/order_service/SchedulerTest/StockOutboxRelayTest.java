@@ -0,0 +1,275 @@
+package com.projectArka.order_service.SchedulerTest;
+
+import com.projectArka.order_service.application.service.OrderResponseCache;
+import com.projectArka.order_service.domain.model.Order;
+import com.projectArka.order_service.domain.model.OrderOutboxEvent;
+import com.projectArka.order_service.domain.model.OrderStatus;
+import com.projectArka.order_service.domain.port.out.IOrderChangeFeed;
+import com.projectArka.order_service.domain.port.out.IOrderOutboxRepository;
+import com.projectArka.order_service.domain.port.out.IOrderRepository;
+import com.projectArka.order_service.domain.port.out.IStockReservationRepository;
+import com.projectArka.order_service.infrastructure.adapter.in.actuator.OrderStockEndpoint;
+import com.projectArka.order_service.infrastructure.adapter.in.scheduler.StockOutboxRelay;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.DownstreamServiceException;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IProductServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockOutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private IOrderOutboxRepository outboxRepository;
+    @Mock
+    private IOrderRepository orderRepository;
+    @Mock
+    private IStockReservationRepository reservationRepository;
+    @Mock
+    private IProductServiceClient productServiceClient;
+    @Mock
+    private TransactionalOperator transactionalOperator;
+    @Mock
+    private OrderResponseCache orderResponseCache;
+    @Mock
+    private IOrderChangeFeed orderChangeFeed;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StockOutboxRelay relay;
+    private UUID orderId;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        relay = new StockOutboxRelay(outboxRepository, orderRepository, reservationRepository, productServiceClient,
+                transactionalOperator, meterRegistry, orderResponseCache, orderChangeFeed,
+                100, 4, Duration.ofSeconds(30), MAX_ATTEMPTS, Duration.ofSeconds(1), Duration.ofMinutes(5));
+        orderId = UUID.randomUUID();
+        productId = UUID.randomUUID();
+
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(outboxRepository.markDispatched(any())).thenAnswer(invocation -> Flux.fromIterable(invocation.<Collection<UUID>>getArgument(0)));
+        lenient().when(reservationRepository.markSettled(any())).thenReturn(Mono.empty());
+        lenient().when(outboxRepository.compensateEvents(any())).thenReturn(Mono.empty());
+    }
+
+    private OrderOutboxEvent event(String eventType, int attempts) {
+        return OrderOutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .orderId(orderId)
+                .eventType(eventType)
+                .productId(productId)
+                .quantity(2)
+                .status(OrderOutboxEvent.STATUS_PENDING)
+                .attempts(attempts)
+                .build();
+    }
+
+    private static DownstreamServiceException downstreamError(HttpStatus status) {
+        return new DownstreamServiceException("product-service", status, "status " + status.value());
+    }
+
+    private double outcomes(String eventType, String outcome) {
+        return meterRegistry.counter("outbox.relay.events", "type", eventType, "outcome", outcome).count();
+    }
+
+    private void stubPermanentFailureWrites(OrderOutboxEvent event) {
+        when(outboxRepository.markFailed(eq(event.getId()), anyString())).thenReturn(Mono.empty());
+        when(reservationRepository.markReleased(event.getId())).thenReturn(Mono.empty());
+    }
+
+    private void stubCompensation() {
+        when(outboxRepository.compensateOrder(orderId)).thenReturn(Mono.empty());
+        when(reservationRepository.releaseOrder(orderId)).thenReturn(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("Should reschedule a decrement that failed with a retryable error")
+    void retryableFailure_rescheduled() {
+        OrderOutboxEvent decrement = event(OrderOutboxEvent.STOCK_DECREMENT, 2);
+        when(outboxRepository.claimBatch(eq(100), any())).thenReturn(Flux.just(decrement));
+        when(productServiceClient.decreaseProductStock(productId, 2, decrement.getId().toString()))
+                .thenReturn(Mono.error(downstreamError(HttpStatus.SERVICE_UNAVAILABLE)));
+        when(outboxRepository.reschedule(eq(decrement.getId()), any(Instant.class), anyString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(relay.relayPendingEvents()).verifyComplete();
+
+        verify(outboxRepository).reschedule(eq(decrement.getId()), any(Instant.class), anyString());
+        verify(outboxRepository, never()).markFailed(any(), any());
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+        assertEquals(1.0, outcomes(OrderOutboxEvent.STOCK_DECREMENT, "rescheduled"));
+    }
+
+    @Test
+    @DisplayName("Should retry a stock restore that failed instead of dropping it")
+    void failedRestore_rescheduled() {
+        OrderOutboxEvent increment = event(OrderOutboxEvent.STOCK_INCREMENT, 1);
+        when(outboxRepository.claimBatch(eq(100), any())).thenReturn(Flux.just(increment));
+        when(productServiceClient.increaseProductStock(productId, 2, increment.getId().toString()))
+                .thenReturn(Mono.error(downstreamError(HttpStatus.BAD_GATEWAY)));
+        when(outboxRepository.reschedule(eq(increment.getId()), any(Instant.class), anyString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(relay.relayPendingEvents()).verifyComplete();
+
+        verify(outboxRepository).reschedule(eq(increment.getId()), any(Instant.class), anyString());
+        verify(outboxRepository, never()).markFailed(any(), any());
+        verify(outboxRepository, never()).compensateOrder(any());
+        assertEquals(1.0, outcomes(OrderOutboxEvent.STOCK_INCREMENT, "rescheduled"));
+    }
+
+    @Test
+    @DisplayName("Should fail the order and compensate when a decrement is rejected permanently")
+    void permanentFailure_failsOrderAndCompensates() {
+        OrderOutboxEvent decrement = event(OrderOutboxEvent.STOCK_DECREMENT, 1);
+        Order failedOrder = Order.builder().id(orderId).status(OrderStatus.FAILED).build();
+        when(outboxRepository.claimBatch(eq(100), any())).thenReturn(Flux.just(decrement));
+        when(productServiceClient.decreaseProductStock(productId, 2, decrement.getId().toString()))
+                .thenReturn(Mono.error(downstreamError(HttpStatus.UNPROCESSABLE_ENTITY)));
+        stubPermanentFailureWrites(decrement);
+        when(orderRepository.transitionStatus(eq(orderId), eq(OrderStatus.sourcesOf(OrderStatus.FAILED)), eq(OrderStatus.FAILED), any()))
+                .thenReturn(Mono.just(failedOrder));
+        when(orderChangeFeed.publish(any())).thenReturn(Mono.empty());
+        stubCompensation();
+
+        StepVerifier.create(relay.relayPendingEvents()).verifyComplete();
+
+        verify(outboxRepository).markFailed(eq(decrement.getId()), anyString());
+        verify(reservationRepository).markReleased(decrement.getId());
+        verify(outboxRepository).compensateOrder(orderId);
+        verify(reservationRepository).releaseOrder(orderId);
+        verify(orderResponseCache).invalidate(orderId);
+        verify(outboxRepository, never()).reschedule(any(), any(), any());
+        assertEquals(1.0, outcomes(OrderOutboxEvent.STOCK_DECREMENT, "failed"));
+        assertEquals(1.0, outcomes(OrderOutboxEvent.STOCK_DECREMENT, "compensated"));
+    }
+
+    @Test
+    @DisplayName("Should treat exhausted attempts as a permanent failure")
+    void attemptsExhausted_failsPermanently() {
+        OrderOutboxEvent decrement = event(OrderOutboxEvent.STOCK_DECREMENT, MAX_ATTEMPTS);
+        when(outboxRepository.claimBatch(eq(100), any())).thenReturn(Flux.just(decrement));
+        when(productServiceClient.decreaseProductStock(productId, 2, decrement.getId().toString()))
+                .thenReturn(Mono.error(downstreamError(HttpStatus.SERVICE_UNAVAILABLE)));
+        stubPermanentFailureWrites(decrement);
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq(OrderStatus.FAILED), any()))
+                .thenReturn(Mono.just(Order.builder().id(orderId).status(OrderStatus.FAILED).build()));
+        when(orderChangeFeed.publish(any())).thenReturn(Mono.empty());
+        stubCompensation();
+
+        StepVerifier.create(relay.relayPendingEvents()).verifyComplete();
+
+        verify(outboxRepository).markFailed(eq(decrement.getId()), anyString());
+        verify(outboxRepository, never()).reschedule(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should still cancel pending decrements when the order was already cancelled")
+    void permanentFailure_cancelledOrder_stillCompensates() {
+        OrderOutboxEvent decrement = event(OrderOutboxEvent.STOCK_DECREMENT, 1);
+        when(outboxRepository.claimBatch(eq(100), any())).thenReturn(Flux.just(decrement));
+        when(productServiceClient.decreaseProductStock(productId, 2, decrement.getId().toString()))
+                .thenReturn(Mono.error(downstreamError(HttpStatus.NOT_FOUND)));
+        stubPermanentFailureWrites(decrement);
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq(OrderStatus.FAILED), any())).thenReturn(Mono.empty());
+        when(orderRepository.findById(orderId)).thenReturn(Mono.just(Order.builder().id(orderId).status(OrderStatus.CANCELLED).build()));
+        stubCompensation();
+
+        StepVerifier.create(relay.relayPendingEvents()).verifyComplete();
+
+        verify(outboxRepository).compensateOrder(orderId);
+        verify(reservationRepository).releaseOrder(orderId);
+        verify(orderChangeFeed, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should not compensate a delivered order")
+    void permanentFailure_deliveredOrder_notCompensated() {
+        OrderOutboxEvent decrement = event(OrderOutboxEvent.STOCK_DECREMENT, 1);
+        when(outboxRepository.claimBatch(eq(100), any())).thenReturn(Flux.just(decrement));
+        when(productServiceClient.decreaseProductStock(productId, 2, decrement.getId().toString()))
+                .thenReturn(Mono.error(downstreamError(HttpStatus.BAD_REQUEST)));
+        stubPermanentFailureWrites(decrement);
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq(OrderStatus.FAILED), any())).thenReturn(Mono.empty());
+        when(orderRepository.findById(orderId)).thenReturn(Mono.just(Order.builder().id(orderId).status(OrderStatus.DELIVERED).build()));
+
+        StepVerifier.create(relay.relayPendingEvents()).verifyComplete();
+
+        verify(outboxRepository, never()).compensateOrder(any());
+        verify(reservationRepository, never()).releaseOrder(any());
+    }
+
+    @Test
+    @DisplayName("Should revert decrements that succeeded after their order was compensated")
+    void lateDispatch_reverted() {
+        OrderOutboxEvent onTime = event(OrderOutboxEvent.STOCK_DECREMENT, 1);
+        OrderOutboxEvent late = event(OrderOutboxEvent.STOCK_DECREMENT, 1);
+        when(outboxRepository.claimBatch(eq(100), any())).thenReturn(Flux.just(onTime, late));
+        when(productServiceClient.decreaseProductStock(eq(productId), eq(2), anyString())).thenReturn(Mono.empty());
+        // The late event was cancelled by a compensation while its call was in flight, so it no longer transitions
+        when(outboxRepository.markDispatched(any())).thenReturn(Flux.just(onTime.getId()));
+
+        StepVerifier.create(relay.relayPendingEvents()).verifyComplete();
+
+        verify(reservationRepository).markSettled(List.of(onTime.getId()));
+        verify(outboxRepository).compensateEvents(Set.of(late.getId()));
+        assertEquals(2.0, outcomes(OrderOutboxEvent.STOCK_DECREMENT, "dispatched"));
+    }
+
+    @Test
+    @DisplayName("Should dispatch a requeued stock restore with its event id as the idempotency key")
+    void requeuedCompensation_dispatched() {
+        OrderOutboxEvent increment = event(OrderOutboxEvent.STOCK_INCREMENT, 1);
+        when(outboxRepository.requeueFailedCompensation(increment.getId())).thenReturn(Mono.just(true));
+        when(outboxRepository.claimBatch(eq(100), any())).thenReturn(Flux.just(increment));
+        when(productServiceClient.increaseProductStock(productId, 2, increment.getId().toString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(new OrderStockEndpoint(outboxRepository).requeueCompensation(increment.getId().toString()))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(relay.relayPendingEvents()).verifyComplete();
+
+        verify(outboxRepository).markDispatched(List.of(increment.getId()));
+        assertEquals(1.0, outcomes(OrderOutboxEvent.STOCK_INCREMENT, "dispatched"));
+    }
+
+    @Test
+    @DisplayName("Should report false when there is no failed stock restore to requeue")
+    void requeueCompensation_notFailed_returnsFalse() {
+        UUID eventId = UUID.randomUUID();
+        when(outboxRepository.requeueFailedCompensation(eventId)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(new OrderStockEndpoint(outboxRepository).requeueCompensation(eventId.toString()))
+                .expectNext(false)
+                .verifyComplete();
+        verify(productServiceClient, never()).increaseProductStock(any(), anyInt(), anyString());
+    }
+}
@@ -0,0 +1,116 @@
+package com.projectArka.order_service.ServiceTest;
+
+import com.projectArka.order_service.application.service.StockReservationLedger;
+import com.projectArka.order_service.domain.port.out.IStockReservationRepository;
+import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IProductServiceClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationLedgerTest {
+
+    @Mock
+    private IProductServiceClient productServiceClient;
+    @Mock
+    private IStockReservationRepository reservationRepository;
+
+    @InjectMocks
+    private StockReservationLedger stockLedger;
+
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        productId = UUID.randomUUID();
+        when(productServiceClient.getProductStockBatch(any())).thenReturn(Mono.just(Map.of(productId, 100)));
+        when(reservationRepository.sumReservedByProductIds(any())).thenReturn(Mono.just(Map.of()));
+        StepVerifier.create(stockLedger.seed(List.of(productId))).verifyComplete();
+    }
+
+    private void assertAvailable(int expected) {
+        assertEquals(Optional.empty(), stockLedger.tryReserve(Map.of(productId, expected)));
+        assertEquals(Optional.of(productId), stockLedger.tryReserve(Map.of(productId, 1)));
+    }
+
+    @Test
+    @DisplayName("Should correct drift between the ledger and product service stock")
+    void reconcile_correctsDrift() {
+        when(productServiceClient.getProductStockBatch(any())).thenReturn(Mono.just(Map.of(productId, 80)));
+        when(reservationRepository.sumReservedByProductIds(any())).thenReturn(Mono.just(Map.of(productId, 5L)));
+
+        StepVerifier.create(stockLedger.reconcile(List.of(productId))).verifyComplete();
+
+        assertAvailable(75);
+    }
+
+    @Test
+    @DisplayName("Should not subtract a reservation made during reconciliation twice")
+    void reconcile_concurrentReservation_notSubtractedTwice() {
+        // The reservation lands between the ledger snapshot and the reads, and is already in the reserved sum
+        when(productServiceClient.getProductStockBatch(any())).thenReturn(Mono.fromCallable(() -> {
+            assertEquals(Optional.empty(), stockLedger.tryReserve(Map.of(productId, 5)));
+            return Map.of(productId, 100);
+        }));
+        when(reservationRepository.sumReservedByProductIds(any())).thenReturn(Mono.just(Map.of(productId, 5L)));
+
+        StepVerifier.create(stockLedger.reconcile(List.of(productId))).verifyComplete();
+
+        assertAvailable(95);
+    }
+
+    @Test
+    @DisplayName("Should not hand back a reservation whose row is committed after the reserved sum is read")
+    void reconcile_inFlightReservation_keptReserved() {
+        // Reserved before the snapshot, but its stock_reservation row is not yet visible to the reserved sum
+        assertEquals(Optional.empty(), stockLedger.tryReserve(Map.of(productId, 5)));
+        when(productServiceClient.getProductStockBatch(any())).thenReturn(Mono.just(Map.of(productId, 100)));
+        when(reservationRepository.sumReservedByProductIds(any())).thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(stockLedger.reconcile(List.of(productId))).verifyComplete();
+        stockLedger.settle(Map.of(productId, 5));
+
+        assertAvailable(95);
+    }
+
+    @Test
+    @DisplayName("Should skip a product whose reservation settled while the reads were in progress")
+    void reconcile_settledDuringReads_skipped() {
+        assertEquals(Optional.empty(), stockLedger.tryReserve(Map.of(productId, 5)));
+        // The row commits after the reserved sum was read and settles before the correction is applied
+        when(productServiceClient.getProductStockBatch(any())).thenReturn(Mono.fromCallable(() -> {
+            stockLedger.settle(Map.of(productId, 5));
+            return Map.of(productId, 100);
+        }));
+        when(reservationRepository.sumReservedByProductIds(any())).thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(stockLedger.reconcile(List.of(productId))).verifyComplete();
+
+        assertAvailable(95);
+    }
+
+    @Test
+    @DisplayName("Should drop products the product service no longer knows")
+    void reconcile_unknownProduct_dropped() {
+        when(productServiceClient.getProductStockBatch(any())).thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(stockLedger.reconcile(List.of(productId))).verifyComplete();
+
+        assertEquals(Optional.of(productId), stockLedger.tryReserve(Map.of(productId, 1)));
+    }
+}
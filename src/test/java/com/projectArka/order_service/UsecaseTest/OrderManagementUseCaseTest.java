@@ -1,5 +1,7 @@
 package com.projectArka.order_service.UsecaseTest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectArka.order_service.application.dto.BulkOrderResultDTO;
 import com.projectArka.order_service.application.dto.OrderAddressDTO;
 import com.projectArka.order_service.application.dto.OrderItemRequestDTO;
 import com.projectArka.order_service.application.dto.OrderItemResponseDTO;
@@ -7,45 +9,78 @@ import com.projectArka.order_service.application.dto.OrderRequestDTO;
 import com.projectArka.order_service.application.dto.OrderResponseDTO;
 import com.projectArka.order_service.application.dto.ShipmentDTO;
 import com.projectArka.order_service.application.mapper.IOrderMapper;
+import com.projectArka.order_service.application.service.OrderIdempotencyStore;
+import com.projectArka.order_service.application.service.OrderMetrics;
+import com.projectArka.order_service.application.service.OrderResponseCache;
+import com.projectArka.order_service.application.service.StockReservationLedger;
 import com.projectArka.order_service.application.usecase.OrderManagementUseCase;
+import com.projectArka.order_service.domain.exception.IdempotencyKeyConflictException;
 import com.projectArka.order_service.domain.exception.InsufficientStockException;
 import com.projectArka.order_service.domain.exception.InvalidOrderDataException;
+import com.projectArka.order_service.domain.exception.InvalidStatusTransitionException;
 import com.projectArka.order_service.domain.exception.OrderNotFoundException;
 import com.projectArka.order_service.domain.exception.UserNotFoundException;
+import com.projectArka.order_service.domain.model.IdempotencyKey;
 import com.projectArka.order_service.domain.model.Order;
 import com.projectArka.order_service.domain.model.OrderAddress;
+import com.projectArka.order_service.domain.model.OrderAggregate;
+import com.projectArka.order_service.domain.model.OrderChangeEvent;
 import com.projectArka.order_service.domain.model.OrderItem;
+import com.projectArka.order_service.domain.model.OrderOutboxEvent;
+import com.projectArka.order_service.domain.model.OrderPageCursor;
+import com.projectArka.order_service.domain.model.OrderStatus;
+import com.projectArka.order_service.domain.model.OrderVersion;
+import com.projectArka.order_service.domain.model.OrderView;
 import com.projectArka.order_service.domain.model.Shipment;
-import com.projectArka.order_service.domain.port.out.IOrderAddressRepository;
+import com.projectArka.order_service.domain.model.StockReservation;
+import com.projectArka.order_service.domain.port.out.IIdempotencyKeyRepository;
+import com.projectArka.order_service.domain.port.out.IOrderChangeFeed;
 import com.projectArka.order_service.domain.port.out.IOrderItemRepository;
+import com.projectArka.order_service.domain.port.out.IOrderOutboxRepository;
+import com.projectArka.order_service.domain.port.out.IOrderQueryRepository;
 import com.projectArka.order_service.domain.port.out.IOrderRepository;
-import com.projectArka.order_service.domain.port.out.IShipmentRepository;
+import com.projectArka.order_service.domain.port.out.IStockReservationRepository;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IProductServiceClient;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.IUserServiceClient;
 import com.projectArka.order_service.infrastructure.adapter.out.r2dbc.client.ProductDetailsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
@@ -61,15 +96,32 @@ class OrderManagementUseCaseTest {
     @Mock
     private IOrderItemRepository orderItemRepository;
     @Mock
-    private IOrderAddressRepository orderAddressRepository;
+    private IOrderQueryRepository orderQueryRepository;
     @Mock
-    private IShipmentRepository shipmentRepository;
+    private IOrderOutboxRepository orderOutboxRepository;
+    @Mock
+    private IStockReservationRepository stockReservationRepository;
+    @Mock
+    private StockReservationLedger stockLedger;
     @Mock
     private IUserServiceClient userServiceClient;
     @Mock
     private IProductServiceClient productServiceClient;
     @Mock
     private IOrderMapper orderMapper;
+    @Mock
+    private TransactionalOperator transactionalOperator;
+    @Mock
+    private OrderResponseCache orderResponseCache;
+    @Mock
+    private IOrderChangeFeed orderChangeFeed;
+    @Mock
+    private IIdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @Spy
+    private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
 
     @InjectMocks
     private OrderManagementUseCase orderManagementUseCase;
@@ -193,6 +245,7 @@ class OrderManagementUseCaseTest {
         productDetails1 = ProductDetailsResponse.builder()
                 .productId(productId1)
                 .name("Product A")
+                .sku("SKU-A")
                 .price(new BigDecimal("100.00"))
                 .build();
         productDetails2 = ProductDetailsResponse.builder()
@@ -291,6 +344,14 @@ class OrderManagementUseCaseTest {
                             .updatedAt(shipArg.getUpdatedAt() != null ? shipArg.getUpdatedAt().atZone(ZoneId.systemDefault()).toLocalDateTime() : null)
                             .build();
                 });
+
+        lenient().when(orderChangeFeed.publish(any())).thenReturn(Mono.empty());
+        lenient().when(orderMapper.toOrderChangeEventDTO(any(OrderChangeEvent.class)))
+                .thenAnswer(invocation -> IOrderMapper.INSTANCE.toOrderChangeEventDTO(invocation.getArgument(0)));
+
+        ReflectionTestUtils.setField(orderManagementUseCase, "orderIdempotencyStore", new OrderIdempotencyStore(
+                idempotencyKeyRepository, objectMapper, orderMetrics, meterRegistry,
+                Duration.ofHours(24), Duration.ofSeconds(30), Duration.ofSeconds(2), Duration.ofMillis(10), 100));
     }
 
     @Test
@@ -318,6 +379,12 @@ class OrderManagementUseCaseTest {
 
         verify(userServiceClient, times(1)).validateUserExists(userId);
         verify(productServiceClient, never()).getProductDetails(any(UUID.class));
+        assertNotNull(meterRegistry.find("orders.operation")
+                .tags("operation", "createOrder", "outcome", "error", "exception", "UserNotFoundException")
+                .timer());
+        assertNotNull(meterRegistry.find("orders.stage")
+                .tags("operation", "createOrder", "stage", "validate_user", "outcome", "success")
+                .timer());
     }
 
     @Test
@@ -341,7 +408,7 @@ class OrderManagementUseCaseTest {
     @DisplayName("Should throw InvalidOrderDataException if product not found")
     void createOrder_productNotFound() {
         when(userServiceClient.validateUserExists(userId)).thenReturn(Mono.just(true));
-        when(productServiceClient.getProductDetails(productId1)).thenReturn(Mono.empty());
+        when(productServiceClient.getProductDetailsBatch(any())).thenReturn(Mono.just(Map.of()));
 
         orderRequestDTO.setItems(List.of(OrderItemRequestDTO.builder().productId(productId1.toString()).quantity(1).build()));
 
@@ -350,16 +417,17 @@ class OrderManagementUseCaseTest {
                         e.getMessage().contains("Product with ID " + productId1 + " not found."))
                 .verify();
 
-        verify(productServiceClient, times(1)).getProductDetails(productId1);
-        verify(productServiceClient, never()).checkProductStock(any(UUID.class), anyInt());
+        verify(productServiceClient, times(1)).getProductDetailsBatch(Set.of(productId1));
+        verify(stockLedger, never()).tryReserve(any());
     }
 
     @Test
     @DisplayName("Should throw InsufficientStockException if stock is not available")
     void createOrder_insufficientStock() {
         when(userServiceClient.validateUserExists(userId)).thenReturn(Mono.just(true));
-        when(productServiceClient.getProductDetails(productId1)).thenReturn(Mono.just(productDetails1));
-        when(productServiceClient.checkProductStock(eq(productId1), anyInt())).thenReturn(Mono.just(Map.of("available", false)));
+        when(productServiceClient.getProductDetailsBatch(any())).thenReturn(Mono.just(Map.of(productId1, productDetails1)));
+        when(stockLedger.seed(any())).thenReturn(Mono.empty());
+        when(stockLedger.tryReserve(any())).thenReturn(Optional.of(productId1));
 
         orderRequestDTO.setItems(List.of(OrderItemRequestDTO.builder().productId(productId1.toString()).quantity(5).build()));
 
@@ -368,9 +436,301 @@ class OrderManagementUseCaseTest {
                         e.getMessage().contains("Insufficient stock for product ID: " + productId1))
                 .verify();
 
-        verify(productServiceClient, times(1)).getProductDetails(productId1);
-        verify(productServiceClient, times(1)).checkProductStock(productId1, 5);
+        verify(productServiceClient, times(1)).getProductDetailsBatch(Set.of(productId1));
+        verify(stockLedger, times(1)).tryReserve(Map.of(productId1, 5));
+        verify(productServiceClient, never()).getProductDetails(any(UUID.class));
+        verify(productServiceClient, never()).checkProductStock(any(UUID.class), anyInt());
         verify(orderRepository, never()).save(any(Order.class)); // Should not save order
+        verify(orderRepository, never()).insertAggregate(any(OrderAggregate.class));
+    }
+
+    @Test
+    @DisplayName("Should validate all items with one batch lookup and reserve stock in the local ledger")
+    void createOrder_success_usesBatchLookups() {
+        when(userServiceClient.validateUserExists(userId)).thenReturn(Mono.just(true));
+        when(productServiceClient.getProductDetailsBatch(any()))
+                .thenReturn(Mono.just(Map.of(productId1, productDetails1, productId2, productDetails2)));
+        when(stockLedger.seed(any())).thenReturn(Mono.empty());
+        when(stockLedger.tryReserve(any())).thenReturn(Optional.empty());
+        when(orderRepository.insertAggregate(any(OrderAggregate.class)))
+                .thenReturn(Mono.just(aggregateOf(order, shippingAddress, billingAddress, List.of(orderItem1, orderItem2), shipment)));
+        when(orderOutboxRepository.saveAll(any())).thenReturn(Flux.empty());
+        when(stockReservationRepository.saveAll(any())).thenReturn(Mono.empty());
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(orderManagementUseCase.createOrder(orderRequestDTO))
+                .expectNextMatches(response -> orderId.toString().equals(response.getOrderId())
+                        && "Product A".equals(response.getItems().get(0).getProductName()))
+                .verifyComplete();
+
+        verify(productServiceClient, times(1)).getProductDetailsBatch(Set.of(productId1, productId2));
+        verify(stockLedger, times(1)).tryReserve(Map.of(productId1, 2, productId2, 1));
+        verify(productServiceClient, never()).checkProductStock(any(UUID.class), anyInt());
+        verify(stockLedger, never()).release(any());
+        verify(stockLedger, times(1)).settle(Map.of(productId1, 2, productId2, 1));
+        assertEquals(1, meterRegistry.find("orders.stage").tags("stage", "persist", "outcome", "success").timer().count());
+        assertEquals(2.0, meterRegistry.find("orders.fanout").tags("operation", "createOrder", "kind", "products").summary().totalAmount());
+        verify(orderQueryRepository, never()).loadAggregate(any(Order.class));
+        verify(orderChangeFeed, times(1)).publish(argThat(events -> events.size() == 1
+                && OrderChangeEvent.CREATED.equals(events.get(0).getType())
+                && orderId.equals(events.get(0).getOrderId())));
+    }
+
+    @Test
+    @DisplayName("Should replay a completed Idempotency-Key locally without calling the user or product services again")
+    void createOrder_idempotencyKey_replaysLocally() {
+        stubSuccessfulCreate();
+        when(idempotencyKeyRepository.claim(eq("retry-key-1"), any(), any(UUID.class), any(Instant.class), any(Instant.class))).thenReturn(Mono.just(true));
+        when(idempotencyKeyRepository.complete(eq("retry-key-1"), any(UUID.class), eq(orderId), any(), any(Instant.class))).thenReturn(Mono.just(true));
+
+        OrderResponseDTO first = orderManagementUseCase.createOrder(orderRequestDTO, "retry-key-1").block();
+        StepVerifier.create(orderManagementUseCase.createOrder(orderRequestDTO, "retry-key-1"))
+                .expectNext(first)
+                .verifyComplete();
+
+        verify(userServiceClient, times(1)).validateUserExists(userId);
+        verify(productServiceClient, times(1)).getProductDetailsBatch(any());
+        verify(orderRepository, times(1)).insertAggregate(any(OrderAggregate.class));
+        verify(idempotencyKeyRepository, times(1)).claim(eq("retry-key-1"), any(), any(UUID.class), any(Instant.class), any(Instant.class));
+        assertEquals(1.0, meterRegistry.find("orders.idempotency").tags("outcome", "replayed_local").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response when another instance already completed the Idempotency-Key")
+    void createOrder_idempotencyKey_replaysFromStore() throws Exception {
+        String storedBody = objectMapper.writeValueAsString(expectedOrderResponseDTO);
+        AtomicReference<String> requestHash = new AtomicReference<>();
+        when(idempotencyKeyRepository.claim(eq("retry-key-1"), any(), any(UUID.class), any(Instant.class), any(Instant.class))).thenAnswer(invocation -> {
+            requestHash.set(invocation.getArgument(1));
+            return Mono.just(false);
+        });
+        when(idempotencyKeyRepository.findByKey(eq("retry-key-1"), any(Instant.class))).thenAnswer(invocation -> Mono.just(IdempotencyKey.builder()
+                .key("retry-key-1")
+                .requestHash(requestHash.get())
+                .status(IdempotencyKey.STATUS_COMPLETED)
+                .orderId(orderId)
+                .responseBody(storedBody)
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build()));
+
+        StepVerifier.create(orderManagementUseCase.createOrder(orderRequestDTO, "retry-key-1"))
+                .expectNext(expectedOrderResponseDTO)
+                .verifyComplete();
+
+        verify(userServiceClient, never()).validateUserExists(any(UUID.class));
+        verify(productServiceClient, never()).getProductDetailsBatch(any());
+        verify(orderRepository, never()).insertAggregate(any(OrderAggregate.class));
+    }
+
+    @Test
+    @DisplayName("Should reject an Idempotency-Key reused with a different order request")
+    void createOrder_idempotencyKey_differentRequest_conflict() {
+        when(idempotencyKeyRepository.claim(eq("retry-key-1"), any(), any(UUID.class), any(Instant.class), any(Instant.class))).thenReturn(Mono.just(false));
+        when(idempotencyKeyRepository.findByKey(eq("retry-key-1"), any(Instant.class))).thenReturn(Mono.just(IdempotencyKey.builder()
+                .key("retry-key-1")
+                .requestHash("hash-of-another-request")
+                .status(IdempotencyKey.STATUS_COMPLETED)
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build()));
+
+        StepVerifier.create(orderManagementUseCase.createOrder(orderRequestDTO, "retry-key-1"))
+                .expectErrorMatches(e -> e instanceof IdempotencyKeyConflictException)
+                .verify();
+
+        verify(userServiceClient, never()).validateUserExists(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent retry wait for the in-flight request instead of creating a second order")
+    void createOrder_idempotencyKey_concurrentRetry_waitsForFirst() {
+        stubSuccessfulCreate();
+        when(userServiceClient.validateUserExists(userId)).thenReturn(Mono.just(true).delayElement(Duration.ofMillis(50)));
+        when(idempotencyKeyRepository.claim(eq("retry-key-1"), any(), any(UUID.class), any(Instant.class), any(Instant.class))).thenReturn(Mono.just(true));
+        when(idempotencyKeyRepository.complete(eq("retry-key-1"), any(UUID.class), eq(orderId), any(), any(Instant.class))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(Mono.zip(
+                        orderManagementUseCase.createOrder(orderRequestDTO, "retry-key-1"),
+                        orderManagementUseCase.createOrder(orderRequestDTO, "retry-key-1")))
+                .expectNextMatches(responses -> responses.getT1() == responses.getT2())
+                .verifyComplete();
+
+        verify(orderRepository, times(1)).insertAggregate(any(OrderAggregate.class));
+        verify(idempotencyKeyRepository, times(1)).claim(eq("retry-key-1"), any(), any(UUID.class), any(Instant.class), any(Instant.class));
+        assertEquals(1.0, meterRegistry.find("orders.idempotency").tags("outcome", "joined").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should release the Idempotency-Key when order creation fails so a retry can run again")
+    void createOrder_idempotencyKey_failure_releasesKey() {
+        when(userServiceClient.validateUserExists(userId)).thenReturn(Mono.just(false));
+        when(idempotencyKeyRepository.claim(eq("retry-key-1"), any(), any(UUID.class), any(Instant.class), any(Instant.class))).thenReturn(Mono.just(true));
+        when(idempotencyKeyRepository.release(eq("retry-key-1"), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(orderManagementUseCase.createOrder(orderRequestDTO, "retry-key-1"))
+                .expectErrorMatches(e -> e instanceof UserNotFoundException)
+                .verify();
+
+        verify(idempotencyKeyRepository, times(1)).release(eq("retry-key-1"), any());
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should complete the Idempotency-Key inside the order's transaction")
+    void createOrder_idempotencyKey_completedBeforeCommit() {
+        stubSuccessfulCreate();
+        AtomicReference<Boolean> committed = new AtomicReference<>(false);
+        when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.<Mono<?>>getArgument(0).doOnSuccess(ignored -> committed.set(true)));
+        AtomicReference<UUID> claimId = new AtomicReference<>();
+        when(idempotencyKeyRepository.claim(eq("retry-key-1"), any(), any(UUID.class), any(Instant.class), any(Instant.class))).thenAnswer(invocation -> {
+            claimId.set(invocation.getArgument(2));
+            return Mono.just(true);
+        });
+        when(idempotencyKeyRepository.complete(eq("retry-key-1"), any(UUID.class), eq(orderId), any(), any(Instant.class)))
+                .thenAnswer(invocation -> Mono.fromCallable(() -> !committed.get() && claimId.get().equals(invocation.getArgument(1))));
+
+        StepVerifier.create(orderManagementUseCase.createOrder(orderRequestDTO, "retry-key-1"))
+                .expectNextMatches(response -> orderId.toString().equals(response.getOrderId()))
+                .verifyComplete();
+
+        assertTrue(committed.get());
+        verify(idempotencyKeyRepository, never()).release(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fail the order instead of committing a duplicate when its Idempotency-Key claim was taken over")
+    void createOrder_idempotencyKey_claimTakenOver_failsOrder() {
+        stubSuccessfulCreate();
+        when(idempotencyKeyRepository.claim(eq("retry-key-1"), any(), any(UUID.class), any(Instant.class), any(Instant.class))).thenReturn(Mono.just(true));
+        when(idempotencyKeyRepository.complete(eq("retry-key-1"), any(UUID.class), eq(orderId), any(), any(Instant.class))).thenReturn(Mono.just(false));
+        when(idempotencyKeyRepository.release(eq("retry-key-1"), any(UUID.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(orderManagementUseCase.createOrder(orderRequestDTO, "retry-key-1"))
+                .expectErrorMatches(e -> e instanceof IdempotencyKeyConflictException)
+                .verify();
+
+        verify(stockLedger, times(1)).release(Map.of(productId1, 2, productId2, 1));
+        verify(stockLedger, times(1)).settle(Map.of(productId1, 2, productId2, 1));
+        verify(idempotencyKeyRepository, times(1)).release(eq("retry-key-1"), any(UUID.class));
+    }
+
+    private void stubSuccessfulCreate() {
+        lenient().when(userServiceClient.validateUserExists(userId)).thenReturn(Mono.just(true));
+        when(productServiceClient.getProductDetailsBatch(any()))
+                .thenReturn(Mono.just(Map.of(productId1, productDetails1, productId2, productDetails2)));
+        when(stockLedger.seed(any())).thenReturn(Mono.empty());
+        when(stockLedger.tryReserve(any())).thenReturn(Optional.empty());
+        when(orderRepository.insertAggregate(any(OrderAggregate.class)))
+                .thenReturn(Mono.just(aggregateOf(order, shippingAddress, billingAddress, List.of(orderItem1, orderItem2), shipment)));
+        when(orderOutboxRepository.saveAll(any())).thenReturn(Flux.empty());
+        when(stockReservationRepository.saveAll(any())).thenReturn(Mono.empty());
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Should snapshot product name and SKU onto each order item at write time")
+    void createOrder_snapshotsProductDetailsOntoItems() {
+        when(userServiceClient.validateUserExists(userId)).thenReturn(Mono.just(true));
+        when(productServiceClient.getProductDetailsBatch(any()))
+                .thenReturn(Mono.just(Map.of(productId1, productDetails1, productId2, productDetails2)));
+        when(stockLedger.seed(any())).thenReturn(Mono.empty());
+        when(stockLedger.tryReserve(any())).thenReturn(Optional.empty());
+        when(orderRepository.insertAggregate(any(OrderAggregate.class)))
+                .thenReturn(Mono.just(aggregateOf(order, shippingAddress, billingAddress, List.of(orderItem1, orderItem2), shipment)));
+        when(orderOutboxRepository.saveAll(any())).thenReturn(Flux.empty());
+        when(stockReservationRepository.saveAll(any())).thenReturn(Mono.empty());
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(orderManagementUseCase.createOrder(orderRequestDTO))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        ArgumentCaptor<OrderAggregate> aggregateCaptor = ArgumentCaptor.forClass(OrderAggregate.class);
+        verify(orderRepository, times(1)).insertAggregate(aggregateCaptor.capture());
+        OrderItem firstItem = aggregateCaptor.getValue().getItems().get(0);
+        assertEquals(productId1, firstItem.getProductId());
+        assertEquals("Product A", firstItem.getProductName());
+        assertEquals("SKU-A", firstItem.getProductSku());
+        assertEquals("Product B", aggregateCaptor.getValue().getItems().get(1).getProductName());
+    }
+
+    @Test
+    @DisplayName("Should record stock decrements in the outbox instead of calling the product service")
+    void createOrder_success_writesStockOutbox() {
+        when(userServiceClient.validateUserExists(userId)).thenReturn(Mono.just(true));
+        when(productServiceClient.getProductDetailsBatch(any()))
+                .thenReturn(Mono.just(Map.of(productId1, productDetails1, productId2, productDetails2)));
+        when(stockLedger.seed(any())).thenReturn(Mono.empty());
+        when(stockLedger.tryReserve(any())).thenReturn(Optional.empty());
+        when(orderRepository.insertAggregate(any(OrderAggregate.class)))
+                .thenReturn(Mono.just(aggregateOf(order, shippingAddress, billingAddress, List.of(orderItem1, orderItem2), shipment)));
+        when(orderOutboxRepository.saveAll(any())).thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<OrderOutboxEvent>>getArgument(0)));
+        when(stockReservationRepository.saveAll(any())).thenReturn(Mono.empty());
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(orderManagementUseCase.createOrder(orderRequestDTO))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        ArgumentCaptor<Iterable<OrderOutboxEvent>> eventsCaptor = ArgumentCaptor.forClass(Iterable.class);
+        verify(orderOutboxRepository, times(1)).saveAll(eventsCaptor.capture());
+        List<OrderOutboxEvent> events = new ArrayList<>();
+        eventsCaptor.getValue().forEach(events::add);
+        assertEquals(2, events.size());
+        assertEquals(OrderOutboxEvent.STOCK_DECREMENT, events.get(0).getEventType());
+        assertEquals(productId1, events.get(0).getProductId());
+        assertEquals(2, events.get(0).getQuantity());
+        verify(productServiceClient, never()).decreaseProductStock(any(UUID.class), anyInt());
+
+        ArgumentCaptor<Iterable<StockReservation>> reservationsCaptor = ArgumentCaptor.forClass(Iterable.class);
+        verify(stockReservationRepository, times(1)).saveAll(reservationsCaptor.capture());
+        List<StockReservation> reservations = new ArrayList<>();
+        reservationsCaptor.getValue().forEach(reservations::add);
+        assertEquals(2, reservations.size());
+        assertEquals(StockReservation.STATUS_RESERVED, reservations.get(0).getStatus());
+        assertEquals(productId1, reservations.get(0).getProductId());
+    }
+
+    @Test
+    @DisplayName("Should merge repeated product lines into one reservation and one stock decrement per product")
+    void createOrder_duplicateLines_mergedBeforeStockOperations() {
+        OrderItem repeatedLine = OrderItem.builder()
+                .id(UUID.randomUUID())
+                .orderId(orderId)
+                .productId(productId1)
+                .quantity(3)
+                .unitPrice(new BigDecimal("100.00"))
+                .build();
+        orderRequestDTO.setItems(List.of(
+                OrderItemRequestDTO.builder().productId(productId1.toString()).quantity(2).build(),
+                OrderItemRequestDTO.builder().productId(productId1.toString()).quantity(3).build(),
+                OrderItemRequestDTO.builder().productId(productId2.toString()).quantity(1).build()));
+
+        when(userServiceClient.validateUserExists(userId)).thenReturn(Mono.just(true));
+        when(productServiceClient.getProductDetailsBatch(any()))
+                .thenReturn(Mono.just(Map.of(productId1, productDetails1, productId2, productDetails2)));
+        when(stockLedger.seed(any())).thenReturn(Mono.empty());
+        when(stockLedger.tryReserve(any())).thenReturn(Optional.empty());
+        when(orderRepository.insertAggregate(any(OrderAggregate.class)))
+                .thenReturn(Mono.just(aggregateOf(order, shippingAddress, billingAddress, List.of(orderItem1, repeatedLine, orderItem2), shipment)));
+        when(orderOutboxRepository.saveAll(any())).thenReturn(Flux.empty());
+        when(stockReservationRepository.saveAll(any())).thenReturn(Mono.empty());
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(orderManagementUseCase.createOrder(orderRequestDTO))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(stockLedger, times(1)).tryReserve(Map.of(productId1, 5, productId2, 1));
+        ArgumentCaptor<Iterable<OrderOutboxEvent>> eventsCaptor = ArgumentCaptor.forClass(Iterable.class);
+        verify(orderOutboxRepository, times(1)).saveAll(eventsCaptor.capture());
+        List<OrderOutboxEvent> events = new ArrayList<>();
+        eventsCaptor.getValue().forEach(events::add);
+        assertEquals(2, events.size());
+        assertEquals(productId1, events.get(0).getProductId());
+        assertEquals(5, events.get(0).getQuantity());
+        assertEquals(productId2, events.get(1).getProductId());
+        assertEquals(1, events.get(1).getQuantity());
     }
 
     @Test
@@ -385,37 +745,46 @@ class OrderManagementUseCaseTest {
                 .verify();
 
         verify(userServiceClient, times(1)).validateUserExists(userId);
-        verify(productServiceClient, never()).getProductDetails(any(UUID.class));
+        verify(productServiceClient, never()).getProductDetailsBatch(any());
     }
 
     @Test
     @DisplayName("Should retrieve an order by ID successfully")
     void getOrderById_success() {
-        when(orderRepository.findById(orderId)).thenReturn(Mono.just(order));
-        when(orderAddressRepository.findById(shippingAddressId)).thenReturn(Mono.just(shippingAddress));
-        when(orderAddressRepository.findById(billingAddressId)).thenReturn(Mono.just(billingAddress));
-        when(orderItemRepository.findByOrderId(orderId)).thenReturn(Flux.just(orderItem1, orderItem2));
-        when(shipmentRepository.findByOrderId(orderId)).thenReturn(Mono.just(shipment));
-        when(productServiceClient.getProductDetails(productId1)).thenReturn(Mono.just(productDetails1));
-        when(productServiceClient.getProductDetails(productId2)).thenReturn(Mono.just(productDetails2));
+        when(orderQueryRepository.findAggregateById(orderId))
+                .thenReturn(Mono.just(aggregateOf(order, shippingAddress, billingAddress, List.of(orderItem1, orderItem2), shipment)));
+        when(productServiceClient.getProductDetailsBatch(Set.of(productId1, productId2)))
+                .thenReturn(Mono.just(Map.of(productId1, productDetails1, productId2, productDetails2)));
 
         StepVerifier.create(orderManagementUseCase.getOrderById(orderId.toString()))
                 .expectNext(expectedOrderResponseDTO)
                 .verifyComplete();
 
-        verify(orderRepository, times(1)).findById(orderId);
-        verify(orderAddressRepository, times(1)).findById(shippingAddressId);
-        verify(orderAddressRepository, times(1)).findById(billingAddressId);
-        verify(orderItemRepository, times(1)).findByOrderId(orderId);
-        verify(shipmentRepository, times(1)).findByOrderId(orderId);
-        verify(productServiceClient, times(1)).getProductDetails(productId1);
-        verify(productServiceClient, times(1)).getProductDetails(productId2);
+        verify(orderQueryRepository, times(1)).findAggregateById(orderId);
+        verify(productServiceClient, times(1)).getProductDetailsBatch(Set.of(productId1, productId2));
+        verify(productServiceClient, never()).getProductDetails(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should serve product names from the item snapshot without calling the product service")
+    void getOrderById_snapshottedItems_skipsProductLookup() {
+        orderItem1.setProductName("Product A (as ordered)");
+        orderItem2.setProductName("Product B (as ordered)");
+        when(orderQueryRepository.findAggregateById(orderId))
+                .thenReturn(Mono.just(aggregateOf(order, shippingAddress, billingAddress, List.of(orderItem1, orderItem2), shipment)));
+
+        StepVerifier.create(orderManagementUseCase.getOrderById(orderId.toString()))
+                .expectNextMatches(response -> "Product A (as ordered)".equals(response.getItems().get(0).getProductName())
+                        && "Product B (as ordered)".equals(response.getItems().get(1).getProductName()))
+                .verifyComplete();
+
+        verify(productServiceClient, never()).getProductDetailsBatch(any());
     }
 
     @Test
     @DisplayName("Should throw OrderNotFoundException if order by ID not found")
     void getOrderById_notFound() {
-        when(orderRepository.findById(orderId)).thenReturn(Mono.empty());
+        when(orderQueryRepository.findAggregateById(orderId)).thenReturn(Mono.empty());
 
         StepVerifier.create(orderManagementUseCase.getOrderById(orderId.toString()))
                 .expectErrorMatches(e -> e instanceof OrderNotFoundException &&
@@ -435,12 +804,9 @@ class OrderManagementUseCaseTest {
     @Test
     @DisplayName("Should handle product details unavailability when building response for getOrderById")
     void getOrderById_productDetailsUnavailable() {
-        when(orderRepository.findById(orderId)).thenReturn(Mono.just(order));
-        when(orderAddressRepository.findById(shippingAddressId)).thenReturn(Mono.just(shippingAddress));
-        when(orderAddressRepository.findById(billingAddressId)).thenReturn(Mono.just(billingAddress));
-        when(orderItemRepository.findByOrderId(orderId)).thenReturn(Flux.just(orderItem1));
-        when(shipmentRepository.findByOrderId(orderId)).thenReturn(Mono.just(shipment));
-        when(productServiceClient.getProductDetails(productId1)).thenReturn(Mono.error(new RuntimeException("Product service down")));
+        when(orderQueryRepository.findAggregateById(orderId))
+                .thenReturn(Mono.just(aggregateOf(order, shippingAddress, billingAddress, List.of(orderItem1), shipment)));
+        when(productServiceClient.getProductDetailsBatch(Set.of(productId1))).thenReturn(Mono.error(new RuntimeException("Product service down")));
 
         lenient().when(orderMapper.toOrderItemResponseDTO(orderItem1))
                 .thenReturn(OrderItemResponseDTO.builder()
@@ -456,11 +822,31 @@ class OrderManagementUseCaseTest {
                 .expectNextMatches(response -> {
                     assertEquals(orderId.toString(), response.getOrderId());
                     assertEquals("Product Name Unavailable", response.getItems().get(0).getProductName());
+                    assertTrue(response.isProductNamesIncomplete());
                     return true;
                 })
                 .verifyComplete();
 
-        verify(productServiceClient, times(1)).getProductDetails(productId1);
+        verify(productServiceClient, times(1)).getProductDetailsBatch(Set.of(productId1));
+    }
+
+    @Test
+    @DisplayName("Should answer a summary view from the order row alone, without loading the aggregate or product names")
+    void getOrderById_summaryView_skipsAggregateAndProductLookups() {
+        OrderResponseDTO summary = OrderResponseDTO.builder()
+                .orderId(orderId.toString())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .build();
+        when(orderRepository.findById(orderId)).thenReturn(Mono.just(order));
+        when(orderMapper.toOrderResponseDTO(order)).thenReturn(summary);
+
+        StepVerifier.create(orderManagementUseCase.getOrderById(orderId.toString(), OrderView.SUMMARY))
+                .expectNext(summary)
+                .verifyComplete();
+
+        verify(orderQueryRepository, never()).findAggregateById(any());
+        verify(productServiceClient, never()).getProductDetailsBatch(any());
     }
 
 
@@ -527,20 +913,12 @@ class OrderManagementUseCaseTest {
                 .updatedAt(anotherOrder.getUpdatedAt().atZone(ZoneId.systemDefault()).toLocalDateTime())
                 .build();
 
-        when(orderRepository.findByUserId(userId)).thenReturn(Flux.just(order, anotherOrder));
-        when(orderAddressRepository.findById(order.getShippingAddressId())).thenReturn(Mono.just(shippingAddress));
-        when(orderAddressRepository.findById(order.getBillingAddressId())).thenReturn(Mono.just(billingAddress));
-        when(orderItemRepository.findByOrderId(order.getId())).thenReturn(Flux.just(orderItem1, orderItem2));
-        when(shipmentRepository.findByOrderId(order.getId())).thenReturn(Mono.just(shipment));
-        when(productServiceClient.getProductDetails(orderItem1.getProductId())).thenReturn(Mono.just(productDetails1));
-        when(productServiceClient.getProductDetails(orderItem2.getProductId())).thenReturn(Mono.just(productDetails2));
-
-
-        when(orderAddressRepository.findById(anotherOrder.getShippingAddressId())).thenReturn(Mono.just(anotherShippingAddress));
-        when(orderAddressRepository.findById(anotherOrder.getBillingAddressId())).thenReturn(Mono.just(anotherBillingAddress));
-        when(orderItemRepository.findByOrderId(anotherOrder.getId())).thenReturn(Flux.just(anotherOrderItem));
-        when(shipmentRepository.findByOrderId(anotherOrder.getId())).thenReturn(Mono.just(anotherShipment));
-        when(productServiceClient.getProductDetails(anotherOrderItem.getProductId())).thenReturn(Mono.just(anotherProductDetails));
+        when(orderQueryRepository.findAggregatesByUserId(userId)).thenReturn(Flux.just(
+                aggregateOf(order, shippingAddress, billingAddress, List.of(orderItem1, orderItem2), shipment),
+                aggregateOf(anotherOrder, anotherShippingAddress, anotherBillingAddress, List.of(anotherOrderItem), anotherShipment)));
+        when(productServiceClient.getProductDetailsBatch(Set.of(productId1, productId2, anotherOrderItem.getProductId())))
+                .thenReturn(Mono.just(Map.of(productId1, productDetails1, productId2, productDetails2,
+                        anotherOrderItem.getProductId(), anotherProductDetails)));
 
         lenient().when(orderMapper.toOrderResponseDTO(order)).thenReturn(expectedOrderResponseDTO);
         lenient().when(orderMapper.toOrderResponseDTO(anotherOrder)).thenReturn(anotherExpectedOrderResponseDTO);
@@ -566,19 +944,9 @@ class OrderManagementUseCaseTest {
                 .expectNext(expectedOrderResponseDTO, anotherExpectedOrderResponseDTO)
                 .verifyComplete();
 
-        verify(orderRepository, times(1)).findByUserId(userId);
-        verify(orderAddressRepository, times(1)).findById(order.getShippingAddressId());
-        verify(orderAddressRepository, times(1)).findById(order.getBillingAddressId());
-        verify(orderItemRepository, times(1)).findByOrderId(order.getId());
-        verify(shipmentRepository, times(1)).findByOrderId(order.getId());
-        verify(productServiceClient, times(1)).getProductDetails(orderItem1.getProductId());
-        verify(productServiceClient, times(1)).getProductDetails(orderItem2.getProductId());
-
-        verify(orderAddressRepository, times(1)).findById(anotherOrder.getShippingAddressId());
-        verify(orderAddressRepository, times(1)).findById(anotherOrder.getBillingAddressId());
-        verify(orderItemRepository, times(1)).findByOrderId(anotherOrder.getId());
-        verify(shipmentRepository, times(1)).findByOrderId(anotherOrder.getId());
-        verify(productServiceClient, times(1)).getProductDetails(anotherOrderItem.getProductId());
+        verify(orderQueryRepository, times(1)).findAggregatesByUserId(userId);
+        verify(productServiceClient, times(1)).getProductDetailsBatch(Set.of(productId1, productId2, anotherOrderItem.getProductId()));
+        verify(productServiceClient, never()).getProductDetails(any(UUID.class));
     }
 
     @Test
@@ -593,16 +961,106 @@ class OrderManagementUseCaseTest {
     @Test
     @DisplayName("Should return empty Flux if no orders found for user ID")
     void getOrdersByUserId_noOrdersFound() {
-        when(orderRepository.findByUserId(userId)).thenReturn(Flux.empty());
+        when(orderQueryRepository.findAggregatesByUserId(userId)).thenReturn(Flux.empty());
 
         StepVerifier.create(orderManagementUseCase.getOrdersByUserId(userId.toString()))
                 .expectNextCount(0)
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Should derive the order ETag from the version row only and change it when the shipment changes")
+    void getOrderETag_tracksOrderAndShipmentUpdates() {
+        Instant updatedAt = Instant.parse("2024-03-01T10:00:00Z");
+        when(orderQueryRepository.findVersionById(orderId))
+                .thenReturn(Mono.just(new OrderVersion(orderId, updatedAt, null, null)))
+                .thenReturn(Mono.just(new OrderVersion(orderId, updatedAt, null, null)))
+                .thenReturn(Mono.just(new OrderVersion(orderId, updatedAt, updatedAt.plusSeconds(5), null)));
+
+        String first = orderManagementUseCase.getOrderETag(orderId.toString(), OrderView.FULL).block();
+        String unchanged = orderManagementUseCase.getOrderETag(orderId.toString(), OrderView.FULL).block();
+        String shipped = orderManagementUseCase.getOrderETag(orderId.toString(), OrderView.FULL).block();
+
+        assertNotNull(first);
+        assertEquals(first, unchanged);
+        assertNotEquals(first, shipped);
+        verify(orderQueryRepository, never()).findAggregateById(any(UUID.class));
+        verify(productServiceClient, never()).getProductDetailsBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should change the order ETag when an order item is updated")
+    void getOrderETag_tracksItemUpdates() {
+        Instant updatedAt = Instant.parse("2024-03-01T10:00:00Z");
+        when(orderQueryRepository.findVersionById(orderId))
+                .thenReturn(Mono.just(new OrderVersion(orderId, updatedAt, null, updatedAt)))
+                .thenReturn(Mono.just(new OrderVersion(orderId, updatedAt, null, updatedAt.plusSeconds(5))));
+
+        String before = orderManagementUseCase.getOrderETag(orderId.toString(), OrderView.FULL).block();
+        String backfilled = orderManagementUseCase.getOrderETag(orderId.toString(), OrderView.FULL).block();
+
+        assertNotEquals(before, backfilled);
+    }
+
+    @Test
+    @DisplayName("Should throw OrderNotFoundException when computing the ETag of a missing order")
+    void getOrderETag_notFound() {
+        when(orderQueryRepository.findVersionById(orderId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(orderManagementUseCase.getOrderETag(orderId.toString(), OrderView.FULL))
+                .expectErrorMatches(e -> e instanceof OrderNotFoundException)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should give a user's order listing an ETag that differs per view")
+    void getOrdersByUserIdETag_differsPerView() {
+        when(orderQueryRepository.findVersionsByUserId(userId))
+                .thenAnswer(invocation -> Flux.just(new OrderVersion(orderId, Instant.parse("2024-03-01T10:00:00Z"), null, null)));
+
+        String full = orderManagementUseCase.getOrdersByUserIdETag(userId.toString(), OrderView.FULL).block();
+        String summary = orderManagementUseCase.getOrdersByUserIdETag(userId.toString(), OrderView.SUMMARY).block();
+
+        assertNotNull(full);
+        assertNotEquals(full, summary);
+    }
+
+    @Test
+    @DisplayName("Should only stream change events for the subscribed user")
+    void streamOrderChanges_filtersByUser() {
+        ReflectionTestUtils.setField(orderManagementUseCase, "changeStreamBufferSize", 16);
+        when(orderChangeFeed.changes()).thenReturn(Flux.just(
+                new OrderChangeEvent(OrderChangeEvent.STATUS_CHANGED, orderId, userId, "SHIPPED", Instant.now()),
+                new OrderChangeEvent(OrderChangeEvent.CREATED, UUID.randomUUID(), UUID.randomUUID(), "PENDING", Instant.now())));
+
+        StepVerifier.create(orderManagementUseCase.streamOrderChanges(userId.toString()))
+                .expectNextMatches(change -> orderId.toString().equals(change.getOrderId()) && "SHIPPED".equals(change.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest change events when a subscriber falls behind its buffer")
+    void streamOrderChanges_slowSubscriber_dropsOldest() {
+        ReflectionTestUtils.setField(orderManagementUseCase, "changeStreamBufferSize", 2);
+        List<OrderChangeEvent> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            events.add(new OrderChangeEvent(OrderChangeEvent.STATUS_CHANGED, UUID.randomUUID(), userId, "STATUS-" + i, Instant.now()));
+        }
+        when(orderChangeFeed.changes()).thenReturn(Flux.fromIterable(events));
+
+        StepVerifier.create(orderManagementUseCase.streamOrderChanges(null), 0)
+                .thenRequest(5)
+                .expectNextMatches(change -> "STATUS-3".equals(change.getStatus()))
+                .expectNextMatches(change -> "STATUS-4".equals(change.getStatus()))
+                .verifyComplete();
+
+        assertEquals(3.0, meterRegistry.find("orders.dropped").tags("operation", "streamOrderChanges").counter().count());
+    }
+
     @Test
     @DisplayName("Should throw OrderNotFoundException if order not found for status update")
     void updateOrderStatus_notFound() {
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq("SHIPPED"), any(Instant.class))).thenReturn(Mono.empty());
         when(orderRepository.findById(orderId)).thenReturn(Mono.empty());
 
         StepVerifier.create(orderManagementUseCase.updateOrderStatus(orderId.toString(), "SHIPPED"))
@@ -618,60 +1076,220 @@ class OrderManagementUseCaseTest {
                 .verify();
     }
 
+    @Test
+    @DisplayName("Should move the status with one conditional update limited to the allowed source statuses")
+    void updateOrderStatus_allowedTransition_singleConditionalUpdate() {
+        Order shipped = order.toBuilder().status("SHIPPED").version(1L).build();
+        when(orderRepository.transitionStatus(eq(orderId), eq(OrderStatus.sourcesOf("SHIPPED")), eq("SHIPPED"), any(Instant.class)))
+                .thenReturn(Mono.just(shipped));
+        when(orderQueryRepository.loadAggregate(shipped))
+                .thenReturn(Mono.just(aggregateOf(shipped, shippingAddress, billingAddress, List.of(orderItem1, orderItem2), shipment)));
+        when(productServiceClient.getProductDetailsBatch(any()))
+                .thenReturn(Mono.just(Map.of(productId1, productDetails1, productId2, productDetails2)));
+
+        StepVerifier.create(orderManagementUseCase.updateOrderStatus(orderId.toString(), "SHIPPED"))
+                .expectNextMatches(response -> "SHIPPED".equals(response.getStatus()))
+                .verifyComplete();
+
+        verify(orderRepository, never()).findById(any(UUID.class));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderResponseCache, times(1)).invalidate(orderId);
+    }
+
+    @Test
+    @DisplayName("Should reject a status move that the transition table does not allow")
+    void updateOrderStatus_disallowedTransition() {
+        order.setStatus("DELIVERED");
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq("PENDING"), any(Instant.class))).thenReturn(Mono.empty());
+        when(orderRepository.findById(orderId)).thenReturn(Mono.just(order));
+
+        StepVerifier.create(orderManagementUseCase.updateOrderStatus(orderId.toString(), "PENDING"))
+                .expectErrorMatches(e -> e instanceof InvalidStatusTransitionException)
+                .verify();
+
+        verify(orderChangeFeed, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown target status without touching the database")
+    void updateOrderStatus_unknownStatus() {
+        StepVerifier.create(orderManagementUseCase.updateOrderStatus(orderId.toString(), "TELEPORTED"))
+                .expectErrorMatches(e -> e instanceof InvalidOrderDataException)
+                .verify();
+
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject CANCELLED and FAILED as plain status updates so stock is never left reserved")
+    void updateOrderStatus_cancelledOrFailed_rejected() {
+        for (String status : List.of("CANCELLED", "FAILED")) {
+            StepVerifier.create(orderManagementUseCase.updateOrderStatus(orderId.toString(), status))
+                    .expectErrorMatches(e -> e instanceof InvalidStatusTransitionException)
+                    .verify();
+        }
+
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+        verify(orderOutboxRepository, never()).compensateOrder(any());
+        verify(stockLedger, never()).release(any());
+        verify(orderChangeFeed, never()).publish(any());
+    }
+
 
     @Test
-    @DisplayName("Should cancel order and increase stock successfully if not CANCELLED or DELIVERED")
+    @DisplayName("Should cancel order and compensate its stock through the outbox in the same transaction")
     void cancelOrder_success() {
-        order.setStatus("PENDING");
         Order cancelledOrder = order.toBuilder().status("CANCELLED").updatedAt(Instant.now()).build();
 
-        when(orderRepository.findById(orderId)).thenReturn(Mono.just(order));
-        when(orderRepository.save(any(Order.class))).thenReturn(Mono.just(cancelledOrder));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.transitionStatus(eq(orderId), eq(OrderStatus.sourcesOf("CANCELLED")), eq("CANCELLED"), any(Instant.class)))
+                .thenReturn(Mono.just(cancelledOrder));
+        when(orderOutboxRepository.compensateOrder(orderId)).thenReturn(Mono.empty());
+        when(stockReservationRepository.releaseOrder(orderId)).thenReturn(Mono.empty());
         when(orderItemRepository.findByOrderId(orderId)).thenReturn(Flux.just(orderItem1, orderItem2));
-        when(productServiceClient.increaseProductStock(productId1, 2)).thenReturn(Mono.empty());
-        when(productServiceClient.increaseProductStock(productId2, 1)).thenReturn(Mono.empty());
 
         StepVerifier.create(orderManagementUseCase.cancelOrder(orderId.toString()))
                 .verifyComplete();
 
-        verify(orderRepository, times(1)).findById(orderId);
-        verify(orderRepository, times(1)).save(any(Order.class));
-        verify(orderItemRepository, times(1)).findByOrderId(orderId);
-        verify(productServiceClient, times(1)).increaseProductStock(productId1, 2);
-        verify(productServiceClient, times(1)).increaseProductStock(productId2, 1);
+        verify(transactionalOperator, times(1)).transactional(any(Mono.class));
+        verify(orderRepository, never()).findById(any(UUID.class));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderOutboxRepository, times(1)).compensateOrder(orderId);
+        verify(stockReservationRepository, times(1)).releaseOrder(orderId);
+        // Pending decrements are cancelled and dispatched ones restored by the relay, never by a direct call
+        verify(productServiceClient, never()).increaseProductStock(any(UUID.class), anyInt(), any());
+        verify(productServiceClient, never()).increaseProductStock(any(UUID.class), anyInt());
+        verify(stockLedger, times(1)).release(Map.of(productId1, 2, productId2, 1));
+        verify(orderResponseCache, times(1)).invalidate(orderId);
+        verify(orderChangeFeed, times(1)).publish(argThat(events -> events.size() == 1
+                && OrderChangeEvent.CANCELLED.equals(events.get(0).getType())));
+    }
+
+    @Test
+    @DisplayName("Should release ledger stock once per product when an order repeats a product on several lines")
+    void cancelOrder_duplicateLines_releasesOncePerProduct() {
+        OrderItem repeatedLine = OrderItem.builder()
+                .id(UUID.randomUUID())
+                .orderId(orderId)
+                .productId(productId1)
+                .quantity(3)
+                .unitPrice(new BigDecimal("100.00"))
+                .build();
+
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq("CANCELLED"), any(Instant.class)))
+                .thenReturn(Mono.just(order.toBuilder().status("CANCELLED").build()));
+        when(orderOutboxRepository.compensateOrder(orderId)).thenReturn(Mono.empty());
+        when(stockReservationRepository.releaseOrder(orderId)).thenReturn(Mono.empty());
+        when(orderItemRepository.findByOrderId(orderId)).thenReturn(Flux.just(orderItem1, repeatedLine, orderItem2));
+
+        StepVerifier.create(orderManagementUseCase.cancelOrder(orderId.toString()))
+                .verifyComplete();
+
+        verify(stockLedger, times(1)).release(Map.of(productId1, 5, productId2, 1));
+    }
+
+    @Test
+    @DisplayName("Should compensate stock only once when two cancels race for the same order")
+    void cancelOrder_concurrentCancels_compensateOnce() {
+        Order cancelledOrder = order.toBuilder().status("CANCELLED").build();
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq("CANCELLED"), any(Instant.class)))
+                .thenReturn(Mono.just(cancelledOrder))
+                .thenReturn(Mono.empty());
+        when(orderRepository.findById(orderId)).thenReturn(Mono.just(cancelledOrder));
+        when(orderOutboxRepository.compensateOrder(orderId)).thenReturn(Mono.empty());
+        when(stockReservationRepository.releaseOrder(orderId)).thenReturn(Mono.empty());
+        when(orderItemRepository.findByOrderId(orderId)).thenReturn(Flux.just(orderItem1, orderItem2));
+
+        StepVerifier.create(Mono.when(orderManagementUseCase.cancelOrder(orderId.toString()), orderManagementUseCase.cancelOrder(orderId.toString())))
+                .verifyComplete();
+
+        verify(orderOutboxRepository, times(1)).compensateOrder(orderId);
+        verify(stockReservationRepository, times(1)).releaseOrder(orderId);
+        verify(stockLedger, times(1)).release(any());
+    }
+
+    @Test
+    @DisplayName("Should leave stock untouched when the compensation transaction fails")
+    void cancelOrder_compensationFails_noLedgerRelease() {
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq("CANCELLED"), any(Instant.class)))
+                .thenReturn(Mono.just(order.toBuilder().status("CANCELLED").build()));
+        when(orderOutboxRepository.compensateOrder(orderId)).thenReturn(Mono.error(new RuntimeException("connection reset")));
+        when(stockReservationRepository.releaseOrder(orderId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(orderManagementUseCase.cancelOrder(orderId.toString()))
+                .expectErrorMessage("connection reset")
+                .verify();
+
+        verify(orderResponseCache, never()).invalidate(any());
+        verify(stockLedger, never()).release(any());
+        verify(orderChangeFeed, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should publish the cancellation after commit and still succeed when publishing fails")
+    void cancelOrder_publishFails_cancellationStands() {
+        AtomicBoolean committed = new AtomicBoolean();
+        when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.<Mono<?>>getArgument(0).doOnSuccess(ignored -> committed.set(true)));
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq("CANCELLED"), any(Instant.class)))
+                .thenReturn(Mono.just(order.toBuilder().status("CANCELLED").build()));
+        when(orderOutboxRepository.compensateOrder(orderId)).thenReturn(Mono.empty());
+        when(stockReservationRepository.releaseOrder(orderId)).thenReturn(Mono.empty());
+        when(orderItemRepository.findByOrderId(orderId)).thenReturn(Flux.just(orderItem1, orderItem2));
+        when(orderChangeFeed.publish(any())).thenAnswer(invocation -> {
+            assertTrue(committed.get());
+            return Mono.error(new RuntimeException("notify failed"));
+        });
+
+        StepVerifier.create(orderManagementUseCase.cancelOrder(orderId.toString()))
+                .verifyComplete();
+
+        verify(orderChangeFeed, times(1)).publish(any());
+        verify(stockLedger, times(1)).release(Map.of(productId1, 2, productId2, 1));
     }
 
     @Test
     @DisplayName("Should not cancel order if status is already CANCELLED")
     void cancelOrder_alreadyCancelled() {
         order.setStatus("CANCELLED");
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq("CANCELLED"), any(Instant.class))).thenReturn(Mono.empty());
         when(orderRepository.findById(orderId)).thenReturn(Mono.just(order));
 
         StepVerifier.create(orderManagementUseCase.cancelOrder(orderId.toString()))
                 .verifyComplete();
 
         verify(orderRepository, never()).save(any(Order.class));
+        verify(orderResponseCache, never()).invalidate(any());
         verify(orderItemRepository, never()).findByOrderId(any(UUID.class));
-        verify(productServiceClient, never()).increaseProductStock(any(UUID.class), anyInt());
+        verify(orderOutboxRepository, never()).compensateOrder(any());
     }
 
     @Test
     @DisplayName("Should not cancel order if status is DELIVERED")
     void cancelOrder_delivered() {
         order.setStatus("DELIVERED");
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq("CANCELLED"), any(Instant.class))).thenReturn(Mono.empty());
         when(orderRepository.findById(orderId)).thenReturn(Mono.just(order));
 
         StepVerifier.create(orderManagementUseCase.cancelOrder(orderId.toString()))
                 .verifyComplete();
 
         verify(orderRepository, never()).save(any(Order.class));
+        verify(orderResponseCache, never()).invalidate(any());
         verify(orderItemRepository, never()).findByOrderId(any(UUID.class));
-        verify(productServiceClient, never()).increaseProductStock(any(UUID.class), anyInt());
+        verify(orderOutboxRepository, never()).compensateOrder(any());
     }
 
     @Test
     @DisplayName("Should throw OrderNotFoundException if order not found for cancellation")
     void cancelOrder_notFound() {
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.transitionStatus(eq(orderId), any(), eq("CANCELLED"), any(Instant.class))).thenReturn(Mono.empty());
         when(orderRepository.findById(orderId)).thenReturn(Mono.empty());
 
         StepVerifier.create(orderManagementUseCase.cancelOrder(orderId.toString()))
@@ -743,20 +1361,12 @@ class OrderManagementUseCaseTest {
                 .updatedAt(anotherOrder.getUpdatedAt().atZone(ZoneId.systemDefault()).toLocalDateTime())
                 .build();
 
-        when(orderRepository.findAll()).thenReturn(Flux.just(order, anotherOrder));
-
-        when(orderAddressRepository.findById(order.getShippingAddressId())).thenReturn(Mono.just(shippingAddress));
-        when(orderAddressRepository.findById(order.getBillingAddressId())).thenReturn(Mono.just(billingAddress));
-        when(orderItemRepository.findByOrderId(order.getId())).thenReturn(Flux.just(orderItem1, orderItem2));
-        when(shipmentRepository.findByOrderId(order.getId())).thenReturn(Mono.just(shipment));
-        when(productServiceClient.getProductDetails(orderItem1.getProductId())).thenReturn(Mono.just(productDetails1));
-        when(productServiceClient.getProductDetails(orderItem2.getProductId())).thenReturn(Mono.just(productDetails2));
-
-        when(orderAddressRepository.findById(anotherOrder.getShippingAddressId())).thenReturn(Mono.just(anotherShippingAddress));
-        when(orderAddressRepository.findById(anotherOrder.getBillingAddressId())).thenReturn(Mono.just(anotherBillingAddress));
-        when(orderItemRepository.findByOrderId(anotherOrder.getId())).thenReturn(Flux.just(anotherOrderItem));
-        when(shipmentRepository.findByOrderId(anotherOrder.getId())).thenReturn(Mono.just(anotherShipment));
-        when(productServiceClient.getProductDetails(anotherOrderItem.getProductId())).thenReturn(Mono.just(anotherProductDetails));
+        when(orderQueryRepository.findAllAggregates()).thenReturn(Flux.just(
+                aggregateOf(order, shippingAddress, billingAddress, List.of(orderItem1, orderItem2), shipment),
+                aggregateOf(anotherOrder, anotherShippingAddress, anotherBillingAddress, List.of(anotherOrderItem), anotherShipment)));
+        when(productServiceClient.getProductDetailsBatch(Set.of(productId1, productId2, anotherOrderItem.getProductId())))
+                .thenReturn(Mono.just(Map.of(productId1, productDetails1, productId2, productDetails2,
+                        anotherOrderItem.getProductId(), anotherProductDetails)));
 
         lenient().when(orderMapper.toOrderResponseDTO(order)).thenReturn(expectedOrderResponseDTO);
         lenient().when(orderMapper.toOrderResponseDTO(anotherOrder)).thenReturn(anotherExpectedOrderResponseDTO);
@@ -779,28 +1389,129 @@ class OrderManagementUseCaseTest {
                 .expectNext(expectedOrderResponseDTO, anotherExpectedOrderResponseDTO)
                 .verifyComplete();
 
-        verify(orderRepository, times(1)).findAll();
-        verify(orderAddressRepository, times(1)).findById(order.getShippingAddressId());
-        verify(orderAddressRepository, times(1)).findById(order.getBillingAddressId());
-        verify(orderItemRepository, times(1)).findByOrderId(order.getId());
-        verify(shipmentRepository, times(1)).findByOrderId(order.getId());
-        verify(productServiceClient, times(1)).getProductDetails(orderItem1.getProductId());
-        verify(productServiceClient, times(1)).getProductDetails(orderItem2.getProductId());
-
-        verify(orderAddressRepository, times(1)).findById(anotherOrder.getShippingAddressId());
-        verify(orderAddressRepository, times(1)).findById(anotherOrder.getBillingAddressId());
-        verify(orderItemRepository, times(1)).findByOrderId(anotherOrder.getId());
-        verify(shipmentRepository, times(1)).findByOrderId(anotherOrder.getId());
-        verify(productServiceClient, times(1)).getProductDetails(anotherOrderItem.getProductId());
+        verify(orderQueryRepository, times(1)).findAllAggregates();
+        verify(productServiceClient, times(1)).getProductDetailsBatch(Set.of(productId1, productId2, anotherOrderItem.getProductId()));
+        verify(productServiceClient, never()).getProductDetails(any(UUID.class));
     }
 
     @Test
     @DisplayName("Should return empty Flux if no orders are found")
     void getAllOrders_noOrdersFound() {
-        when(orderRepository.findAll()).thenReturn(Flux.empty());
+        when(orderQueryRepository.findAllAggregates()).thenReturn(Flux.empty());
 
         StepVerifier.create(orderManagementUseCase.getAllOrders())
                 .expectNextCount(0)
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return one page of orders and a cursor pointing after its last order")
+    void getOrdersPage_returnsNextCursor() {
+        Order olderOrder = order.toBuilder()
+                .id(UUID.randomUUID())
+                .createdAt(order.getCreatedAt().minusSeconds(60))
+                .build();
+        when(orderQueryRepository.findAggregatePage(null, null, 2)).thenReturn(Flux.just(
+                aggregateOf(order, shippingAddress, billingAddress, List.of(), shipment),
+                aggregateOf(olderOrder, shippingAddress, billingAddress, List.of(), shipment)));
+
+        StepVerifier.create(orderManagementUseCase.getOrdersPage(null, 1))
+                .expectNextMatches(page -> page.getItems().size() == 1
+                        && orderId.toString().equals(page.getItems().get(0).getOrderId())
+                        && OrderPageCursor.decode(page.getNextCursor()).equals(OrderPageCursor.after(order)))
+                .verifyComplete();
+
+        verify(orderQueryRepository, times(1)).findAggregatePage(null, null, 2);
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidOrderDataException for a malformed page cursor")
+    void getOrdersPage_invalidCursor() {
+        StepVerifier.create(orderManagementUseCase.getOrdersPage("not-a-cursor", 10))
+                .expectErrorMatches(e -> e instanceof InvalidOrderDataException &&
+                        e.getMessage().contains("Invalid page cursor"))
+                .verify();
+
+        verify(orderQueryRepository, never()).findAggregatePage(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should page summary views from order rows only and still return a next cursor")
+    void getOrdersPage_summaryView_skipsAggregateLoading() {
+        Order olderOrder = order.toBuilder()
+                .id(UUID.randomUUID())
+                .createdAt(order.getCreatedAt().minusSeconds(60))
+                .build();
+        when(orderQueryRepository.findOrderPage(null, null, 2)).thenReturn(Flux.just(order, olderOrder));
+        when(orderMapper.toOrderResponseDTO(order)).thenReturn(OrderResponseDTO.builder().orderId(orderId.toString()).build());
+
+        StepVerifier.create(orderManagementUseCase.getOrdersPage(null, 1, OrderView.SUMMARY))
+                .expectNextMatches(page -> page.getItems().size() == 1
+                        && orderId.toString().equals(page.getItems().get(0).getOrderId())
+                        && page.getItems().get(0).getItems() == null
+                        && OrderPageCursor.decode(page.getNextCursor()).equals(OrderPageCursor.after(order)))
+                .verifyComplete();
+
+        verify(orderQueryRepository, never()).findAggregatePage(any(), any(), anyInt());
+        verify(productServiceClient, never()).getProductDetailsBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should import a bulk batch with one lookup per distinct user and product, reporting each order")
+    void createOrdersBulk_mixedResults() {
+        ReflectionTestUtils.setField(orderManagementUseCase, "bulkChunkSize", 100);
+        ReflectionTestUtils.setField(orderManagementUseCase, "bulkConcurrency", 2);
+        UUID unknownUserId = UUID.randomUUID();
+        OrderRequestDTO unknownUserRequest = OrderRequestDTO.builder()
+                .userId(unknownUserId.toString())
+                .shippingAddress(orderRequestDTO.getShippingAddress())
+                .billingAddress(orderRequestDTO.getBillingAddress())
+                .items(orderRequestDTO.getItems())
+                .build();
+        OrderRequestDTO invalidRequest = OrderRequestDTO.builder()
+                .userId(userId.toString())
+                .shippingAddress(orderRequestDTO.getShippingAddress())
+                .billingAddress(orderRequestDTO.getBillingAddress())
+                .items(Collections.emptyList())
+                .build();
+
+        when(userServiceClient.validateUserExists(userId)).thenReturn(Mono.just(true));
+        when(userServiceClient.validateUserExists(unknownUserId)).thenReturn(Mono.just(false));
+        when(productServiceClient.getProductDetailsBatch(any()))
+                .thenReturn(Mono.just(Map.of(productId1, productDetails1, productId2, productDetails2)));
+        when(stockLedger.seed(any())).thenReturn(Mono.empty());
+        when(stockLedger.tryReserve(any())).thenReturn(Optional.empty());
+        when(orderRepository.insertAggregate(any(OrderAggregate.class)))
+                .thenReturn(Mono.just(aggregateOf(order, shippingAddress, billingAddress, List.of(orderItem1, orderItem2), shipment)));
+        when(orderOutboxRepository.saveAll(any())).thenReturn(Flux.empty());
+        when(stockReservationRepository.saveAll(any())).thenReturn(Mono.empty());
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(orderManagementUseCase.createOrdersBulk(Flux.just(orderRequestDTO, unknownUserRequest, invalidRequest, orderRequestDTO)))
+                .expectNextMatches(result -> result.getIndex() == 0 && BulkOrderResultDTO.CREATED.equals(result.getStatus())
+                        && orderId.toString().equals(result.getOrderId()))
+                .expectNextMatches(result -> result.getIndex() == 1 && BulkOrderResultDTO.REJECTED.equals(result.getStatus()))
+                .expectNextMatches(result -> result.getIndex() == 2 && BulkOrderResultDTO.REJECTED.equals(result.getStatus())
+                        && result.getError().contains("at least one valid item"))
+                .expectNextMatches(result -> result.getIndex() == 3 && BulkOrderResultDTO.CREATED.equals(result.getStatus()))
+                .verifyComplete();
+
+        verify(userServiceClient, times(1)).validateUserExists(userId);
+        verify(productServiceClient, times(1)).getProductDetailsBatch(Set.of(productId1, productId2));
+        verify(stockLedger, times(1)).seed(Set.of(productId1, productId2));
+        verify(stockLedger, times(2)).tryReserve(Map.of(productId1, 2, productId2, 1));
+        verify(orderRepository, times(2)).insertAggregate(any(OrderAggregate.class));
+        verify(transactionalOperator, times(1)).transactional(any(Mono.class));
+    }
+
+    private OrderAggregate aggregateOf(Order aggregateOrder, OrderAddress shipping, OrderAddress billing,
+                                       List<OrderItem> items, Shipment aggregateShipment) {
+        return OrderAggregate.builder()
+                .order(aggregateOrder)
+                .shippingAddress(shipping)
+                .billingAddress(billing)
+                .items(items)
+                .shipment(aggregateShipment)
+                .build();
+    }
+}